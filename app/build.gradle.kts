@@ -35,3 +35,25 @@ application {
     // コマンドラインからの上書きを許可: ./gradlew run -PmainClass=com.example.Main
     mainClass = providers.gradleProperty("mainClass").orElse("com.miozune.mediapro.Main")
 }
+
+// カード画像をデコード済みのアーカイブにまとめる（起動時のJPEGデコードを省くため）
+val cardArtArchive = layout.buildDirectory.file("assets/cards.mpca")
+
+val packCardArt by tasks.registering(JavaExec::class) {
+    group = "build"
+    description = "Packs card images into a pre-decoded archive."
+    val imageDir = layout.projectDirectory.dir("src/main/resources/images/cards")
+    inputs.dir(imageDir)
+    outputs.file(cardArtArchive)
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "com.miozune.mediapro.asset.CardArtPacker"
+    args(imageDir.asFile.absolutePath, cardArtArchive.get().asFile.absolutePath)
+    doFirst {
+        cardArtArchive.get().asFile.parentFile.mkdirs()
+    }
+}
+
+tasks.named<JavaExec>("run") {
+    dependsOn(packCardArt)
+    systemProperty("mediapro.cardArtArchive", cardArtArchive.get().asFile.absolutePath)
+}
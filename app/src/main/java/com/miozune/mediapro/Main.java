@@ -1,8 +1,17 @@
 package com.miozune.mediapro;
 
+import java.io.IOException;
+
+import com.miozune.mediapro.asset.AssetManifest;
+import com.miozune.mediapro.asset.AssetPreloader;
 import com.miozune.mediapro.core.GameController;
+import com.miozune.mediapro.core.GameLoop;
 import com.miozune.mediapro.core.GameModel;
+import com.miozune.mediapro.core.GameOptions;
 import com.miozune.mediapro.core.GameWindow;
+import com.miozune.mediapro.core.InputReplay;
+import com.miozune.mediapro.core.InputSource;
+import com.miozune.mediapro.core.ScriptedInput;
 import com.miozune.mediapro.preview.PreviewLauncher;
 import com.miozune.mediapro.util.SwingUtils;
 
@@ -20,13 +29,103 @@ public class Main {
             return;
         }
         
+        GameOptions options = GameOptions.fromArgs(args);
+        
+        // ヘッドレス起動
+        if (options.headless()) {
+            runHeadless(options);
+            return;
+        }
+        
+        // 記録した入力の再生（指定がない場合はキーボードとマウスから入力する）
+        InputSource replay = null;
+        if (options.replayPath() != null) {
+            replay = loadReplay(options);
+            if (replay == null) {
+                return;
+            }
+        }
+        InputSource inputSource = replay;
+        
+        // タイトル画面の表示と並行して、アセットを先読みする
+        startPreload();
+        
         // 通常のゲーム起動
         SwingUtils.invokeLater(() -> {
             GameModel model = new GameModel();
             GameWindow window = new GameWindow(model);
-            GameController controller = new GameController(model, window);
+            GameController controller = new GameController(model, window, options, inputSource);
             
             window.setVisible(true);
         });
     }
+    
+    /**
+     * ウィンドウを表示せずにゲームを実行する。
+     * 指定した更新回数を実行し終えたら、実行速度を出力して終了する。
+     *
+     * @param options 実行オプション
+     */
+    private static void runHeadless(GameOptions options) {
+        System.setProperty("java.awt.headless", "true");
+        
+        InputSource inputSource = null;
+        if (options.replayPath() != null) {
+            inputSource = loadReplay(options);
+            if (inputSource == null) {
+                return;
+            }
+        } else if (options.inputScript() != null) {
+            try {
+                inputSource = ScriptedInput.load(options.inputScript());
+            } catch (IOException e) {
+                System.err.println("Error loading input script: " + options.inputScript() + " - " + e.getMessage());
+                return;
+            }
+        }
+        
+        long start = System.nanoTime();
+        GameController controller = new GameController(new GameModel(), options, inputSource);
+        GameLoop loop = controller.getGameLoop();
+        try {
+            loop.awaitTermination();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        controller.stop();
+        
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Headless run finished: %d ticks in %.2fs (%.0f ticks/s), final state: %s%n",
+            loop.getTickCount(), seconds, loop.getTickCount() / seconds, controller.getModel().getState());
+    }
+    
+    /**
+     * マニフェストに書かれたアセットの先読みを背景で開始する。
+     * 終わったら、所要時間とクリティカルパスを出力する。
+     */
+    private static void startPreload() {
+        AssetManifest manifest;
+        try {
+            manifest = AssetManifest.load(AssetManifest.DEFAULT_PATH);
+        } catch (IOException e) {
+            System.err.println("Error loading asset manifest: " + e.getMessage());
+            return;
+        }
+        AssetPreloader.start(manifest).thenAccept(report -> System.out.print(report.format()));
+    }
+    
+    /**
+     * 入力の記録ファイルを読み込む。
+     *
+     * @param options 実行オプション
+     * @return 読み込んだ記録。読み込めなかった場合はnull
+     */
+    private static InputReplay loadReplay(GameOptions options) {
+        try {
+            return InputReplay.load(options.replayPath());
+        } catch (IOException e) {
+            System.err.println("Error loading input recording: " + options.replayPath() + " - " + e.getMessage());
+            return null;
+        }
+    }
 }
@@ -0,0 +1,296 @@
+package com.miozune.mediapro.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.miozune.mediapro.enemy.EnemyAction;
+import com.miozune.mediapro.enemy.EnemyModel;
+import com.miozune.mediapro.enemy.EnemyPolicy;
+import com.miozune.mediapro.simulation.BattlePolicy;
+import com.miozune.mediapro.stage.BattleSnapshot;
+import com.miozune.mediapro.stage.StageModel;
+
+/**
+ * モンテカルロ木探索（UCT）で敵の行動を決めるAI。
+ * <p>
+ * 自分ターンの終わりに {@link #think(StageModel)} を呼ぶと、戦闘を分岐させたコピーをワーカースレッドで
+ * 繰り返し先読みし、次の敵のターンの行動を決める。呼び出し元のスレッド（EDT）は待たずに描画を続けられ、
+ * 結果は {@link CompletableFuture} で受け取って {@link StageModel#setEnemyPolicy(EnemyPolicy)} で反映する。
+ * <p>
+ * 木の節点は状態ではなく敵の行動の並びに対応する（open-loop）。プレイヤーのドローやカードの選び方は
+ * 反復ごとに異なる結果になるため、その平均として行動を評価する。木はターンをまたいで続いており、
+ * 実際に取った行動の先の部分木は次の {@link #think(StageModel)} で根として引き継ぐ。
+ * <p>
+ * 1つの戦闘につき1つ作り、前回の結果を受け取ってから次の {@link #think(StageModel)} を呼ぶこと。
+ */
+public final class EnemyBrain {
+
+    /** UCTの探索の強さ */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /** 1回の反復で先読みする敵のターン数の上限（決着がつかなければ評価関数で評価する） */
+    private static final int ROLLOUT_TURNS = 8;
+
+    private static final EnemyAction[] ACTIONS = EnemyAction.values();
+
+    /** 探索に使う共有のワーカー（EDTのために1コアを残す） */
+    private static final ExecutorService SHARED_EXECUTOR = createExecutor();
+
+    /**
+     * 探索木の節点。敵1体の行動1つに対応する。
+     */
+    static final class Node {
+        final EnemyAction action;
+        final Node[] children = new Node[ACTIONS.length];
+        int expanded;
+        long visits;
+        /** 敵から見た評価値の合計（0: プレイヤーの勝ち〜1: 敵の勝ち） */
+        double value;
+
+        Node(EnemyAction action) {
+            this.action = action;
+        }
+
+        /**
+         * まだ試していない行動を1つ無作為に選んで子を作る。
+         */
+        Node expand(SplittableRandom random) {
+            int pick = random.nextInt(ACTIONS.length - expanded);
+            for (int i = 0; i < ACTIONS.length; i++) {
+                if (children[i] == null && pick-- == 0) {
+                    expanded++;
+                    return children[i] = new Node(ACTIONS[i]);
+                }
+            }
+            throw new IllegalStateException("No untried action");
+        }
+
+        /**
+         * UCTの値が最も高い子を選ぶ。
+         */
+        Node select() {
+            double logVisits = Math.log(visits);
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                double score = child.value / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * 最も多く訪問された子を返す。
+         */
+        Node mostVisited() {
+            Node best = null;
+            for (Node child : children) {
+                if (child != null && (best == null || child.visits > best.visits)) {
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        boolean isFullyExpanded() {
+            return expanded == ACTIONS.length;
+        }
+    }
+
+    /**
+     * 1回の反復で、敵の行動を木に沿って選ぶ方針。
+     * 木の末端で1つ展開した後は、無作為に行動する。
+     */
+    private static final class TreeWalk implements EnemyPolicy {
+        private final SplittableRandom random;
+        private final List<Node> path = new ArrayList<>();
+        private Node node;
+        private boolean inTree;
+
+        TreeWalk(SplittableRandom random) {
+            this.random = random;
+        }
+
+        void begin(Node root) {
+            path.clear();
+            path.add(root);
+            node = root;
+            inTree = true;
+        }
+
+        @Override
+        public EnemyAction chooseAction(StageModel stage, int enemyIndex) {
+            if (!inTree) {
+                return ACTIONS[random.nextInt(ACTIONS.length)];
+            }
+            if (node.isFullyExpanded()) {
+                node = node.select();
+            } else {
+                node = node.expand(random);
+                inTree = false;
+            }
+            path.add(node);
+            return node.action;
+        }
+
+        void backpropagate(double reward) {
+            for (int i = 0; i < path.size(); i++) {
+                Node n = path.get(i);
+                n.visits++;
+                n.value += reward;
+            }
+        }
+    }
+
+    private final SearchBudget budget;
+    private final Executor executor;
+    private final BattlePolicy playerPolicy;
+    private final SplittableRandom random;
+
+    /** 次の探索で根として引き継ぐ部分木 */
+    private volatile Node reusableRoot;
+
+    /**
+     * 共有のワーカーで探索するAIを作成する。
+     *
+     * @param budget 1回の決定に使う探索量
+     */
+    public EnemyBrain(SearchBudget budget) {
+        this(budget, SHARED_EXECUTOR, BattlePolicy.greedy(), new SplittableRandom());
+    }
+
+    /**
+     * AIを作成する。
+     *
+     * @param budget 1回の決定に使う探索量
+     * @param executor 探索を実行するワーカー
+     * @param playerPolicy 先読みでプレイヤーの行動として使う方針
+     * @param random 先読みに使う乱数生成器（決定のたびに分岐させて使う）
+     */
+    public EnemyBrain(SearchBudget budget, Executor executor, BattlePolicy playerPolicy, SplittableRandom random) {
+        this.budget = budget;
+        this.executor = executor;
+        this.playerPolicy = playerPolicy;
+        this.random = random;
+    }
+
+    /**
+     * 次の敵のターンの行動を、ワーカースレッドで探索して決める。
+     * 自分ターンの終わり（{@link StageModel#nextTurn()} で敵のターンに移る直前）に、
+     * 戦闘を所有するスレッドから呼び出すこと。戦闘はその場で分岐させるため、探索中に変更しても構わない。
+     *
+     * @param stage 自分ターン中の戦闘
+     * @return 決めた行動
+     * @throws IllegalStateException 自分ターンでない場合、戦闘が終わっている場合
+     */
+    public CompletableFuture<EnemyDecision> think(StageModel stage) {
+        if (!stage.isPlayerTurn() || stage.isBattleOver()) {
+            throw new IllegalStateException("Enemy decisions are made at the end of the player's turn");
+        }
+        SplittableRandom searchRandom = random.split();
+        StageModel base = stage.fork(searchRandom.split());
+        Node root = reusableRoot;
+        return CompletableFuture.supplyAsync(() -> search(base, root != null ? root : new Node(null), searchRandom),
+            executor);
+    }
+
+    /**
+     * 引き継いだ探索木を捨てる。新しい戦闘を始める時に呼び出す。
+     */
+    public void reset() {
+        reusableRoot = null;
+    }
+
+    EnemyDecision search(StageModel base, Node root, SplittableRandom random) {
+        long reusedVisits = root.visits;
+        BattleSnapshot rootState = base.snapshot();
+        TreeWalk walk = new TreeWalk(random);
+        base.setEnemyPolicy(walk);
+
+        long start = System.nanoTime();
+        long deadline = budget.maxNanos() == Long.MAX_VALUE ? Long.MAX_VALUE : start + budget.maxNanos();
+        long iterations = 0;
+        do {
+            base.restore(rootState);
+            walk.begin(root);
+            walk.backpropagate(rollout(base, random));
+            iterations++;
+        } while (iterations < budget.maxIterations() && System.nanoTime() < deadline);
+        long elapsed = System.nanoTime() - start;
+
+        // このターンに行動する敵の分だけ、最も訪問された行動を採る
+        base.restore(rootState);
+        List<EnemyModel> enemies = base.getEnemies();
+        EnemyAction[] actions = new EnemyAction[enemies.size()];
+        Node node = root;
+        for (int i = 0; i < enemies.size(); i++) {
+            if (!enemies.get(i).isAlive()) {
+                continue;
+            }
+            Node next = node != null ? node.mostVisited() : null;
+            actions[i] = next != null ? next.action : EnemyAction.ATTACK;
+            node = next;
+        }
+        reusableRoot = node;
+        return new EnemyDecision(Collections.unmodifiableList(Arrays.asList(actions)), iterations, elapsed, reusedVisits);
+    }
+
+    /**
+     * 自分ターンを終えてから、決着がつくか {@link #ROLLOUT_TURNS} ターン経つまで進める。
+     *
+     * @return 敵から見た評価値
+     */
+    private double rollout(StageModel stage, SplittableRandom random) {
+        stage.nextTurn(); // 敵のターン（木に沿って行動する）
+        for (int turn = 0; turn < ROLLOUT_TURNS && !stage.isBattleOver(); turn++) {
+            stage.nextTurn(); // 自分ターン（マナ回復とドロー）
+            playerPolicy.playTurn(stage, random);
+            if (stage.isBattleOver()) {
+                break;
+            }
+            stage.nextTurn();
+        }
+        return evaluate(stage);
+    }
+
+    /**
+     * 敵から見た局面の評価値を求める。
+     * 決着がついていればプレイヤーの勝ちで0、敵の勝ちで1。
+     * ついていなければ、プレイヤーの減ったHPの割合と敵の残りHPの割合の平均。
+     */
+    static double evaluate(StageModel stage) {
+        int playerHp = stage.getPlayer().getHp();
+        if (stage.isBattleOver()) {
+            return playerHp > 0 ? 0.0 : 1.0;
+        }
+        long enemyHp = 0;
+        long enemyMaxHp = 0;
+        for (EnemyModel enemy : stage.getEnemies()) {
+            enemyHp += enemy.getHp();
+            enemyMaxHp += enemy.getMaxHp();
+        }
+        double playerLoss = 1.0 - (double) playerHp / stage.getPlayer().getMaxHp();
+        return (playerLoss + (double) enemyHp / enemyMaxHp) / 2;
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "enemy-brain-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.miozune.mediapro.ai;
+
+import java.util.List;
+
+import com.miozune.mediapro.enemy.EnemyAction;
+import com.miozune.mediapro.enemy.EnemyPolicy;
+import com.miozune.mediapro.stage.StageModel;
+
+/**
+ * 敵AIが決めた、次の敵のターンの行動。
+ * {@link StageModel#setEnemyPolicy(EnemyPolicy)} に渡すと、その通りに行動する。
+ *
+ * @param actions 敵ごとの行動（敵の位置の順。決めていない敵はnull）
+ * @param iterations 探索の反復回数
+ * @param elapsedNanos 探索にかかった時間（ナノ秒）
+ * @param reusedVisits 前回の探索から引き継いだ訪問回数
+ */
+public record EnemyDecision(
+    List<EnemyAction> actions,
+    long iterations,
+    long elapsedNanos,
+    long reusedVisits
+) implements EnemyPolicy {
+
+    /**
+     * 決めた行動を返す。決めていない敵は攻撃する。
+     */
+    @Override
+    public EnemyAction chooseAction(StageModel stage, int enemyIndex) {
+        EnemyAction action = enemyIndex < actions.size() ? actions.get(enemyIndex) : null;
+        return action != null ? action : EnemyAction.ATTACK;
+    }
+
+    /**
+     * 1秒あたりの反復回数を取得する（マシンごとの探索量の調整用）。
+     *
+     * @return 1秒あたりの反復回数
+     */
+    public double iterationsPerSecond() {
+        return elapsedNanos == 0 ? 0 : iterations * 1e9 / elapsedNanos;
+    }
+}
@@ -0,0 +1,49 @@
+package com.miozune.mediapro.ai;
+
+import java.time.Duration;
+
+/**
+ * 1回の行動決定に使う探索量（難易度）。
+ * 反復回数と時間のどちらか先に達した方で探索を打ち切る。
+ * 反復回数だけで指定すると、同じシードなら同じ行動になる。
+ *
+ * @param maxIterations 反復回数の上限
+ * @param maxNanos 時間の上限（ナノ秒）
+ */
+public record SearchBudget(long maxIterations, long maxNanos) {
+
+    /** 弱い：少ない反復回数で決める */
+    public static final SearchBudget EASY = iterations(200);
+
+    /** 普通：1回の決定に100ミリ秒まで使う */
+    public static final SearchBudget NORMAL = time(Duration.ofMillis(100));
+
+    /** 強い：1回の決定に500ミリ秒まで使う */
+    public static final SearchBudget HARD = time(Duration.ofMillis(500));
+
+    public SearchBudget {
+        if (maxIterations < 1 || maxNanos < 1) {
+            throw new IllegalArgumentException("Budget must be positive: " + maxIterations + " iterations, " + maxNanos + " ns");
+        }
+    }
+
+    /**
+     * 反復回数だけで打ち切る探索量を作成する。
+     *
+     * @param iterations 反復回数
+     * @return 探索量
+     */
+    public static SearchBudget iterations(long iterations) {
+        return new SearchBudget(iterations, Long.MAX_VALUE);
+    }
+
+    /**
+     * 時間だけで打ち切る探索量を作成する。
+     *
+     * @param time 1回の決定に使う時間
+     * @return 探索量
+     */
+    public static SearchBudget time(Duration time) {
+        return new SearchBudget(Long.MAX_VALUE, time.toNanos());
+    }
+}
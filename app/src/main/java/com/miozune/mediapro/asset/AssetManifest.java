@@ -0,0 +1,145 @@
+package com.miozune.mediapro.asset;
+
+import java.awt.Font;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 起動時に先読みするアセットの一覧。
+ * クラスパス上のテキストファイルから読み込む。1行に1つのアセットを書き、{@code #} 以降はコメントとする。
+ * <pre>
+ * image /images/cards/sample.jpg
+ * font Serif BOLD 56
+ * </pre>
+ *
+ * @param entries アセットの一覧（記述順）
+ */
+public record AssetManifest(List<Entry> entries) {
+
+    /** 標準のマニフェストのリソースパス */
+    public static final String DEFAULT_PATH = "/assets/preload.manifest";
+
+    /**
+     * アセットの種類。
+     */
+    public enum Type {
+        /** 画像（{@link com.miozune.mediapro.util.ImageLoader} のキャッシュに読み込む） */
+        IMAGE,
+        /** フォント（{@link com.miozune.mediapro.util.Fonts} に登録し、グリフを読み込む） */
+        FONT
+    }
+
+    /**
+     * マニフェストの1行。
+     *
+     * @param type アセットの種類
+     * @param name 画像のリソースパス、またはフォントファミリー
+     * @param style フォントのスタイル（画像の場合は0）
+     * @param size フォントのサイズ（画像の場合は0）
+     */
+    public record Entry(Type type, String name, int style, int size) {
+
+        /**
+         * レポートに表示する名前を返す。
+         *
+         * @return 表示名
+         */
+        public String label() {
+            return switch (type) {
+                case IMAGE -> "image " + name;
+                case FONT -> "font " + name + " " + styleName(style) + " " + size;
+            };
+        }
+    }
+
+    public AssetManifest {
+        entries = List.copyOf(entries);
+    }
+
+    /**
+     * クラスパスからマニフェストを読み込む。
+     *
+     * @param resourcePath リソースパス（例: {@link #DEFAULT_PATH}）
+     * @return 読み込んだマニフェスト
+     * @throws IOException ファイルがない場合、または書式が正しくない場合
+     */
+    public static AssetManifest load(String resourcePath) throws IOException {
+        try (InputStream is = AssetManifest.class.getResourceAsStream(resourcePath)) {
+            if (is == null) {
+                throw new IOException("Asset manifest not found: " + resourcePath);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+            return parse(reader.lines().toList());
+        }
+    }
+
+    /**
+     * マニフェストの各行を解析する。
+     *
+     * @param lines マニフェストの各行
+     * @return 解析したマニフェスト
+     * @throws IOException 書式が正しくない行がある場合
+     */
+    public static AssetManifest parse(List<String> lines) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            String[] fields = line.split("\\s+");
+            try {
+                entries.add(switch (fields[0]) {
+                    case "image" -> {
+                        requireFields(fields, 2);
+                        yield new Entry(Type.IMAGE, fields[1], 0, 0);
+                    }
+                    case "font" -> {
+                        requireFields(fields, 4);
+                        yield new Entry(Type.FONT, fields[1], parseStyle(fields[2]), Integer.parseInt(fields[3]));
+                    }
+                    default -> throw new IllegalArgumentException("Unknown asset type: " + fields[0]);
+                });
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid asset manifest line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return new AssetManifest(entries);
+    }
+
+    private static void requireFields(String[] fields, int count) {
+        if (fields.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " fields but got " + fields.length);
+        }
+    }
+
+    private static int parseStyle(String style) {
+        return switch (style) {
+            case "PLAIN" -> Font.PLAIN;
+            case "BOLD" -> Font.BOLD;
+            case "ITALIC" -> Font.ITALIC;
+            case "BOLDITALIC" -> Font.BOLD | Font.ITALIC;
+            default -> throw new IllegalArgumentException("Unknown font style: " + style);
+        };
+    }
+
+    private static String styleName(int style) {
+        return switch (style) {
+            case Font.BOLD -> "BOLD";
+            case Font.ITALIC -> "ITALIC";
+            case Font.BOLD | Font.ITALIC -> "BOLDITALIC";
+            default -> "PLAIN";
+        };
+    }
+}
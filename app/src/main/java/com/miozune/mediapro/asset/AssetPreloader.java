@@ -0,0 +1,103 @@
+package com.miozune.mediapro.asset;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.miozune.mediapro.util.Fonts;
+import com.miozune.mediapro.util.ImageLoader;
+
+/**
+ * マニフェストに書かれたアセットを、複数のスレッドで並列に先読みするクラス。
+ * 画像は {@link ImageLoader} のキャッシュに、フォントは {@link Fonts} に読み込むため、
+ * 画面が必要とした時点ではデコード済みになっている。
+ * <p>
+ * 起動時はタイトル画面を表示したまま背景で先読みし、終わったらアセットごとの所要時間と、
+ * 先読み全体の完了を決めたアセット（クリティカルパス）を {@link PreloadReport} として返す。
+ */
+public final class AssetPreloader {
+
+    /** フォントのグリフを読み込むために測る文字列（日本語のフォールバックフォントも読み込む） */
+    private static final String GLYPH_SAMPLE = "0123456789ABCabc あいうアイウ漢字";
+
+    private AssetPreloader() {}
+
+    /**
+     * CPUのコア数と同じ数のスレッドで先読みを開始する。
+     *
+     * @param manifest 先読みするアセットの一覧
+     * @return すべて読み込み終えたときにレポートで完了するFuture
+     */
+    public static CompletableFuture<PreloadReport> start(AssetManifest manifest) {
+        return start(manifest, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * スレッド数を指定して先読みを開始する。
+     * 先読み用のスレッドは、すべて読み込み終えたら終了する。
+     *
+     * @param manifest 先読みするアセットの一覧
+     * @param threads スレッド数
+     * @return すべて読み込み終えたときにレポートで完了するFuture
+     */
+    public static CompletableFuture<PreloadReport> start(AssetManifest manifest, int threads) {
+        ExecutorService executor = createExecutor(threads);
+        long origin = System.nanoTime();
+
+        List<CompletableFuture<PreloadReport.AssetTiming>> futures = new ArrayList<>();
+        for (AssetManifest.Entry entry : manifest.entries()) {
+            long queued = System.nanoTime() - origin;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime() - origin;
+                boolean loaded = load(entry);
+                return new PreloadReport.AssetTiming(entry, queued, start, System.nanoTime() - origin, loaded);
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> new PreloadReport(threads, System.nanoTime() - origin,
+                futures.stream().map(CompletableFuture::join).toList()))
+            .whenComplete((report, error) -> executor.shutdown());
+    }
+
+    /**
+     * アセットを1つ読み込む。
+     *
+     * @param entry マニフェストの項目
+     * @return 読み込めた場合はtrue
+     */
+    static boolean load(AssetManifest.Entry entry) {
+        try {
+            return switch (entry.type()) {
+                case IMAGE -> ImageLoader.loadMipImage(entry.name()) != null;
+                case FONT -> {
+                    Font font = Fonts.get(entry.name(), entry.style(), entry.size());
+                    FontMetrics fm = Fonts.metrics(font);
+                    fm.stringWidth(GLYPH_SAMPLE);
+                    yield true;
+                }
+            };
+        } catch (RuntimeException e) {
+            System.err.println("Error preloading " + entry.label() + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 先読み用のスレッドプールを作成する。
+     * アプリケーションの終了を妨げないよう、デーモンスレッドを使う。
+     */
+    private static ExecutorService createExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "asset-preload-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.miozune.mediapro.asset;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 複数の画像をまとめて {@link TextureAtlas} に配置するビルダー。
+ * 画像を高さの降順に並べてから棚詰めするため、登録順に配置するよりも棚の隙間が少なくなる。
+ * <pre>
+ * TextureAtlas atlas = new AtlasBuilder(1024, 4)
+ *     .add("chrome:cost", costBadge)
+ *     .add("card_001.jpg", art)
+ *     .build();
+ * </pre>
+ */
+public class AtlasBuilder {
+
+    private final int pageSize;
+    private final int maxPages;
+    private final Map<String, BufferedImage> images = new LinkedHashMap<>();
+
+    /**
+     * ページの大きさと最大数を指定してビルダーを作成する。
+     *
+     * @param pageSize ページの一辺の長さ（ピクセル）
+     * @param maxPages ページの最大数
+     */
+    public AtlasBuilder(int pageSize, int maxPages) {
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * 配置する画像を追加する。同じ名前を追加した場合は後から追加した画像で置き換える。
+     *
+     * @param name 画像の名前
+     * @param image 画像
+     * @return このビルダー
+     */
+    public AtlasBuilder add(String name, BufferedImage image) {
+        images.put(name, image);
+        return this;
+    }
+
+    /**
+     * 追加した画像を配置したアトラスを作成する。
+     * 作成後もアトラスには画像を追加で登録できる。
+     *
+     * @return 作成したアトラス
+     * @throws IllegalStateException ページに収まらない画像がある場合
+     */
+    public TextureAtlas build() {
+        TextureAtlas atlas = new TextureAtlas(pageSize, maxPages);
+        List<Map.Entry<String, BufferedImage>> sorted = new ArrayList<>(images.entrySet());
+        sorted.sort(Comparator.comparingInt((Map.Entry<String, BufferedImage> e) -> e.getValue().getHeight())
+            .reversed()
+            .thenComparing(Map.Entry::getKey));
+        for (Map.Entry<String, BufferedImage> entry : sorted) {
+            if (atlas.add(entry.getKey(), entry.getValue()) == null) {
+                throw new IllegalStateException("Image does not fit in the atlas: " + entry.getKey());
+            }
+        }
+        return atlas;
+    }
+}
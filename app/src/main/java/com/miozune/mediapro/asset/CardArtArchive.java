@@ -0,0 +1,171 @@
+package com.miozune.mediapro.asset;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link CardArtPacker} で作成したカード画像のアーカイブを読み込むクラス。
+ * アーカイブはメモリマップして読み込み、各画像のピクセルは乗算済みARGBとして
+ * そのまま画像のバッファへ複製する。JPEGのデコードは行わない。
+ * <p>
+ * ファイル形式（数値はすべてリトルエンディアン）:
+ * <pre>
+ * ヘッダー: "MPCA"(4バイト) バージョン(int) 画像数(int)
+ * 索引:     名前の長さ(short) 名前(UTF-8) 幅(int) 高さ(int) ピクセルの位置(long) × 画像数
+ * ピクセル: 各画像の幅×高さ個のint（TYPE_INT_ARGB_PRE）。位置は64バイト境界に揃える
+ * </pre>
+ * 読み込みはどのスレッドからでも行える。
+ */
+public class CardArtArchive implements Closeable {
+
+    /** ファイル先頭のマジックナンバー（"MPCA"） */
+    static final int MAGIC = 0x4143504D;
+
+    /** ファイル形式のバージョン */
+    static final int VERSION = 1;
+
+    /** ピクセルデータの位置を揃える境界（バイト） */
+    static final int ALIGNMENT = 64;
+
+    /**
+     * 索引の1項目。
+     *
+     * @param width 幅
+     * @param height 高さ
+     * @param offset ピクセルデータの位置（バイト）
+     */
+    private record Entry(int width, int height, long offset) {}
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Entry> index;
+
+    private CardArtArchive(FileChannel channel, MappedByteBuffer buffer, Map<String, Entry> index) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.index = index;
+    }
+
+    /**
+     * アーカイブを開く。
+     *
+     * @param path アーカイブのファイルパス
+     * @return 開いたアーカイブ
+     * @throws IOException 読み込みに失敗した場合、またはファイル形式が正しくない場合
+     */
+    public static CardArtArchive open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Card art archive is too large: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new CardArtArchive(channel, buffer, readIndex(buffer, path));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e instanceof IOException io ? io : new IOException("Corrupt card art archive: " + path, e);
+        }
+    }
+
+    /**
+     * 索引を読み込む。
+     */
+    private static Map<String, Entry> readIndex(MappedByteBuffer buffer, Path path) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a card art archive: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported card art archive version: " + version);
+        }
+
+        int count = buffer.getInt();
+        Map<String, Entry> index = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            byte[] nameBytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(nameBytes);
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            long offset = buffer.getLong();
+            if (width <= 0 || height <= 0 || offset < 0
+                    || offset + (long) width * height * Integer.BYTES > buffer.capacity()) {
+                throw new IOException("Corrupt card art archive entry " + i + ": " + path);
+            }
+            index.put(new String(nameBytes, StandardCharsets.UTF_8), new Entry(width, height, offset));
+        }
+        return index;
+    }
+
+    /**
+     * 画像がアーカイブに含まれているかどうかを返す。
+     *
+     * @param name 画像ファイル名（例: "card_001.jpg"）
+     * @return 含まれている場合はtrue
+     */
+    public boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    /**
+     * 画像を読み込む。
+     * ピクセルデータを複製するだけで、デコードは行わない。
+     *
+     * @param name 画像ファイル名（例: "card_001.jpg"）
+     * @return TYPE_INT_ARGB_PREの画像、含まれていない場合はnull
+     */
+    public BufferedImage read(String name) {
+        Entry entry = index.get(name);
+        if (entry == null) {
+            return null;
+        }
+
+        BufferedImage image = new BufferedImage(entry.width(), entry.height(), BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        // 位置と範囲を共有しない複製を使い、複数スレッドから同時に読み込めるようにする
+        IntBuffer source = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN)
+            .position((int) entry.offset())
+            .limit((int) entry.offset() + pixels.length * Integer.BYTES)
+            .slice().order(ByteOrder.LITTLE_ENDIAN)
+            .asIntBuffer();
+        source.get(pixels);
+        return image;
+    }
+
+    /**
+     * アーカイブに含まれる画像ファイル名の一覧を取得する。
+     *
+     * @return 画像ファイル名の一覧（変更不可）
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * アーカイブに含まれる画像の数を取得する。
+     *
+     * @return 画像の数
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
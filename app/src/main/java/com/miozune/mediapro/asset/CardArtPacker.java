@@ -0,0 +1,168 @@
+package com.miozune.mediapro.asset;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+/**
+ * カード画像をデコード済みのアーカイブにまとめるビルド用ツール。
+ * 指定したディレクトリ内の画像をすべてデコードし、乗算済みARGBのピクセルとして
+ * 1つのファイルに書き出す。形式は {@link CardArtArchive} を参照。
+ * <p>
+ * Gradleの {@code packCardArt} タスクから実行される。
+ * <pre>
+ * java com.miozune.mediapro.asset.CardArtPacker &lt;画像ディレクトリ&gt; &lt;出力ファイル&gt;
+ * </pre>
+ */
+public final class CardArtPacker {
+
+    /** アーカイブに含める画像の拡張子 */
+    private static final List<String> IMAGE_EXTENSIONS = List.of(".jpg", ".jpeg", ".png", ".gif", ".bmp");
+
+    private CardArtPacker() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CardArtPacker <image directory> <output file>");
+            System.exit(1);
+        }
+        Path inputDir = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+
+        long start = System.nanoTime();
+        int count = pack(listImages(inputDir), output);
+        System.out.printf("Packed %d card images into %s (%d bytes) in %.1fms%n",
+            count, output, Files.size(output), (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * ディレクトリ内の画像ファイルを名前順に列挙する。
+     *
+     * @param directory 画像ディレクトリ
+     * @return 画像ファイルの一覧
+     * @throws IOException 列挙に失敗した場合
+     */
+    static List<Path> listImages(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(Files::isRegularFile)
+                .filter(file -> {
+                    String name = file.getFileName().toString().toLowerCase();
+                    return IMAGE_EXTENSIONS.stream().anyMatch(name::endsWith);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    /**
+     * 画像をデコードしてアーカイブに書き出す。
+     * 画像はファイル名で登録される。デコードできないファイルは警告を出して飛ばす。
+     *
+     * @param images 画像ファイルの一覧
+     * @param output 出力ファイル
+     * @return 書き出した画像の数
+     * @throws IOException 読み書きに失敗した場合
+     */
+    public static int pack(List<Path> images, Path output) throws IOException {
+        List<String> names = new ArrayList<>();
+        List<BufferedImage> decoded = new ArrayList<>();
+        for (Path file : images) {
+            BufferedImage image = ImageIO.read(file.toFile());
+            if (image == null) {
+                System.err.println("Warning: Skipping unsupported image: " + file);
+                continue;
+            }
+            names.add(file.getFileName().toString());
+            decoded.add(toPremultipliedArgb(image));
+        }
+
+        // 索引の大きさを求めて、ピクセルデータの開始位置を決める
+        int indexSize = 3 * Integer.BYTES;
+        List<byte[]> nameBytes = new ArrayList<>();
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IOException("Image file name is too long: " + name);
+            }
+            nameBytes.add(bytes);
+            indexSize += Short.BYTES + bytes.length + 2 * Integer.BYTES + Long.BYTES;
+        }
+
+        long[] offsets = new long[decoded.size()];
+        long position = align(indexSize);
+        for (int i = 0; i < decoded.size(); i++) {
+            offsets[i] = position;
+            BufferedImage image = decoded.get(i);
+            position = align(position + (long) image.getWidth() * image.getHeight() * Integer.BYTES);
+        }
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(indexSize).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(CardArtArchive.MAGIC);
+            header.putInt(CardArtArchive.VERSION);
+            header.putInt(decoded.size());
+            for (int i = 0; i < decoded.size(); i++) {
+                header.putShort((short) nameBytes.get(i).length);
+                header.put(nameBytes.get(i));
+                header.putInt(decoded.get(i).getWidth());
+                header.putInt(decoded.get(i).getHeight());
+                header.putLong(offsets[i]);
+            }
+            header.flip();
+            writeFully(channel, header, 0);
+
+            for (int i = 0; i < decoded.size(); i++) {
+                int[] pixels = ((DataBufferInt) decoded.get(i).getRaster().getDataBuffer()).getData();
+                ByteBuffer data = ByteBuffer.allocate(pixels.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                data.asIntBuffer().put(pixels);
+                writeFully(channel, data, offsets[i]);
+            }
+        }
+        return decoded.size();
+    }
+
+    /**
+     * 画像をTYPE_INT_ARGB_PREに変換する。
+     */
+    private static BufferedImage toPremultipliedArgb(BufferedImage image) {
+        BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = result.createGraphics();
+        try {
+            g2d.drawImage(image, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * 位置を境界に揃える。
+     */
+    private static long align(long position) {
+        return (position + CardArtArchive.ALIGNMENT - 1) / CardArtArchive.ALIGNMENT * CardArtArchive.ALIGNMENT;
+    }
+
+    /**
+     * バッファの内容をすべて指定位置に書き込む。
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
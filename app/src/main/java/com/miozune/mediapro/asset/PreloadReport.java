@@ -0,0 +1,107 @@
+package com.miozune.mediapro.asset;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * アセットの先読みの結果。
+ * 時刻はすべて先読みを開始した時点からの経過時間（ナノ秒）で表す。
+ *
+ * @param threads 先読みに使ったスレッド数
+ * @param totalNanos 先読み全体にかかった時間
+ * @param timings アセットごとの所要時間（マニフェストの記述順）
+ */
+public record PreloadReport(int threads, long totalNanos, List<AssetTiming> timings) {
+
+    /** レポートに表示する、時間のかかったアセットの数 */
+    private static final int SLOWEST_COUNT = 5;
+
+    /**
+     * アセット1つ分の所要時間。
+     *
+     * @param entry マニフェストの項目
+     * @param queuedNanos 読み込みを依頼した時刻
+     * @param startNanos 読み込みを開始した時刻
+     * @param endNanos 読み込みが終わった時刻
+     * @param loaded 読み込めた場合はtrue
+     */
+    public record AssetTiming(AssetManifest.Entry entry, long queuedNanos, long startNanos, long endNanos,
+            boolean loaded) {
+
+        /**
+         * 空きスレッドを待っていた時間を返す。
+         *
+         * @return 待ち時間（ナノ秒）
+         */
+        public long waitNanos() {
+            return startNanos - queuedNanos;
+        }
+
+        /**
+         * 読み込みにかかった時間を返す。
+         *
+         * @return 読み込み時間（ナノ秒）
+         */
+        public long loadNanos() {
+            return endNanos - startNanos;
+        }
+    }
+
+    public PreloadReport {
+        timings = List.copyOf(timings);
+    }
+
+    /**
+     * 最後に読み込みが終わったアセットを返す。
+     * 各アセットは独立して読み込むため、先読み全体の完了はこのアセットの待ち時間と読み込み時間で決まる。
+     *
+     * @return 最後に終わったアセット、アセットがない場合はnull
+     */
+    public AssetTiming criticalPath() {
+        return timings.stream().max(Comparator.comparingLong(AssetTiming::endNanos)).orElse(null);
+    }
+
+    /**
+     * すべてのアセットの読み込み時間の合計を返す。
+     * 先読み全体の時間との比が、並列化によって得られた速度向上の目安になる。
+     *
+     * @return 読み込み時間の合計（ナノ秒）
+     */
+    public long workNanos() {
+        return timings.stream().mapToLong(AssetTiming::loadNanos).sum();
+    }
+
+    /**
+     * 読み込めなかったアセットの数を返す。
+     *
+     * @return 失敗した数
+     */
+    public int failedCount() {
+        return (int) timings.stream().filter(timing -> !timing.loaded()).count();
+    }
+
+    /**
+     * レポートを複数行の文字列に整形する。
+     *
+     * @return 整形したレポート
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Preloaded %d assets (%d failed) in %.1fms on %d threads (work %.1fms, x%.1f)%n",
+            timings.size(), failedCount(), totalNanos / 1e6, threads, workNanos() / 1e6,
+            totalNanos > 0 ? (double) workNanos() / totalNanos : 0.0));
+
+        AssetTiming critical = criticalPath();
+        if (critical != null) {
+            sb.append(String.format("  critical path: wait %.1fms -> %s %.1fms%n",
+                critical.waitNanos() / 1e6, critical.entry().label(), critical.loadNanos() / 1e6));
+        }
+
+        timings.stream()
+            .sorted(Comparator.comparingLong(AssetTiming::loadNanos).reversed())
+            .limit(SLOWEST_COUNT)
+            .forEach(timing -> sb.append(String.format("  %8.1fms  %s%s%n",
+                timing.loadNanos() / 1e6, timing.entry().label(), timing.loaded() ? "" : " (failed)")));
+        return sb.toString();
+    }
+}
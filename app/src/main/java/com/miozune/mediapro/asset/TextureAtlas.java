@@ -0,0 +1,231 @@
+package com.miozune.mediapro.asset;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 小さな画像を数枚の大きな画像（ページ）にまとめて保持するテクスチャアトラス。
+ * 多数のカードを描画する際に、画像ごとに別々の描画面を切り替えずに済み、
+ * アクセラレートされた描画面の断片化も抑えられる。
+ * <p>
+ * 画像は名前で登録し、{@link #draw(Graphics2D, String, int, int, int, int)} で
+ * ページの一部分として描画する。各ページには棚（シェルフ）詰めで画像を配置し、
+ * 空きがなくなったら新しいページを追加する。まとめて登録する場合は {@link AtlasBuilder} を使うと、
+ * 高さ順に並べてから配置するため無駄な隙間が少なくなる。
+ * <p>
+ * すべてのメソッドはどのスレッドからでも呼び出せる。
+ */
+public class TextureAtlas {
+
+    /** 画像の周囲に確保する余白（バイリニア補間で隣の画像が滲まないようにする） */
+    static final int PADDING = 1;
+
+    /**
+     * ページ上の画像の位置。
+     *
+     * @param page ページ番号
+     * @param x ページ上のX座標
+     * @param y ページ上のY座標
+     * @param width 幅
+     * @param height 高さ
+     */
+    public record Region(int page, int x, int y, int width, int height) {}
+
+    /**
+     * 1ページ分の画像と、棚詰めの状態。
+     * 棚は上から順に積み、各棚には左から順に画像を並べる。
+     */
+    private static final class Page {
+        final BufferedImage image;
+        /** 現在の棚の上端 */
+        int shelfY;
+        /** 現在の棚の高さ */
+        int shelfHeight;
+        /** 現在の棚で次に画像を置くX座標 */
+        int cursorX;
+
+        Page(int size) {
+            this.image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        /**
+         * 指定した大きさの領域を確保する。
+         *
+         * @return 確保した領域の左上の座標（[x, y]）、空きがない場合はnull
+         */
+        int[] allocate(int width, int height) {
+            int size = image.getWidth();
+            if (cursorX + width > size) {
+                // 現在の棚に入らなければ、下に新しい棚を作る
+                shelfY += shelfHeight;
+                shelfHeight = 0;
+                cursorX = 0;
+            }
+            if (shelfY + height > size || width > size) {
+                return null;
+            }
+            int[] position = {cursorX, shelfY};
+            cursorX += width;
+            shelfHeight = Math.max(shelfHeight, height);
+            return position;
+        }
+    }
+
+    private final int pageSize;
+    private final int maxPages;
+    private final List<Page> pages = new ArrayList<>();
+    private final Map<String, Region> regions = new HashMap<>();
+
+    /**
+     * ページの大きさと最大数を指定してアトラスを作成する。
+     *
+     * @param pageSize ページの一辺の長さ（ピクセル）
+     * @param maxPages ページの最大数
+     */
+    public TextureAtlas(int pageSize, int maxPages) {
+        if (pageSize <= 0 || maxPages <= 0) {
+            throw new IllegalArgumentException("pageSize and maxPages must be positive: " + pageSize + ", " + maxPages);
+        }
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * 画像を登録する。同じ名前が登録済みの場合は、既存の位置を返す。
+     * ページに収まらない大きさの画像や、ページの最大数に達した場合は登録しない。
+     *
+     * @param name 画像の名前
+     * @param image 登録する画像
+     * @return 画像の位置、登録できなかった場合はnull
+     */
+    public synchronized Region add(String name, BufferedImage image) {
+        Region existing = regions.get(name);
+        if (existing != null) {
+            return existing;
+        }
+
+        int width = image.getWidth() + PADDING * 2;
+        int height = image.getHeight() + PADDING * 2;
+        if (width > pageSize || height > pageSize) {
+            return null;
+        }
+
+        int[] position = pages.isEmpty() ? null : pages.get(pages.size() - 1).allocate(width, height);
+        if (position == null) {
+            if (pages.size() >= maxPages) {
+                return null;
+            }
+            pages.add(new Page(pageSize));
+            position = pages.get(pages.size() - 1).allocate(width, height);
+        }
+
+        int pageIndex = pages.size() - 1;
+        Region region = new Region(pageIndex, position[0] + PADDING, position[1] + PADDING,
+            image.getWidth(), image.getHeight());
+        blit(pages.get(pageIndex).image, image, region);
+        regions.put(name, region);
+        return region;
+    }
+
+    /**
+     * 画像をページに書き込む。
+     * 余白には画像の端の色を引き伸ばして書き込み、補間時に透明な余白が混ざらないようにする。
+     */
+    private static void blit(BufferedImage page, BufferedImage image, Region region) {
+        Graphics2D g2d = page.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2d.drawImage(image, region.x() - PADDING, region.y() - PADDING,
+                region.width() + PADDING * 2, region.height() + PADDING * 2, null);
+            g2d.drawImage(image, region.x(), region.y(), null);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * 画像の位置を取得する。
+     *
+     * @param name 画像の名前
+     * @return 画像の位置、登録されていない場合はnull
+     */
+    public synchronized Region get(String name) {
+        return regions.get(name);
+    }
+
+    /**
+     * 登録済みの画像を指定した矩形に描画する。
+     *
+     * @param g2d 描画先
+     * @param name 画像の名前
+     * @param x 描画先のX座標
+     * @param y 描画先のY座標
+     * @param width 描画する幅
+     * @param height 描画する高さ
+     * @return 描画した場合はtrue、登録されていない場合はfalse
+     */
+    public boolean draw(Graphics2D g2d, String name, int x, int y, int width, int height) {
+        Region region;
+        BufferedImage page;
+        synchronized (this) {
+            region = regions.get(name);
+            if (region == null) {
+                return false;
+            }
+            page = pages.get(region.page()).image;
+        }
+        g2d.drawImage(page, x, y, x + width, y + height,
+            region.x(), region.y(), region.x() + region.width(), region.y() + region.height(), null);
+        return true;
+    }
+
+    /**
+     * ページの画像を取得する。
+     *
+     * @param page ページ番号
+     * @return ページの画像
+     */
+    public synchronized BufferedImage getPage(int page) {
+        return pages.get(page).image;
+    }
+
+    /**
+     * ページの数を取得する。
+     *
+     * @return ページの数
+     */
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * 登録済みの画像の数を取得する。
+     *
+     * @return 画像の数
+     */
+    public synchronized int size() {
+        return regions.size();
+    }
+
+    /**
+     * ページの一辺の長さを取得する。
+     *
+     * @return ページの一辺の長さ（ピクセル）
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * すべての画像とページを破棄する。
+     */
+    public synchronized void clear() {
+        pages.clear();
+        regions.clear();
+    }
+}
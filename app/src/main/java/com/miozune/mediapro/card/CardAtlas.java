@@ -0,0 +1,181 @@
+package com.miozune.mediapro.card;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+import com.miozune.mediapro.asset.AtlasBuilder;
+import com.miozune.mediapro.asset.TextureAtlas;
+import com.miozune.mediapro.util.MipImage;
+
+/**
+ * カードの描画に使う画像をまとめたテクスチャアトラス。
+ * カードの枠やコストの背景などの固定の装飾と、カード画像の縮小版を数枚のページにまとめて保持し、
+ * 多数のカードを描画する際の描画面の切り替えを減らす。
+ * <p>
+ * 装飾は作成時に描画して登録する。カード画像は初めて描画するときに、
+ * {@link #ART_MAX_WIDTH}×{@link #ART_MAX_HEIGHT} に収まる大きさに縮小して登録する。
+ * それより大きく描画する場合や、ページが一杯の場合は元の画像から描画する。
+ * <p>
+ * カード画像はファイル名（{@link CardModel#imageName()}）で、装飾は {@code "chrome:"} で始まる名前で登録される。
+ */
+public final class CardAtlas {
+
+    /** カードの枠と背景 */
+    public static final String FRAME = "chrome:frame";
+
+    /** ホバー中のカードの枠と背景 */
+    public static final String FRAME_HOVERED = "chrome:frame-hovered";
+
+    /** コスト表示の背景 */
+    public static final String COST_BADGE = "chrome:cost";
+
+    /** アトラスに登録するカード画像の最大幅 */
+    static final int ART_MAX_WIDTH = 256;
+
+    /** アトラスに登録するカード画像の最大高さ */
+    static final int ART_MAX_HEIGHT = 192;
+
+    /** 装飾を描画する倍率（縮小して描画しても線が細くなりすぎないよう、基準の2倍で描画する） */
+    private static final int CHROME_SCALE = 2;
+
+    /** ページの一辺の長さ */
+    private static final int PAGE_SIZE = 1024;
+
+    /** ページの最大数（1ページあたり4MB） */
+    private static final int MAX_PAGES = 8;
+
+    private static final CardAtlas SHARED = new CardAtlas(PAGE_SIZE, MAX_PAGES);
+
+    private final TextureAtlas atlas;
+
+    /**
+     * ページの大きさと最大数を指定してアトラスを作成し、装飾を登録する。
+     *
+     * @param pageSize ページの一辺の長さ（ピクセル）
+     * @param maxPages ページの最大数
+     */
+    public CardAtlas(int pageSize, int maxPages) {
+        int width = CardRenderer.BASE_WIDTH * CHROME_SCALE;
+        int height = CardRenderer.BASE_HEIGHT * CHROME_SCALE;
+        int badgeSize = CardRenderer.costBadgeSize(width);
+
+        this.atlas = new AtlasBuilder(pageSize, maxPages)
+            .add(FRAME, paintChrome(width, height, g2d -> CardRenderer.paintFrame(g2d, 0, 0, width, height, false)))
+            .add(FRAME_HOVERED, paintChrome(width, height, g2d -> CardRenderer.paintFrame(g2d, 0, 0, width, height, true)))
+            .add(COST_BADGE, paintChrome(badgeSize, badgeSize, g2d -> CardRenderer.paintCostBadge(g2d, 0, 0, badgeSize)))
+            .build();
+    }
+
+    /**
+     * 全体で共有するアトラスを取得する。
+     *
+     * @return 共有のアトラス
+     */
+    public static CardAtlas getShared() {
+        return SHARED;
+    }
+
+    /**
+     * 装飾を透明な画像に描画する。
+     */
+    private static BufferedImage paintChrome(int width, int height, Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            painter.accept(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * 装飾を描画する。
+     *
+     * @param g2d 描画先
+     * @param name 装飾の名前（{@link #FRAME} など）
+     * @param x X座標
+     * @param y Y座標
+     * @param width 描画する幅
+     * @param height 描画する高さ
+     */
+    public void drawChrome(Graphics2D g2d, String name, int x, int y, int width, int height) {
+        if (!atlas.draw(g2d, name, x, y, width, height)) {
+            throw new IllegalArgumentException("Unknown chrome: " + name);
+        }
+    }
+
+    /**
+     * カード画像をアトラスから描画する。
+     * 未登録の場合は縮小して登録してから描画する。
+     *
+     * @param g2d 描画先
+     * @param imageName カード画像のファイル名
+     * @param image カード画像
+     * @param x X座標
+     * @param y Y座標
+     * @param width 描画する幅
+     * @param height 描画する高さ
+     * @return アトラスから描画した場合はtrue。登録した画像より大きく描画する場合や、
+     *         ページが一杯で登録できなかった場合はfalseを返し、何も描画しない
+     */
+    public boolean drawArt(Graphics2D g2d, String imageName, MipImage image,
+            int x, int y, int width, int height) {
+        TextureAtlas.Region region = atlas.get(imageName);
+        if (region == null) {
+            if (width > ART_MAX_WIDTH || height > ART_MAX_HEIGHT) {
+                return false;
+            }
+            region = atlas.add(imageName, shrinkArt(image));
+            if (region == null) {
+                return false;
+            }
+        }
+        if (width > region.width() || height > region.height()) {
+            return false;
+        }
+        return atlas.draw(g2d, imageName, x, y, width, height);
+    }
+
+    /**
+     * カード画像をアトラスに登録する大きさに縮小する。
+     */
+    private static BufferedImage shrinkArt(MipImage image) {
+        double scale = Math.min(1.0, Math.min(
+            (double) ART_MAX_WIDTH / image.getWidth(), (double) ART_MAX_HEIGHT / image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = result.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(image.getLevel(width, height), 0, 0, width, height, null);
+        } finally {
+            g2d.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * カード画像がアトラスに登録済みかどうかを返す。
+     *
+     * @param imageName カード画像のファイル名
+     * @return 登録済みの場合はtrue
+     */
+    public boolean containsArt(String imageName) {
+        return atlas.get(imageName) != null;
+    }
+
+    /**
+     * 内部のアトラスを取得する。
+     *
+     * @return アトラス
+     */
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+}
@@ -72,7 +72,7 @@ public class CardController {
      */
     private void handleMouseEnter(MouseEvent e) {
         hovering = true;
-        // TODO: ホバーエフェクト（拡大、ハイライトなど）を実装
+        view.setHovered(true);
         System.out.println("Mouse entered card: " + view.getCardModel().name());
     }
     
@@ -83,7 +83,7 @@ public class CardController {
      */
     private void handleMouseExit(MouseEvent e) {
         hovering = false;
-        // TODO: ホバーエフェクト解除
+        view.setHovered(false);
         System.out.println("Mouse exited card: " + view.getCardModel().name());
     }
     
@@ -0,0 +1,498 @@
+package com.miozune.mediapro.card;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+
+import com.miozune.mediapro.preview.Previewable;
+import com.miozune.mediapro.util.ImageCache;
+import com.miozune.mediapro.util.ImageHandle;
+import com.miozune.mediapro.util.ImageLoader;
+import com.miozune.mediapro.util.MipImage;
+
+/**
+ * 多数のカードを格子状に並べて表示するコンポーネント。
+ * カードごとにコンポーネントを作らず、各カードの位置は行と列から計算する。
+ * 描画は表示範囲に重なる行だけを行い、クリックやホバーも座標から番号を求めて判定するため、
+ * カードの枚数が増えても更新と描画のコストは表示中の枚数にしか比例しない。
+ * <p>
+ * {@link javax.swing.JScrollPane} に入れて使う。幅はビューポートに合わせ、
+ * カードの大きさは列数と幅から決まる（アスペクト比は5:7）。
+ * カードの描画は {@link CardView} と同じく {@link CardSpriteCache} を経由する。
+ * 表示中の行のカード画像は、スクロールで見えなくなるまで画像キャッシュに固定する。
+ */
+public class CardGridView extends JComponent implements Scrollable, Previewable {
+
+    /** デフォルトの列数 */
+    private static final int DEFAULT_COLUMNS = 4;
+
+    /** カード間の隙間 */
+    private static final int GAP = 20;
+
+    /** 周囲の余白 */
+    private static final Insets PADDING = new Insets(20, 40, 20, 40);
+
+    /** スクロールの1単位（ピクセル） */
+    private static final int UNIT_INCREMENT = 16;
+
+    /** カードの高さの幅に対する比（幅:高さ = 5:7） */
+    private static final double HEIGHT_RATIO = 7.0 / 5.0;
+
+    private final int columns;
+    private final CardSpriteCache spriteCache;
+    private final List<CardModel> cards = new ArrayList<>();
+
+    /** ホバー中のカードの番号（ない場合は-1） */
+    private int hoveredIndex = -1;
+
+    /** 読み込みの完了を待っている画像のファイル名 */
+    private final Set<String> pendingImages = new HashSet<>();
+
+    /** 表示中の行のカード画像（ファイル名ごと）。表示中はキャッシュから破棄されないよう固定する */
+    private final Map<String, ImageHandle> visibleImages = new HashMap<>();
+
+    /** visibleImages を集めた行の範囲（カードの一覧が変わったら無効にする） */
+    private int visibleFirstRow;
+    private int visibleLastRow = -1;
+    private boolean visibleImagesValid;
+
+    private ActionListener cardClickListener;
+
+    /**
+     * 空のCardGridViewを作成する。
+     */
+    public CardGridView() {
+        this(DEFAULT_COLUMNS, CardSpriteCache.getShared());
+    }
+
+    /**
+     * 列数と描画済み画像のキャッシュを指定してCardGridViewを作成する。
+     *
+     * @param columns 列数
+     * @param spriteCache 描画済みのカード画像のキャッシュ
+     */
+    public CardGridView(int columns, CardSpriteCache spriteCache) {
+        if (columns <= 0) {
+            throw new IllegalArgumentException("columns must be positive: " + columns);
+        }
+        this.columns = columns;
+        this.spriteCache = spriteCache;
+        setOpaque(false);
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = indexAt(e.getX(), e.getY());
+                if (index >= 0 && cardClickListener != null) {
+                    cardClickListener.actionPerformed(
+                        new ActionEvent(cards.get(index), ActionEvent.ACTION_PERFORMED, "cardClicked"));
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoveredIndex(indexAt(e.getX(), e.getY()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoveredIndex(-1);
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+    }
+
+    /**
+     * 表示するカードを設定する。
+     * 一覧を保持するだけで、カードごとの準備は描画時に表示中のものだけ行う。
+     *
+     * @param cards 表示するカードの一覧
+     */
+    public void setCards(List<CardModel> cards) {
+        int oldSize = this.cards.size();
+        this.cards.clear();
+        this.cards.addAll(cards);
+        cardsChanged(0, oldSize);
+    }
+
+    /**
+     * 指定した位置にカードを1枚追加する。
+     *
+     * @param index 追加する位置
+     * @param card 追加するカード
+     */
+    public void insertCard(int index, CardModel card) {
+        int oldSize = cards.size();
+        cards.add(index, card);
+        cardsChanged(index, oldSize);
+    }
+
+    /**
+     * 末尾に複数のカードを追加する。
+     *
+     * @param newCards 追加するカード
+     */
+    public void addCards(List<CardModel> newCards) {
+        int oldSize = cards.size();
+        cards.addAll(newCards);
+        cardsChanged(oldSize, oldSize);
+    }
+
+    /**
+     * 指定した位置のカードを1枚取り除く。
+     *
+     * @param index 取り除く位置
+     */
+    public void removeCard(int index) {
+        int oldSize = cards.size();
+        cards.remove(index);
+        cardsChanged(index, oldSize);
+    }
+
+    /**
+     * すべてのカードを取り除く。
+     */
+    public void clearCards() {
+        int oldSize = cards.size();
+        cards.clear();
+        cardsChanged(0, oldSize);
+    }
+
+    /**
+     * カードの一覧が変わったときに、影響する範囲だけを再描画する。
+     * 指定した位置より前のカードは動かないため、その位置の行から末尾までを再描画する。
+     * 行数が変わった場合は、スクロール範囲を更新するためにレイアウトし直す。
+     *
+     * @param fromIndex 変更された最初の位置
+     * @param oldSize 変更前の枚数
+     */
+    private void cardsChanged(int fromIndex, int oldSize) {
+        if (hoveredIndex >= fromIndex) {
+            hoveredIndex = -1;
+        }
+        visibleImagesValid = false;
+        int oldRows = (oldSize + columns - 1) / columns;
+        if (oldRows != rowCount()) {
+            revalidate();
+        }
+        int endIndex = Math.max(oldSize, cards.size());
+        if (fromIndex >= endIndex) {
+            return;
+        }
+        Rectangle first = getCellBounds(fromIndex);
+        Rectangle last = getCellBounds(endIndex - 1);
+        repaint(0, first.y, getWidth(), last.y + last.height - first.y);
+    }
+
+    /**
+     * 表示中のカードの一覧を取得する。
+     *
+     * @return カードの一覧（変更不可）
+     */
+    public List<CardModel> getCards() {
+        return Collections.unmodifiableList(cards);
+    }
+
+    /**
+     * カードがクリックされたときのリスナーを設定する。
+     * イベントのソースはクリックされた {@link CardModel}、コマンドは "cardClicked" になる。
+     *
+     * @param listener リスナー
+     */
+    public void setCardClickListener(ActionListener listener) {
+        this.cardClickListener = listener;
+    }
+
+    // --- 配置の計算 ---
+
+    /**
+     * 配置の計算に使う幅を返す。
+     * ビューポートの中にある場合は、レイアウト前でも正しい幅を使えるようビューポートの幅を返す。
+     */
+    private int layoutWidth() {
+        if (getParent() instanceof JViewport viewport && viewport.getWidth() > 0) {
+            return viewport.getWidth();
+        }
+        return getWidth() > 0 ? getWidth() : basePreferredWidth();
+    }
+
+    /**
+     * カードを基準の幅で並べた場合の幅を返す。
+     */
+    private int basePreferredWidth() {
+        return PADDING.left + PADDING.right + columns * CardRenderer.BASE_WIDTH + (columns - 1) * GAP;
+    }
+
+    /**
+     * カードの幅を返す。
+     *
+     * @return カードの幅（ピクセル）
+     */
+    int cellWidth() {
+        int available = layoutWidth() - PADDING.left - PADDING.right - (columns - 1) * GAP;
+        return Math.max(1, available / columns);
+    }
+
+    /**
+     * カードの高さを返す。
+     *
+     * @return カードの高さ（ピクセル）
+     */
+    int cellHeight() {
+        return (int) (cellWidth() * HEIGHT_RATIO);
+    }
+
+    /**
+     * 行の数を返す。
+     */
+    private int rowCount() {
+        return (cards.size() + columns - 1) / columns;
+    }
+
+    /**
+     * 指定した番号のカードが描画される矩形を返す。
+     *
+     * @param index カードの番号
+     * @return 描画される矩形
+     */
+    public Rectangle getCellBounds(int index) {
+        int width = cellWidth();
+        int height = cellHeight();
+        int x = PADDING.left + (index % columns) * (width + GAP);
+        int y = PADDING.top + (index / columns) * (height + GAP);
+        return new Rectangle(x, y, width, height);
+    }
+
+    /**
+     * 指定した座標にあるカードの番号を返す。
+     *
+     * @param x X座標
+     * @param y Y座標
+     * @return カードの番号、カードの上でない場合（隙間や余白を含む）は-1
+     */
+    public int indexAt(int x, int y) {
+        int width = cellWidth();
+        int height = cellHeight();
+        int localX = x - PADDING.left;
+        int localY = y - PADDING.top;
+        if (localX < 0 || localY < 0) {
+            return -1;
+        }
+        int column = localX / (width + GAP);
+        int row = localY / (height + GAP);
+        if (column >= columns || localX % (width + GAP) >= width || localY % (height + GAP) >= height) {
+            return -1;
+        }
+        int index = row * columns + column;
+        return index < cards.size() ? index : -1;
+    }
+
+    private void setHoveredIndex(int index) {
+        if (hoveredIndex == index) {
+            return;
+        }
+        if (hoveredIndex >= 0 && hoveredIndex < cards.size()) {
+            repaint(getCellBounds(hoveredIndex));
+        }
+        hoveredIndex = index;
+        if (index >= 0) {
+            repaint(getCellBounds(index));
+        }
+    }
+
+    // --- 描画 ---
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (cards.isEmpty()) {
+            return;
+        }
+
+        updateVisibleImages(getVisibleRect());
+
+        // 描画範囲に重なる行だけを描画する
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        int width = cellWidth();
+        int height = cellHeight();
+        int rowHeight = height + GAP;
+        int firstRow = Math.max(0, (clip.y - PADDING.top) / rowHeight);
+        int lastRow = Math.min(rowCount() - 1, (clip.y + clip.height - PADDING.top) / rowHeight);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = 0; column < columns; column++) {
+                int index = row * columns + column;
+                if (index >= cards.size()) {
+                    break;
+                }
+                CardModel card = cards.get(index);
+                int x = PADDING.left + column * (width + GAP);
+                int y = PADDING.top + row * rowHeight;
+                BufferedImage sprite = spriteCache.getSprite(
+                    card, cardImage(card), width, height, index == hoveredIndex, getGraphicsConfiguration());
+                g.drawImage(sprite, x, y, null);
+            }
+        }
+    }
+
+    /**
+     * 表示中の行のカード画像を取得して固定し、表示されなくなった行の画像の固定を解除する。
+     * スクロールなどで表示中の行が変わった場合だけ処理する。
+     *
+     * @param visible 表示中の範囲
+     */
+    void updateVisibleImages(Rectangle visible) {
+        int rowHeight = cellHeight() + GAP;
+        int firstRow = Math.max(0, (visible.y - PADDING.top) / rowHeight);
+        int lastRow = Math.min(rowCount() - 1, (visible.y + visible.height - PADDING.top) / rowHeight);
+        if (visible.isEmpty()) {
+            lastRow = firstRow - 1;
+        }
+        if (visibleImagesValid && firstRow == visibleFirstRow && lastRow == visibleLastRow) {
+            return;
+        }
+
+        ImageCache imageCache = ImageLoader.getCache();
+        Map<String, ImageHandle> stillVisible = new HashMap<>();
+        int end = Math.min(cards.size(), (lastRow + 1) * columns);
+        for (int index = firstRow * columns; index < end; index++) {
+            String imageName = cards.get(index).imageName();
+            if (imageName == null || imageName.isEmpty() || stillVisible.containsKey(imageName)) {
+                continue;
+            }
+            ImageHandle handle = visibleImages.remove(imageName);
+            if (handle == null) {
+                handle = ImageLoader.loadCardImageAsync(imageName);
+                imageCache.pin(handle);
+            }
+            stillVisible.put(imageName, handle);
+        }
+        releaseVisibleImages();
+        visibleImages.putAll(stillVisible);
+        visibleFirstRow = firstRow;
+        visibleLastRow = lastRow;
+        visibleImagesValid = true;
+    }
+
+    /**
+     * 固定しているカード画像をすべて解除する。
+     */
+    private void releaseVisibleImages() {
+        ImageCache imageCache = ImageLoader.getCache();
+        for (ImageHandle handle : visibleImages.values()) {
+            imageCache.unpin(handle);
+        }
+        visibleImages.clear();
+        visibleImagesValid = false;
+    }
+
+    @Override
+    public void removeNotify() {
+        releaseVisibleImages();
+        super.removeNotify();
+    }
+
+    /**
+     * カード画像を取得する。読み込み中の場合は、届いたときに再描画するよう登録してnullを返す。
+     * 表示中の行の画像は保持しているハンドルから取得し、キャッシュへの問い合わせを描画のたびに繰り返さない。
+     */
+    private MipImage cardImage(CardModel card) {
+        ImageHandle handle = visibleImages.get(card.imageName());
+        if (handle == null) {
+            handle = ImageLoader.loadCardImageAsync(card.imageName());
+        }
+        if (handle == null) {
+            return null;
+        }
+        MipImage image = handle.getNow();
+        if (image == null && pendingImages.add(card.imageName())) {
+            handle.whenLoaded(loaded -> onImageLoaded(card.imageName()));
+        }
+        return image;
+    }
+
+    /**
+     * 画像が届いたときに呼び出される。
+     * 画像つきのスプライトで再描画する（プレースホルダーのスプライトは他のビューと共有しているため破棄しない）。
+     */
+    private void onImageLoaded(String imageName) {
+        pendingImages.remove(imageName);
+        repaint();
+    }
+
+    // --- Scrollable実装 ---
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        int rows = rowCount();
+        int height = PADDING.top + PADDING.bottom + rows * cellHeight() + Math.max(0, rows - 1) * GAP;
+        return new Dimension(basePreferredWidth(), height);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return UNIT_INCREMENT;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    // --- Previewable実装 ---
+
+    @Override
+    public String getPreviewDescription() {
+        return "カードを格子状に並べるコンポーネント。表示中の行だけを描画する。";
+    }
+
+    @Override
+    public void setupPreview() {
+        List<CardModel> sample = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sample.add(new CardModel("カード" + (i + 1), i % 10, "sample.jpg", "プレビュー用のカードです。"));
+        }
+        setCards(sample);
+        setCardClickListener(e -> System.out.println("Card clicked: " + ((CardModel) e.getSource()).name()));
+    }
+}
@@ -0,0 +1,295 @@
+package com.miozune.mediapro.card;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import com.miozune.mediapro.util.Fonts;
+import com.miozune.mediapro.util.MipImage;
+import com.miozune.mediapro.util.TextWrapper;
+
+/**
+ * カード1枚分の見た目を描画するクラス。
+ * 枠、画像、カード名、説明文、コストを指定した矩形に描画する。
+ * <p>
+ * 描画結果は {@link CardSpriteCache} にキャッシュされるため、
+ * 通常は {@link CardView} から直接呼び出さず、キャッシュ経由で利用する。
+ * <p>
+ * 枠やコストの背景などの装飾とカード画像は {@link CardAtlas} から描画する。
+ */
+public final class CardRenderer {
+
+    /** 基準となるカードの幅（各要素の大きさはこの幅に対する比率で決める） */
+    static final int BASE_WIDTH = 150;
+
+    /** 基準となるカードの高さ */
+    static final int BASE_HEIGHT = 210;
+
+    /** カードの角の丸み */
+    private static final int CORNER_RADIUS = 12;
+
+    /** カードの枠線の太さ */
+    private static final int BORDER_WIDTH = 2;
+
+    /** カードの背景色 */
+    private static final Color CARD_BACKGROUND = new Color(250, 245, 235);
+
+    /** カードの枠線色 */
+    private static final Color CARD_BORDER = new Color(60, 60, 60);
+
+    /** ホバー中の枠線色 */
+    private static final Color HOVER_BORDER = new Color(255, 190, 40);
+
+    /** 画像エリアの背景色 */
+    private static final Color IMAGE_BACKGROUND = new Color(220, 220, 220);
+
+    /** 画像がない場合のプレースホルダーの文字色 */
+    private static final Color PLACEHOLDER_COLOR = new Color(180, 180, 180);
+
+    /** 説明文の文字色 */
+    private static final Color DESCRIPTION_COLOR = new Color(60, 60, 60);
+
+    /** コスト表示の背景色 */
+    private static final Color COST_BACKGROUND = new Color(65, 105, 225);
+
+    /** コスト表示の文字色 */
+    private static final Color COST_TEXT_COLOR = Color.WHITE;
+
+    private CardRenderer() {}
+
+    /**
+     * カードを描画する。
+     *
+     * @param g2d 描画先
+     * @param card カードデータ
+     * @param cardImage カード画像（ない場合はnull）
+     * @param x X座標
+     * @param y Y座標
+     * @param width カードの幅
+     * @param height カードの高さ
+     * @param hovered ホバー中の見た目で描画するかどうか
+     */
+    public static void paint(Graphics2D g2d, CardModel card, MipImage cardImage,
+            int x, int y, int width, int height, boolean hovered) {
+        // アンチエイリアシングを有効化
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        CardAtlas atlas = CardAtlas.getShared();
+
+        // カード背景と枠線
+        atlas.drawChrome(g2d, hovered ? CardAtlas.FRAME_HOVERED : CardAtlas.FRAME, x, y, width, height);
+
+        // 内部のパディング
+        int padding = width / 12;
+        int innerX = x + padding;
+        int innerWidth = width - padding * 2;
+
+        // 画像エリアの高さ（カード高さの約45%）
+        int imageAreaY = y + padding;
+        int imageAreaHeight = (int) (height * 0.45);
+
+        // 画像を描画
+        drawCardImage(g2d, atlas, card, cardImage, innerX, imageAreaY, innerWidth, imageAreaHeight);
+
+        // カード名を描画
+        int nameY = imageAreaY + imageAreaHeight + padding / 2;
+        int nameHeight = (int) (height * 0.12);
+        drawCardName(g2d, card, innerX, nameY, innerWidth, nameHeight, width);
+
+        // 説明文を描画
+        int descY = nameY + nameHeight + padding / 4;
+        int descHeight = y + height - descY - padding;
+        drawDescription(g2d, card, innerX, descY, innerWidth, descHeight, width);
+
+        // コストを描画（左上）
+        drawCost(g2d, atlas, card, x, y, width);
+    }
+
+    /**
+     * カードの背景と枠線を描画する。
+     * {@link CardAtlas} が装飾を作成する際に呼び出す。
+     *
+     * @param g2d 描画先
+     * @param x X座標
+     * @param y Y座標
+     * @param width カードの幅
+     * @param height カードの高さ
+     * @param hovered ホバー中の見た目で描画するかどうか
+     */
+    static void paintFrame(Graphics2D g2d, int x, int y, int width, int height, boolean hovered) {
+        int cornerRadius = (int) (CORNER_RADIUS * width / (double) BASE_WIDTH);
+
+        // カード背景
+        g2d.setColor(CARD_BACKGROUND);
+        g2d.fillRoundRect(x, y, width, height, cornerRadius, cornerRadius);
+
+        // カード枠線（ホバー中は太く強調する）
+        int borderWidth = Math.max(1, (int) (BORDER_WIDTH * width / (double) BASE_WIDTH));
+        if (hovered) {
+            borderWidth *= 2;
+        }
+        g2d.setColor(hovered ? HOVER_BORDER : CARD_BORDER);
+        g2d.setStroke(new BasicStroke(borderWidth));
+        int inset = hovered ? borderWidth / 2 : 0;
+        g2d.drawRoundRect(x + inset, y + inset, width - 1 - inset * 2, height - 1 - inset * 2,
+            cornerRadius, cornerRadius);
+        g2d.setStroke(new BasicStroke(1));
+    }
+
+    /**
+     * コスト表示の背景（円と枠線）を描画する。
+     * {@link CardAtlas} が装飾を作成する際に呼び出す。
+     *
+     * @param g2d 描画先
+     * @param x X座標
+     * @param y Y座標
+     * @param size 円の直径
+     */
+    static void paintCostBadge(Graphics2D g2d, int x, int y, int size) {
+        // 枠線が画像の外にはみ出さないよう、線の太さの半分だけ内側に描画する
+        int stroke = Math.max(1, size / 15);
+        int inset = (stroke + 1) / 2;
+
+        g2d.setColor(COST_BACKGROUND);
+        g2d.fillOval(x + inset, y + inset, size - inset * 2, size - inset * 2);
+
+        g2d.setColor(Color.WHITE);
+        g2d.setStroke(new BasicStroke(stroke));
+        g2d.drawOval(x + inset, y + inset, size - inset * 2, size - inset * 2);
+        g2d.setStroke(new BasicStroke(1));
+    }
+
+    /**
+     * カードの幅に対するコスト表示の直径を求める。
+     *
+     * @param cardWidth カードの幅
+     * @return コスト表示の直径
+     */
+    static int costBadgeSize(int cardWidth) {
+        return cardWidth / 4;
+    }
+
+    /**
+     * カード画像を描画する。
+     */
+    private static void drawCardImage(Graphics2D g2d, CardAtlas atlas, CardModel card, MipImage cardImage,
+            int x, int y, int width, int height) {
+        // 画像エリアの背景
+        g2d.setColor(IMAGE_BACKGROUND);
+        g2d.fillRect(x, y, width, height);
+
+        if (cardImage != null) {
+            // 画像をアスペクト比を維持してフィット
+            double imgAspect = (double) cardImage.getWidth() / cardImage.getHeight();
+            double areaAspect = (double) width / height;
+
+            int drawWidth, drawHeight, drawX, drawY;
+            if (imgAspect > areaAspect) {
+                drawWidth = width;
+                drawHeight = (int) (width / imgAspect);
+                drawX = x;
+                drawY = y + (height - drawHeight) / 2;
+            } else {
+                drawHeight = height;
+                drawWidth = (int) (height * imgAspect);
+                drawX = x + (width - drawWidth) / 2;
+                drawY = y;
+            }
+
+            // アトラスから描画できなければ、描画サイズに最も近い縮小済みの画像から描画する
+            if (!atlas.drawArt(g2d, card.imageName(), cardImage, drawX, drawY, drawWidth, drawHeight)) {
+                BufferedImage source = cardImage.getLevel(drawWidth, drawHeight);
+                g2d.drawImage(source, drawX, drawY, drawWidth, drawHeight, null);
+            }
+        } else {
+            // 画像がない場合はプレースホルダーを表示
+            g2d.setColor(PLACEHOLDER_COLOR);
+            Font font = Fonts.scaled(Font.SANS_SERIF, Font.PLAIN, Math.max(10, width / 8));
+            g2d.setFont(font);
+            String placeholder = "No Image";
+            FontMetrics fm = Fonts.metrics(font);
+            int textX = x + (width - fm.stringWidth(placeholder)) / 2;
+            int textY = y + (height + fm.getAscent()) / 2;
+            g2d.drawString(placeholder, textX, textY);
+        }
+
+        // 画像エリアの枠線
+        g2d.setColor(CARD_BORDER);
+        g2d.drawRect(x, y, width, height);
+    }
+
+    /**
+     * カード名を描画する。
+     */
+    private static void drawCardName(Graphics2D g2d, CardModel card, int x, int y, int width, int height,
+            int cardWidth) {
+        g2d.setColor(Color.BLACK);
+        int fontSize = Math.max(10, cardWidth / 10);
+        Font font = Fonts.scaled(Font.SANS_SERIF, Font.BOLD, fontSize);
+        g2d.setFont(font);
+
+        FontMetrics fm = Fonts.metrics(font);
+
+        // テキストが幅を超える場合は省略
+        String name = TextWrapper.truncate(card.name(), fm, width);
+
+        int textX = x + (width - fm.stringWidth(name)) / 2;
+        int textY = y + (height + fm.getAscent()) / 2 - fm.getDescent() / 2;
+        g2d.drawString(name, textX, textY);
+    }
+
+    /**
+     * 説明文を描画する。
+     */
+    private static void drawDescription(Graphics2D g2d, CardModel card, int x, int y, int width, int height,
+            int cardWidth) {
+        g2d.setColor(DESCRIPTION_COLOR);
+        int fontSize = Math.max(8, cardWidth / 14);
+        Font font = Fonts.scaled(Font.SANS_SERIF, Font.PLAIN, fontSize);
+        g2d.setFont(font);
+
+        FontMetrics fm = Fonts.metrics(font);
+
+        // 複数行に折り返して描画（収まらない場合は最終行を省略）
+        int lineHeight = fm.getHeight();
+        int maxLines = height / lineHeight;
+        TextWrapper.WrappedText wrapped = TextWrapper.wrap(card.description(), fm, width, maxLines);
+
+        int currentY = y + fm.getAscent();
+        for (String line : wrapped.lines()) {
+            g2d.drawString(line, x, currentY);
+            currentY += lineHeight;
+        }
+    }
+
+    /**
+     * コストを描画する。
+     */
+    private static void drawCost(Graphics2D g2d, CardAtlas atlas, CardModel card, int cardX, int cardY,
+            int cardWidth) {
+        int size = costBadgeSize(cardWidth);
+        int x = cardX + cardWidth / 20;
+        int y = cardY + cardWidth / 20;
+
+        // コスト背景（円と枠線）
+        atlas.drawChrome(g2d, CardAtlas.COST_BADGE, x, y, size, size);
+
+        // コスト数値
+        g2d.setColor(COST_TEXT_COLOR);
+        int fontSize = Math.max(10, size * 2 / 3);
+        Font font = Fonts.scaled(Font.SANS_SERIF, Font.BOLD, fontSize);
+        g2d.setFont(font);
+
+        String costStr = String.valueOf(card.cost());
+        FontMetrics fm = Fonts.metrics(font);
+        int textX = x + (size - fm.stringWidth(costStr)) / 2;
+        int textY = y + (size + fm.getAscent()) / 2 - fm.getDescent() / 2;
+        g2d.drawString(costStr, textX, textY);
+    }
+}
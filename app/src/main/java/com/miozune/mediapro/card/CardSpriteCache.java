@@ -0,0 +1,269 @@
+package com.miozune.mediapro.card;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.miozune.mediapro.util.MipImage;
+
+/**
+ * 描画済みのカード画像（スプライト）を保持するキャッシュ。
+ * カードは (CardModel, 幅, 高さ, ホバー状態, 画像の有無) ごとに一度だけ {@link CardRenderer} で
+ * 画面と互換性のある画像へ描画され、以降はその画像を転送するだけで表示できる。
+ * <p>
+ * 同じカードを表示する複数のビューが同じスプライトを共有する。画像が届く前のプレースホルダーの
+ * スプライトは画像つきのものと別に保持するため、ビューは画像の到着やサイズ変更のたびに破棄しなくてよい。
+ * 使われなくなったスプライトは容量の上限に達した時に古いものから破棄される。
+ * <p>
+ * 保持する画像の合計バイト数が上限を超えると、最も長く使われていないものから破棄する。
+ * Swingのコンポーネントから使うことを想定し、EDTから呼び出すこと。
+ */
+public class CardSpriteCache {
+
+    /** 共有キャッシュのデフォルトの容量（バイト） */
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    /** 1ピクセルあたりのバイト数（ARGB） */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /** アプリケーション全体で共有するキャッシュ */
+    private static final CardSpriteCache SHARED = new CardSpriteCache(DEFAULT_MAX_BYTES);
+
+    /**
+     * キャッシュのキー。
+     *
+     * @param card カードデータ
+     * @param width カードの幅（ピクセル）
+     * @param height カードの高さ（ピクセル）
+     * @param hovered ホバー状態
+     * @param withImage カード画像つきで描画したか（falseはプレースホルダー）
+     */
+    private record Key(CardModel card, int width, int height, boolean hovered, boolean withImage) {}
+
+    /** アクセス順に並ぶスプライトの一覧（先頭が最も長く使われていない） */
+    private final LinkedHashMap<Key, BufferedImage> sprites = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final long maxBytes;
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * 容量を指定してキャッシュを作成する。
+     *
+     * @param maxBytes 保持する画像の合計バイト数の上限
+     */
+    public CardSpriteCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * アプリケーション全体で共有するキャッシュを取得する。
+     *
+     * @return 共有キャッシュ
+     */
+    public static CardSpriteCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * カードのスプライトを取得する。
+     * キャッシュにない場合は描画して追加する。
+     *
+     * @param card カードデータ
+     * @param cardImage カード画像（ない場合はnull）
+     * @param width カードの幅（ピクセル）
+     * @param height カードの高さ（ピクセル）
+     * @param hovered ホバー状態
+     * @param gc 描画先の画面設定（nullの場合はデフォルトの画面）
+     * @return 描画済みのスプライト
+     */
+    public BufferedImage getSprite(CardModel card, MipImage cardImage, int width, int height,
+            boolean hovered, GraphicsConfiguration gc) {
+        Key key = new Key(card, width, height, hovered, cardImage != null);
+        BufferedImage sprite = sprites.get(key);
+        if (sprite != null) {
+            hits++;
+            return sprite;
+        }
+
+        misses++;
+        sprite = render(card, cardImage, width, height, hovered, gc);
+        long bytes = sizeOf(sprite);
+        // 容量を超える大きさのスプライトはキャッシュせずに返す
+        if (bytes <= maxBytes) {
+            sprites.put(key, sprite);
+            usedBytes += bytes;
+            trimTo(maxBytes);
+        }
+        return sprite;
+    }
+
+    /**
+     * スプライトを描画する。
+     */
+    private static BufferedImage render(CardModel card, MipImage cardImage, int width, int height,
+            boolean hovered, GraphicsConfiguration gc) {
+        BufferedImage sprite;
+        if (gc == null && !GraphicsEnvironment.isHeadless()) {
+            gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        if (gc != null) {
+            sprite = gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        } else {
+            sprite = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        Graphics2D g2d = sprite.createGraphics();
+        try {
+            CardRenderer.paint(g2d, card, cardImage, 0, 0, width, height, hovered);
+        } finally {
+            g2d.dispose();
+        }
+        return sprite;
+    }
+
+    /**
+     * 指定した大きさで描画されたカードのスプライトを破棄する。
+     * 他のビューが使っている可能性があるため、個々のビューからは呼び出さないこと。
+     *
+     * @param card カードデータ
+     * @param width カードの幅（ピクセル）
+     * @param height カードの高さ（ピクセル）
+     */
+    public void evict(CardModel card, int width, int height) {
+        for (boolean hovered : new boolean[] {false, true}) {
+            remove(new Key(card, width, height, hovered, false));
+            remove(new Key(card, width, height, hovered, true));
+        }
+    }
+
+    /**
+     * カードのすべての大きさのスプライトを破棄する。
+     * カードの描画内容そのものが変わった場合に呼び出す。
+     *
+     * @param card カードデータ
+     */
+    public void evictAll(CardModel card) {
+        Iterator<Map.Entry<Key, BufferedImage>> it = sprites.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, BufferedImage> entry = it.next();
+            if (entry.getKey().card().equals(card)) {
+                usedBytes -= sizeOf(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * すべてのスプライトを破棄する。
+     */
+    public void clear() {
+        sprites.clear();
+        usedBytes = 0;
+    }
+
+    /**
+     * キーに対応するスプライトを破棄する。
+     */
+    private void remove(Key key) {
+        BufferedImage removed = sprites.remove(key);
+        if (removed != null) {
+            usedBytes -= sizeOf(removed);
+        }
+    }
+
+    /**
+     * 合計バイト数が指定値以下になるまで、最も長く使われていないスプライトから破棄する。
+     */
+    private void trimTo(long limit) {
+        Iterator<BufferedImage> it = sprites.values().iterator();
+        while (usedBytes > limit && it.hasNext()) {
+            usedBytes -= sizeOf(it.next());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * 画像が占めるおおよそのバイト数を計算する。
+     */
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    // --- 統計 ---
+
+    /**
+     * キャッシュにあったために描画を省略できた回数を取得する。
+     *
+     * @return ヒット数
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * キャッシュになかったために描画した回数を取得する。
+     *
+     * @return ミス数
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 容量超過のために破棄したスプライトの数を取得する。
+     *
+     * @return 破棄数
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * 保持しているスプライトの数を取得する。
+     *
+     * @return スプライトの数
+     */
+    public int size() {
+        return sprites.size();
+    }
+
+    /**
+     * 保持しているスプライトの合計バイト数を取得する。
+     *
+     * @return 合計バイト数
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * 保持できる合計バイト数の上限を取得する。
+     *
+     * @return 上限のバイト数
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * ヒット数とミス数をリセットする。
+     */
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+}
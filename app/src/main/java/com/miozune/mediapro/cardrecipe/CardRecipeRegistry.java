@@ -0,0 +1,147 @@
+package com.miozune.mediapro.cardrecipe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CardRecipeModel} に連番のIDを割り当てる登録簿。
+ * 同じ内容のカードには同じIDを返すため、IDを配列の添字として枚数などを保持できる。
+ * <p>
+ * 同じインスタンスで繰り返し引く場合は、レコードのハッシュ値（説明文を含む全項目から計算する）を
+ * 求めずに、インスタンスの同一性だけでIDを引ける。
+ * <p>
+ * すべてのメソッドはどのスレッドからでも呼び出せる。
+ */
+public final class CardRecipeRegistry {
+
+    /** インスタンスの同一性による索引の初期容量（2の累乗） */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** 内容の等しさによる索引（新しいインスタンスで引かれた場合に使う） */
+    private static final Map<CardRecipeModel, Integer> BY_VALUE = new HashMap<>();
+
+    /** IDごとのカード（最初に登録されたインスタンス） */
+    private static final List<CardRecipeModel> BY_ID = new ArrayList<>();
+
+    /** インスタンスの同一性による索引（開番地法。キーとIDを同じ添字に格納する） */
+    private static CardRecipeModel[] identityKeys = new CardRecipeModel[INITIAL_CAPACITY];
+    private static int[] identityIds = new int[INITIAL_CAPACITY];
+    private static int identitySize;
+
+    private CardRecipeRegistry() {}
+
+    /**
+     * カードのIDを取得する。未登録の場合は新しいIDを割り当てる。
+     *
+     * @param card カード
+     * @return 0から始まる連番のID
+     */
+    public static synchronized int idOf(CardRecipeModel card) {
+        int known = findIdentity(card);
+        if (known >= 0) {
+            return known;
+        }
+
+        Integer id = BY_VALUE.get(card);
+        if (id == null) {
+            id = BY_ID.size();
+            BY_ID.add(card);
+            BY_VALUE.put(card, id);
+        }
+        putIdentity(card, id);
+        return id;
+    }
+
+    /**
+     * 登録済みのカードのIDを取得する。未登録の場合もIDは割り当てない。
+     *
+     * @param card カード
+     * @return ID、未登録の場合は-1
+     */
+    public static synchronized int find(CardRecipeModel card) {
+        int known = findIdentity(card);
+        if (known >= 0) {
+            return known;
+        }
+        Integer id = BY_VALUE.get(card);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * 同一性による索引からIDを引く。
+     *
+     * @return ID、索引にない場合は-1
+     */
+    private static int findIdentity(CardRecipeModel card) {
+        int mask = identityKeys.length - 1;
+        int slot = System.identityHashCode(card) & mask;
+        while (identityKeys[slot] != null) {
+            if (identityKeys[slot] == card) {
+                return identityIds[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 同一性による索引にインスタンスを登録する。
+     * 同じ内容の別インスタンスが大量に作られて索引が膨らんだ場合は、登録済みのカードだけで作り直す。
+     */
+    private static void putIdentity(CardRecipeModel card, int id) {
+        if ((identitySize + 1) * 2 > identityKeys.length) {
+            if (identitySize >= BY_ID.size() * 4) {
+                // 別インスタンスの登録が多すぎるため、最初に登録されたインスタンスだけを残す
+                rebuildIdentity(identityKeys.length);
+            } else {
+                rebuildIdentity(identityKeys.length * 2);
+            }
+        }
+        insertIdentity(card, id);
+    }
+
+    private static void rebuildIdentity(int capacity) {
+        identityKeys = new CardRecipeModel[capacity];
+        identityIds = new int[capacity];
+        identitySize = 0;
+        for (int id = 0; id < BY_ID.size(); id++) {
+            insertIdentity(BY_ID.get(id), id);
+        }
+    }
+
+    private static void insertIdentity(CardRecipeModel card, int id) {
+        int mask = identityKeys.length - 1;
+        int slot = System.identityHashCode(card) & mask;
+        while (identityKeys[slot] != null) {
+            if (identityKeys[slot] == card) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        identityKeys[slot] = card;
+        identityIds[slot] = id;
+        identitySize++;
+    }
+
+    /**
+     * IDに対応するカードを取得する。
+     *
+     * @param id カードのID
+     * @return カード
+     * @throws IndexOutOfBoundsException 割り当てられていないIDの場合
+     */
+    public static synchronized CardRecipeModel get(int id) {
+        return BY_ID.get(id);
+    }
+
+    /**
+     * 割り当て済みのIDの数を取得する。
+     *
+     * @return IDの数（次に割り当てるID）
+     */
+    public static synchronized int size() {
+        return BY_ID.size();
+    }
+}
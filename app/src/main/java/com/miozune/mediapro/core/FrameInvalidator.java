@@ -0,0 +1,145 @@
+package com.miozune.mediapro.core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * オンデマンド描画のために、画面の再描画が必要かどうかを管理するクラス。
+ * Modelの変更や入力、アニメーションによって「ダーティ」状態になり、
+ * ゲームループはダーティなフレームだけを描画する。
+ * <p>
+ * {@link #invalidate()} はどのスレッドからでも呼び出せる。
+ */
+public class FrameInvalidator {
+
+    /** 次のフレームを描画する必要があるか（初回は必ず描画する） */
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    /** 実行中のアニメーション数。1以上の間は毎フレーム描画する */
+    private final AtomicInteger activeAnimations = new AtomicInteger();
+
+    /** {@link #awaitInvalidation(long)} で待機中のスレッド */
+    private volatile Thread waiter;
+
+    /** 描画したフレーム数 */
+    private volatile long renderedFrames;
+
+    /** 描画をスキップしたフレーム数 */
+    private volatile long skippedFrames;
+
+    /**
+     * 次のフレームの再描画を要求する。
+     */
+    public void invalidate() {
+        dirty.set(true);
+        Thread w = waiter;
+        if (w != null) {
+            LockSupport.unpark(w);
+        }
+    }
+
+    /**
+     * アニメーションの開始を通知する。
+     * {@link #endAnimation()} が呼ばれるまで毎フレーム描画される。
+     */
+    public void beginAnimation() {
+        activeAnimations.incrementAndGet();
+        invalidate();
+    }
+
+    /**
+     * アニメーションの終了を通知する。
+     */
+    public void endAnimation() {
+        activeAnimations.updateAndGet(count -> Math.max(0, count - 1));
+        // 最終状態を描画するためにもう1フレーム描画する
+        invalidate();
+    }
+
+    /**
+     * 再描画が必要な状態かどうかを返す。
+     * 状態は変更しない。
+     *
+     * @return ダーティ、またはアニメーション中の場合はtrue
+     */
+    public boolean isPending() {
+        return dirty.get() || activeAnimations.get() > 0;
+    }
+
+    /**
+     * フレームの描画を開始してよいかを判定し、ダーティ状態を消費する。
+     * ゲームループの描画処理の先頭で1フレームに1回呼び出す。
+     *
+     * @return 描画する場合はtrue、スキップする場合はfalse
+     */
+    public boolean beginFrame() {
+        boolean wasDirty = dirty.getAndSet(false);
+        if (wasDirty || activeAnimations.get() > 0) {
+            renderedFrames++;
+            return true;
+        }
+        skippedFrames++;
+        return false;
+    }
+
+    /**
+     * 再描画が要求されるまで、呼び出したスレッドを待機させる。
+     * 要求がなくても最大待機時間が経過すると戻る。
+     *
+     * @param maxWaitNanos 最大待機時間（ナノ秒）
+     */
+    public void awaitInvalidation(long maxWaitNanos) {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        waiter = Thread.currentThread();
+        try {
+            long remaining;
+            while (!isPending() && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
+    /**
+     * 描画したフレーム数を取得する。
+     *
+     * @return 描画したフレーム数
+     */
+    public long getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    /**
+     * 描画をスキップしたフレーム数を取得する。
+     *
+     * @return スキップしたフレーム数
+     */
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+
+    /**
+     * フレーム数のカウンターをリセットする。
+     */
+    public void resetCounters() {
+        renderedFrames = 0;
+        skippedFrames = 0;
+    }
+
+    // --- Modelの監視 ---
+
+    /**
+     * GameModelの変更を監視し、変更時に再描画を要求する。
+     *
+     * @param model 監視するModel
+     */
+    public void watch(GameModel model) {
+        model.addPropertyChangeListener(event -> invalidate());
+    }
+}
@@ -1,18 +1,63 @@
 package com.miozune.mediapro.core;
 
+import com.miozune.mediapro.metrics.FrameMetrics;
+
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.swing.SwingUtilities;
 
 /**
  * ゲームの入力処理とゲームループの管理を行うコントローラークラス。
+ * <p>
+ * 入力はAWTのイベントから直接ではなく、プリミティブな値（{@link InputType}、キーコード、座標）として
+ * 処理する。これにより、ウィンドウを持たないヘッドレス実行でも、{@link InputSource} から
+ * スクリプト化された入力を与えて同じロジックを動かせる。
+ * <p>
+ * ウィンドウからの入力はAWTのコールバック内では処理せず、{@link InputQueue} に蓄えて
+ * 各ティックの開始時にまとめて処理する。処理した入力は {@link InputRecorder} で記録でき、
+ * {@link InputReplay} で同じティックに再生できる。
  */
 public class GameController {
     
+    /** 入力キューの容量（1ティックの間に溜まりうる入力数より十分大きくする） */
+    private static final int INPUT_QUEUE_CAPACITY = 1024;
+    
     private final GameModel model;
     private final GameWindow window;
     private final GameLoop gameLoop;
+    private final FrameInvalidator frameInvalidator;
+    private final FrameMetrics frameMetrics;
+    
+    /** 変更があったフレームだけを描画するかどうか */
+    private final boolean onDemandRendering;
+    
+    /** 各ティックの開始時に入力を供給する入力源（nullの場合はなし） */
+    private final InputSource inputSource;
+    
+    /** ウィンドウからの入力を蓄えるキュー（ヘッドレス実行の場合はnull） */
+    private final InputQueue inputQueue;
+    
+    /** ウィンドウからの入力を処理するかどうか（再生中は無視する） */
+    private final boolean liveInput;
+    
+    /** 入力源からの入力の受け取り先（ティックごとにラムダを生成しないよう保持する） */
+    private final InputSink inputSink = this::dispatchInput;
+    
+    /** 処理した入力の記録先（nullの場合は記録しない） */
+    private InputRecorder inputRecorder;
+    
+    /** 現在処理中のティック番号 */
+    private long currentTick;
+    
+    /** 計測値のオーバーレイを表示するかどうか（入力を処理するスレッドが持つ） */
+    private boolean metricsOverlayVisible;
     
     /**
      * GameControllerを初期化する。
@@ -21,11 +66,76 @@ public class GameController {
      * @param window ゲームウィンドウ
      */
     public GameController(GameModel model, GameWindow window) {
+        this(model, window, GameOptions.defaults());
+    }
+    
+    /**
+     * 実行オプションを指定してGameControllerを初期化する。
+     * ゲームループの方式はオプションに従って選択される。
+     *
+     * @param model ゲームモデル
+     * @param window ゲームウィンドウ
+     * @param options 実行オプション
+     */
+    public GameController(GameModel model, GameWindow window, GameOptions options) {
+        this(model, window, options, null);
+    }
+    
+    /**
+     * ウィンドウを持たないヘッドレスのGameControllerを初期化する。
+     * ゲームループはオプションで指定した更新回数の上限と速度倍率で実行される。
+     *
+     * @param model ゲームモデル
+     * @param options 実行オプション（ループ方式はHEADLESSであること）
+     * @param inputSource 入力源（入力を与えない場合はnull）
+     * @throws IllegalArgumentException ループ方式がHEADLESSでない場合
+     */
+    public GameController(GameModel model, GameOptions options, InputSource inputSource) {
+        this(model, null, options, inputSource);
+    }
+    
+    /**
+     * 入力源を指定してGameControllerを初期化する。
+     * ウィンドウがある場合、入力源を指定しなければウィンドウのキーボードとマウスから入力を受け取る。
+     * 入力源を指定した場合（記録の再生など）は、ウィンドウからの入力は無視される。
+     *
+     * @param model ゲームモデル
+     * @param window ゲームウィンドウ（ヘッドレス実行の場合はnull）
+     * @param options 実行オプション
+     * @param inputSource 入力源（ない場合はnull）
+     * @throws IllegalArgumentException ウィンドウの有無とループ方式が合わない場合
+     */
+    public GameController(GameModel model, GameWindow window, GameOptions options, InputSource inputSource) {
+        if ((window == null) != options.headless()) {
+            throw new IllegalArgumentException(
+                "A window is required unless the loop mode is HEADLESS: " + options.loopMode());
+        }
+        
         this.model = model;
         this.window = window;
-        this.gameLoop = new GameLoop(this::update);
+        this.inputQueue = window != null ? new InputQueue(INPUT_QUEUE_CAPACITY) : null;
+        this.liveInput = window != null && inputSource == null;
+        this.inputSource = liveInput ? inputQueue : inputSource;
+        this.gameLoop = new GameLoop(options.loopMode(), this::update, this::render);
+        this.frameInvalidator = new FrameInvalidator();
+        this.frameMetrics = new FrameMetrics();
+        this.onDemandRendering = options.onDemandRendering();
+        
+        gameLoop.setFrameMetrics(frameMetrics);
+        if (window != null) {
+            window.getPanel().setRenderMode(options.renderMode());
+            window.getPanel().setFrameMetrics(frameMetrics);
+            setupInputHandlers();
+            setupFrameInvalidation();
+        } else {
+            gameLoop.setTickLimit(options.tickLimit());
+            gameLoop.setTimeScale(options.timeScale());
+        }
+        
+        if (options.recordPath() != null) {
+            startRecording(options.recordPath());
+        }
         
-        setupInputHandlers();
         initializeGame();
     }
     
@@ -39,12 +149,12 @@ public class GameController {
         panel.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
-                handleKeyPressed(e);
+                enqueueInput(InputType.KEY_PRESSED, e.getKeyCode(), 0, 0);
             }
             
             @Override
             public void keyReleased(KeyEvent e) {
-                handleKeyReleased(e);
+                enqueueInput(InputType.KEY_RELEASED, e.getKeyCode(), 0, 0);
             }
         });
         
@@ -52,24 +162,24 @@ public class GameController {
         panel.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
-                handleMousePressed(e);
+                enqueueInput(InputType.MOUSE_PRESSED, 0, e.getX(), e.getY());
             }
             
             @Override
             public void mouseReleased(MouseEvent e) {
-                handleMouseReleased(e);
+                enqueueInput(InputType.MOUSE_RELEASED, 0, e.getX(), e.getY());
             }
         });
         
         panel.addMouseMotionListener(new MouseAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
-                handleMouseMoved(e);
+                enqueueInput(InputType.MOUSE_MOVED, 0, e.getX(), e.getY());
             }
             
             @Override
             public void mouseDragged(MouseEvent e) {
-                handleMouseDragged(e);
+                enqueueInput(InputType.MOUSE_DRAGGED, 0, e.getX(), e.getY());
             }
         });
         
@@ -77,6 +187,89 @@ public class GameController {
         panel.requestFocusInWindow();
     }
     
+    /**
+     * ウィンドウからの入力をキューに追加する。
+     * 入力はこの時点では処理せず、次のティックの開始時に処理される。
+     *
+     * @param type 入力の種類
+     * @param keyCode キーコード
+     * @param x マウスのX座標
+     * @param y マウスのY座標
+     */
+    private void enqueueInput(InputType type, int keyCode, int x, int y) {
+        if (!liveInput) {
+            return;
+        }
+        inputQueue.offer(type, keyCode, x, y, System.nanoTime());
+        // アイドル待機中のループを起こして入力を処理させる
+        frameInvalidator.invalidate();
+    }
+    
+    /**
+     * 処理した入力の記録を開始する。
+     * 記録ファイルを作成できない場合は警告を出力して記録しない。
+     *
+     * @param path 記録先のファイルパス
+     */
+    private void startRecording(Path path) {
+        try {
+            inputRecorder = new InputRecorder(path);
+            // ウィンドウを閉じて終了した場合も記録を書き出す
+            Runtime.getRuntime().addShutdownHook(new Thread(this::stopRecording, "InputRecorder-close"));
+        } catch (IOException e) {
+            System.err.println("Warning: Could not start input recording: " + path + " - " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 入力の記録を終了してファイルを閉じる。
+     */
+    private void stopRecording() {
+        InputRecorder recorder = inputRecorder;
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+        } catch (IOException e) {
+            System.err.println("Warning: Could not close input recording - " + e.getMessage());
+        }
+    }
+    
+    /**
+     * オンデマンド描画のための再描画要求をセットアップする。
+     * Modelの変更、入力、パネルのサイズ変更で再描画を要求する。
+     */
+    private void setupFrameInvalidation() {
+        if (!onDemandRendering) {
+            return;
+        }
+        
+        frameInvalidator.watch(model);
+        window.getPanel().addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                frameInvalidator.invalidate();
+            }
+            
+            @Override
+            public void componentShown(ComponentEvent e) {
+                frameInvalidator.invalidate();
+            }
+        });
+        gameLoop.enableIdleWait(frameInvalidator, this::isIdle);
+    }
+    
+    /**
+     * 更新処理が何もしない状態かどうかを返す。
+     * タイトル、一時停止、ゲームオーバーなどではゲームロジックの更新がない。
+     *
+     * @return 更新処理が不要な場合はtrue
+     */
+    private boolean isIdle() {
+        return model.getState() != GameState.PLAYING;
+    }
+    
     /**
      * ゲームを初期化する。
      */
@@ -89,6 +282,14 @@ public class GameController {
      * ゲームループの更新処理。
      */
     private void update() {
+        long updateStart = System.nanoTime();
+        
+        // このティックで処理する入力を先に適用する
+        currentTick = gameLoop.getTickCount();
+        if (inputSource != null) {
+            inputSource.poll(currentTick, inputSink);
+        }
+        
         // 状態に応じた更新処理
         switch (model.getState()) {
             case PLAYING -> updatePlaying();
@@ -98,8 +299,27 @@ public class GameController {
             }
         }
         
-        // 描画更新
-        window.getPanel().repaint();
+        frameMetrics.recordUpdate(System.nanoTime() - updateStart);
+    }
+    
+    /**
+     * ゲームループの描画処理。
+     *
+     * @param alpha 更新間の補間係数
+     */
+    private void render(double alpha) {
+        if (window == null) {
+            return;
+        }
+        
+        // オンデマンド描画では、変更のないフレームの描画をスキップする
+        if (onDemandRendering && !frameInvalidator.beginFrame()) {
+            return;
+        }
+        
+        GamePanel panel = window.getPanel();
+        panel.setInterpolation(alpha);
+        panel.presentFrame();
     }
     
     /**
@@ -117,12 +337,46 @@ public class GameController {
     }
     
     /**
-     * キー押下イベントを処理する。
+     * 入力を1件処理する。
+     * AWTのイベントと {@link InputSource} からの入力は、どちらもここを経由して各ハンドラーに渡される。
      *
-     * @param e キーイベント
+     * @param type 入力の種類
+     * @param keyCode キーコード
+     * @param x マウスのX座標
+     * @param y マウスのY座標
+     * @param timestampNanos 入力が発生した時刻
      */
-    protected void handleKeyPressed(KeyEvent e) {
-        switch (e.getKeyCode()) {
+    private void dispatchInput(InputType type, int keyCode, int x, int y, long timestampNanos) {
+        if (liveInput) {
+            frameMetrics.recordInputLatency(System.nanoTime() - timestampNanos);
+        }
+        if (inputRecorder != null) {
+            try {
+                inputRecorder.record(currentTick, type, keyCode, x, y, timestampNanos);
+            } catch (IOException e) {
+                System.err.println("Warning: Input recording stopped - " + e.getMessage());
+                stopRecording();
+                inputRecorder = null;
+            }
+        }
+        
+        switch (type) {
+            case KEY_PRESSED -> handleKeyPressed(keyCode);
+            case KEY_RELEASED -> handleKeyReleased(keyCode);
+            case MOUSE_PRESSED -> handleMousePressed(x, y);
+            case MOUSE_RELEASED -> handleMouseReleased(x, y);
+            case MOUSE_MOVED -> handleMouseMoved(x, y);
+            case MOUSE_DRAGGED -> handleMouseDragged(x, y);
+        }
+    }
+    
+    /**
+     * キー押下を処理する。
+     *
+     * @param keyCode キーコード（{@link KeyEvent} の VK_ 定数）
+     */
+    protected void handleKeyPressed(int keyCode) {
+        switch (keyCode) {
             case KeyEvent.VK_ESCAPE -> {
                 if (model.getState() == GameState.PLAYING) {
                     model.setState(GameState.PAUSED);
@@ -138,54 +392,167 @@ public class GameController {
                     model.setState(GameState.TITLE);
                 }
             }
+            case KeyEvent.VK_F3 -> toggleMetricsOverlay();
+        }
+    }
+    
+    /**
+     * 計測値のオーバーレイの表示を切り替える。
+     * 表示中は値を更新し続けるため、オンデマンド描画でも毎フレーム描画する。
+     * パネルの変更は、固定タイムステップのループから呼ばれた場合もEDTで行う。
+     */
+    private void toggleMetricsOverlay() {
+        if (window == null) {
+            return;
+        }
+        GamePanel panel = window.getPanel();
+        boolean visible = !metricsOverlayVisible;
+        metricsOverlayVisible = visible;
+        if (SwingUtilities.isEventDispatchThread()) {
+            panel.setMetricsOverlayVisible(visible);
+        } else {
+            SwingUtilities.invokeLater(() -> panel.setMetricsOverlayVisible(visible));
+        }
+        if (visible) {
+            frameInvalidator.beginAnimation();
+        } else {
+            frameInvalidator.endAnimation();
         }
     }
     
     /**
-     * キーリリースイベントを処理する。
+     * キーリリースを処理する。
      *
-     * @param e キーイベント
+     * @param keyCode キーコード（{@link KeyEvent} の VK_ 定数）
      */
-    protected void handleKeyReleased(KeyEvent e) {
+    protected void handleKeyReleased(int keyCode) {
         // サブクラスでオーバーライドして実装
     }
     
     /**
-     * マウス押下イベントを処理する。
+     * マウス押下を処理する。
      *
-     * @param e マウスイベント
+     * @param x X座標
+     * @param y Y座標
      */
-    protected void handleMousePressed(MouseEvent e) {
+    protected void handleMousePressed(int x, int y) {
         // サブクラスでオーバーライドして実装
     }
     
     /**
-     * マウスリリースイベントを処理する。
+     * マウスリリースを処理する。
      *
-     * @param e マウスイベント
+     * @param x X座標
+     * @param y Y座標
      */
-    protected void handleMouseReleased(MouseEvent e) {
+    protected void handleMouseReleased(int x, int y) {
         // サブクラスでオーバーライドして実装
     }
     
     /**
-     * マウス移動イベントを処理する。
+     * マウス移動を処理する。
      *
-     * @param e マウスイベント
+     * @param x X座標
+     * @param y Y座標
      */
-    protected void handleMouseMoved(MouseEvent e) {
+    protected void handleMouseMoved(int x, int y) {
         // サブクラスでオーバーライドして実装
     }
     
     /**
-     * マウスドラッグイベントを処理する。
+     * マウスドラッグを処理する。
      *
-     * @param e マウスイベント
+     * @param x X座標
+     * @param y Y座標
      */
-    protected void handleMouseDragged(MouseEvent e) {
+    protected void handleMouseDragged(int x, int y) {
         // サブクラスでオーバーライドして実装
     }
     
+    // --- AWTのイベントを受け取る旧来のハンドラー ---
+    // コントローラーからは呼び出されない。古いオーバーライドが黙って無視されないよう、
+    // finalにしてコンパイルエラーで int 版のハンドラーへの移行を促す。
+    
+    /**
+     * キー押下のイベントを int 版のハンドラーに渡す。
+     *
+     * @param e イベント
+     * @deprecated 入力はティックごとにゲームループのスレッドで処理されるようになり、このメソッドは呼び出されない。
+     *             オーバーライドはできないため、{@link #handleKeyPressed(int)} をオーバーライドすること。
+     */
+    @Deprecated
+    protected final void handleKeyPressed(KeyEvent e) {
+        handleKeyPressed(e.getKeyCode());
+    }
+    
+    /**
+     * キーリリースのイベントを int 版のハンドラーに渡す。
+     *
+     * @param e イベント
+     * @deprecated 入力はティックごとにゲームループのスレッドで処理されるようになり、このメソッドは呼び出されない。
+     *             オーバーライドはできないため、{@link #handleKeyReleased(int)} をオーバーライドすること。
+     */
+    @Deprecated
+    protected final void handleKeyReleased(KeyEvent e) {
+        handleKeyReleased(e.getKeyCode());
+    }
+    
+    /**
+     * マウス押下のイベントを int 版のハンドラーに渡す。
+     *
+     * @param e イベント
+     * @deprecated 入力はティックごとにゲームループのスレッドで処理されるようになり、このメソッドは呼び出されない。
+     *             オーバーライドはできないため、{@link #handleMousePressed(int, int)} をオーバーライドすること。
+     */
+    @Deprecated
+    protected final void handleMousePressed(MouseEvent e) {
+        handleMousePressed(e.getX(), e.getY());
+    }
+    
+    /**
+     * マウスリリースのイベントを int 版のハンドラーに渡す。
+     *
+     * @param e イベント
+     * @deprecated 入力はティックごとにゲームループのスレッドで処理されるようになり、このメソッドは呼び出されない。
+     *             オーバーライドはできないため、{@link #handleMouseReleased(int, int)} をオーバーライドすること。
+     */
+    @Deprecated
+    protected final void handleMouseReleased(MouseEvent e) {
+        handleMouseReleased(e.getX(), e.getY());
+    }
+    
+    /**
+     * マウス移動のイベントを int 版のハンドラーに渡す。
+     *
+     * @param e イベント
+     * @deprecated 入力はティックごとにゲームループのスレッドで処理されるようになり、このメソッドは呼び出されない。
+     *             オーバーライドはできないため、{@link #handleMouseMoved(int, int)} をオーバーライドすること。
+     */
+    @Deprecated
+    protected final void handleMouseMoved(MouseEvent e) {
+        handleMouseMoved(e.getX(), e.getY());
+    }
+    
+    /**
+     * マウスドラッグのイベントを int 版のハンドラーに渡す。
+     *
+     * @param e イベント
+     * @deprecated 入力はティックごとにゲームループのスレッドで処理されるようになり、このメソッドは呼び出されない。
+     *             オーバーライドはできないため、{@link #handleMouseDragged(int, int)} をオーバーライドすること。
+     */
+    @Deprecated
+    protected final void handleMouseDragged(MouseEvent e) {
+        handleMouseDragged(e.getX(), e.getY());
+    }
+    
+    /**
+     * ゲームループを停止し、入力の記録を終了する。
+     */
+    public void stop() {
+        gameLoop.stop();
+        stopRecording();
+    }
+    
     /**
      * GameModelを取得する。
      *
@@ -198,12 +565,33 @@ public class GameController {
     /**
      * GameWindowを取得する。
      *
-     * @return ゲームウィンドウ
+     * @return ゲームウィンドウ（ヘッドレス実行の場合はnull）
      */
     public GameWindow getWindow() {
         return window;
     }
     
+    /**
+     * 再描画要求の管理を取得する。
+     * GameModelの変更は自動で再描画される。ゲームループで描画する他の状態を変更した時は
+     * {@link FrameInvalidator#invalidate()} を呼び出す。
+     *
+     * @return 再描画要求の管理
+     */
+    public FrameInvalidator getFrameInvalidator() {
+        return frameInvalidator;
+    }
+    
+    /**
+     * フレームの計測値を取得する。
+     * 更新時間、描画時間、フレーム間隔、フレームごとのメモリ割り当て量を参照できる。
+     *
+     * @return フレームの計測値
+     */
+    public FrameMetrics getFrameMetrics() {
+        return frameMetrics;
+    }
+    
     /**
      * GameLoopを取得する。
      *
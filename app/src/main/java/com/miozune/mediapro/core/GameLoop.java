@@ -1,52 +1,352 @@
 package com.miozune.mediapro.core;
 
+import com.miozune.mediapro.metrics.FrameMetrics;
+
 import javax.swing.Timer;
 import java.awt.event.ActionListener;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
 
 /**
  * ゲームループを管理するクラス。
  * 60FPSでゲームの更新と描画を行う。
+ * <p>
+ * ループ方式は {@link Mode} で選択する。
+ * <ul>
+ *   <li>{@link Mode#SWING_TIMER}: EDT上の {@link Timer} で更新と描画を行う従来方式</li>
+ *   <li>{@link Mode#FIXED_TIMESTEP}: 専用スレッドで {@link System#nanoTime()} を基準に固定間隔で更新し、
+ *       余った時間を補間係数として描画に渡す方式</li>
+ *   <li>{@link Mode#HEADLESS}: 画面なしで更新のみを行う方式。
+ *       可能な限り速く、または実時間の指定倍速で更新する</li>
+ * </ul>
  */
 public class GameLoop {
-    
+
     private static final int TARGET_FPS = 60;
     private static final int FRAME_DELAY = 1000 / TARGET_FPS;
-    
+
+    /** 固定タイムステップ方式での1更新あたりの時間（ナノ秒） */
+    private static final long STEP_NANOS = TimeUnit.SECONDS.toNanos(1) / TARGET_FPS;
+
+    /** 1フレームで追いつきのために実行する更新回数の上限 */
+    private static final int MAX_STEPS_PER_FRAME = 5;
+
+    /** アイドル中に再描画要求を待つ最大時間（ナノ秒）。要求を取りこぼしても復帰できるようにする */
+    private static final long MAX_IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    /** 待機の最後をスピンで詰める時間（ナノ秒）。OSのスリープ精度のばらつきを吸収する */
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    /**
+     * ゲームループの方式。
+     */
+    public enum Mode {
+        /** EDT上のSwing Timerで駆動する */
+        SWING_TIMER,
+        /** 専用スレッドで固定タイムステップ更新を行う */
+        FIXED_TIMESTEP,
+        /** 専用スレッドで描画なしに更新のみを行う */
+        HEADLESS
+    }
+
+    /**
+     * 描画処理を表すインターフェース。
+     */
+    @FunctionalInterface
+    public interface RenderAction {
+        /**
+         * 1フレーム分の描画を行う。
+         *
+         * @param alpha 直前の更新から次の更新までの補間係数（0.0〜1.0）
+         */
+        void render(double alpha);
+    }
+
+    private final Mode mode;
+    private final Runnable updateAction;
+    private final RenderAction renderAction;
     private final Timer timer;
-    private boolean running;
-    
+    private volatile boolean running;
+    private volatile Thread loopThread;
+
+    /** 実行した更新回数 */
+    private volatile long tickCount;
+
+    /** 更新上限に達して破棄した更新回数 */
+    private volatile long droppedSteps;
+
+    /** フレームの計測先（nullの場合は計測しない） */
+    private volatile FrameMetrics frameMetrics;
+
+    /** オンデマンド描画で使う再描画要求の管理（nullの場合は無効） */
+    private volatile FrameInvalidator frameInvalidator;
+
+    /** ヘッドレス方式での実時間に対する速度倍率（0以下の場合は可能な限り速く実行） */
+    private volatile double timeScale;
+
+    /** ヘッドレス方式で実行する更新回数の上限（0以下の場合は無制限） */
+    private volatile long tickLimit;
+
+    /** 更新処理が何もしない状態かどうか */
+    private volatile BooleanSupplier idleCondition = () -> false;
+
     /**
      * ゲームループを作成する。
+     * Swing Timer方式で、更新処理のみを実行する。
      *
      * @param updateAction 毎フレーム実行するアクション
      */
     public GameLoop(Runnable updateAction) {
-        ActionListener timerAction = e -> {
-            if (running) {
-                updateAction.run();
-            }
-        };
-        this.timer = new Timer(FRAME_DELAY, timerAction);
-        this.timer.setCoalesce(true);
+        this(Mode.SWING_TIMER, updateAction, alpha -> {});
+    }
+
+    /**
+     * 方式を指定してゲームループを作成する。
+     *
+     * @param mode ループ方式
+     * @param updateAction 固定間隔で実行する更新処理
+     * @param renderAction 毎フレーム実行する描画処理
+     */
+    public GameLoop(Mode mode, Runnable updateAction, RenderAction renderAction) {
+        this.mode = mode;
+        this.updateAction = updateAction;
+        this.renderAction = renderAction;
         this.running = false;
+
+        if (mode == Mode.SWING_TIMER) {
+            ActionListener timerAction = e -> {
+                if (running) {
+                    recordFrameStart();
+                    updateAction.run();
+                    tickCount++;
+                    renderAction.render(1.0);
+                }
+            };
+            this.timer = new Timer(FRAME_DELAY, timerAction);
+            this.timer.setCoalesce(true);
+        } else {
+            this.timer = null;
+        }
     }
-    
+
     /**
      * ゲームループを開始する。
      */
     public void start() {
+        if (running) {
+            return;
+        }
         running = true;
-        timer.start();
+
+        if (mode == Mode.SWING_TIMER) {
+            timer.start();
+        } else if (mode == Mode.HEADLESS) {
+            loopThread = new Thread(this::runHeadless, "GameLoop-headless");
+            loopThread.start();
+        } else {
+            loopThread = new Thread(this::runFixedTimestep, "GameLoop");
+            loopThread.setDaemon(true);
+            loopThread.start();
+        }
     }
-    
+
     /**
      * ゲームループを停止する。
      */
     public void stop() {
         running = false;
-        timer.stop();
+
+        if (mode == Mode.SWING_TIMER) {
+            timer.stop();
+        } else if (loopThread != null) {
+            FrameInvalidator invalidator = frameInvalidator;
+            if (invalidator != null) {
+                invalidator.invalidate();
+            }
+            LockSupport.unpark(loopThread);
+            if (Thread.currentThread() != loopThread) {
+                try {
+                    loopThread.join(TimeUnit.SECONDS.toMillis(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            loopThread = null;
+        }
     }
-    
+
+    /**
+     * 固定タイムステップ方式のループ本体。
+     * 経過時間をアキュムレータに貯め、STEP_NANOSごとに更新を実行する。
+     * 処理落ちで貯まりすぎた分はMAX_STEPS_PER_FRAMEで打ち切り、破棄する。
+     */
+    private void runFixedTimestep() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        while (running) {
+            long frameStart = System.nanoTime();
+            recordFrameStart();
+            accumulator += frameStart - previous;
+            previous = frameStart;
+
+            int steps = 0;
+            while (accumulator >= STEP_NANOS && steps < MAX_STEPS_PER_FRAME) {
+                updateAction.run();
+                tickCount++;
+                accumulator -= STEP_NANOS;
+                steps++;
+            }
+
+            // 追いつけない分は破棄して、遅れが際限なく増えるのを防ぐ
+            if (accumulator >= STEP_NANOS) {
+                droppedSteps += accumulator / STEP_NANOS;
+                accumulator %= STEP_NANOS;
+            }
+
+            renderAction.render((double) accumulator / STEP_NANOS);
+
+            // 更新も描画も不要な間は、再描画要求が来るまで眠る
+            FrameInvalidator invalidator = frameInvalidator;
+            if (invalidator != null && idleCondition.getAsBoolean() && !invalidator.isPending()) {
+                invalidator.awaitInvalidation(MAX_IDLE_WAIT_NANOS);
+                skipFrameInterval();
+                // 眠っていた時間は追いつき対象にしないが、起こされた原因（入力など）を
+                // すぐ処理できるよう、次の周回で1回だけ更新する
+                previous = System.nanoTime();
+                accumulator = STEP_NANOS;
+                continue;
+            }
+
+            // 次の更新タイミングまで待機する
+            long wakeUp = frameStart + (STEP_NANOS - accumulator);
+            waitUntil(wakeUp);
+        }
+    }
+
+    /**
+     * ヘッドレス方式のループ本体。
+     * 描画は行わず、更新処理だけを連続して実行する。
+     * 速度倍率が指定されている場合は、実時間×倍率のペースに合わせて待機する。
+     */
+    private void runHeadless() {
+        long start = System.nanoTime();
+        long executed = 0;
+
+        while (running) {
+            long limit = tickLimit;
+            if (limit > 0 && tickCount >= limit) {
+                break;
+            }
+
+            recordFrameStart();
+            updateAction.run();
+            tickCount++;
+            executed++;
+
+            double scale = timeScale;
+            if (scale > 0) {
+                waitUntil(start + (long) (executed * STEP_NANOS / scale));
+            }
+        }
+        running = false;
+    }
+
+    /**
+     * 計測が有効な場合、フレームの開始を記録する。
+     */
+    private void recordFrameStart() {
+        FrameMetrics metrics = frameMetrics;
+        if (metrics != null) {
+            metrics.recordFrameStart();
+        }
+    }
+
+    /**
+     * 計測が有効な場合、待機を挟んだフレーム間隔を記録しないようにする。
+     */
+    private void skipFrameInterval() {
+        FrameMetrics metrics = frameMetrics;
+        if (metrics != null) {
+            metrics.skipFrameInterval();
+        }
+    }
+
+    /**
+     * 指定した時刻まで待機する。
+     * 大部分はparkで眠り、最後の僅かな時間はスピンで待つ。
+     *
+     * @param deadline 待機を終える時刻（System.nanoTime基準）
+     */
+    private void waitUntil(long deadline) {
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * フレームの計測先を設定する。
+     * フレーム間隔と、ループスレッドがフレームごとに割り当てたメモリ量が記録される。
+     *
+     * @param frameMetrics 計測先（nullで計測を無効化）
+     */
+    public void setFrameMetrics(FrameMetrics frameMetrics) {
+        this.frameMetrics = frameMetrics;
+    }
+
+    /**
+     * ヘッドレス方式での速度倍率を設定する。
+     * 例えば2.0を指定すると実時間の2倍速（120ティック/秒）で更新する。
+     *
+     * @param timeScale 速度倍率（0以下で可能な限り速く実行）
+     */
+    public void setTimeScale(double timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    /**
+     * ヘッドレス方式で実行する更新回数の上限を設定する。
+     * 上限に達するとループは自動的に終了する。
+     *
+     * @param tickLimit 更新回数の上限（0以下で無制限）
+     */
+    public void setTickLimit(long tickLimit) {
+        this.tickLimit = tickLimit;
+    }
+
+    /**
+     * ループスレッドの終了を待つ。
+     * ヘッドレス方式で更新回数の上限まで実行し終えるのを待つために使う。
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public void awaitTermination() throws InterruptedException {
+        Thread thread = loopThread;
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.join();
+        }
+    }
+
+    /**
+     * オンデマンド描画のアイドル待機を有効にする。
+     * 固定タイムステップ方式では、idleConditionがtrueかつ再描画要求がない間、
+     * ループスレッドを眠らせてCPUを消費しないようにする。
+     * Swing Timer方式では待機は行わず、描画のスキップのみが効く。
+     *
+     * @param invalidator 再描画要求の管理
+     * @param idleCondition 更新処理が何もしない状態のときにtrueを返す条件
+     */
+    public void enableIdleWait(FrameInvalidator invalidator, BooleanSupplier idleCondition) {
+        this.idleCondition = idleCondition;
+        this.frameInvalidator = invalidator;
+    }
+
     /**
      * ゲームループが実行中かどうかを返す。
      *
@@ -55,7 +355,35 @@ public class GameLoop {
     public boolean isRunning() {
         return running;
     }
-    
+
+    /**
+     * ループ方式を取得する。
+     *
+     * @return ループ方式
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * これまでに実行した更新回数を取得する。
+     *
+     * @return 更新回数
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * 追いつき上限を超えたために破棄した更新回数を取得する。
+     * 固定タイムステップ方式でのみ増加する。
+     *
+     * @return 破棄した更新回数
+     */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+
     /**
      * 目標FPSを取得する。
      *
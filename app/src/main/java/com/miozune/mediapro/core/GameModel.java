@@ -14,8 +14,9 @@ public class GameModel {
     
     private final PropertyChangeSupport pcs;
     
-    private GameState state;
-    private int score;
+    // 固定タイムステップのループではループスレッドとEDTの両方から参照される
+    private volatile GameState state;
+    private volatile int score;
     
     /**
      * GameModelを初期化する。
@@ -0,0 +1,107 @@
+package com.miozune.mediapro.core;
+
+import java.nio.file.Path;
+
+/**
+ * 起動時に指定するゲームの実行オプション。
+ * コマンドライン引数（例: {@code --loop=fixed}）から生成する。
+ *
+ * @param loopMode ゲームループの方式
+ * @param renderMode 描画方式
+ * @param onDemandRendering 変更があったフレームだけを描画する場合はtrue
+ * @param tickLimit ヘッドレス実行で実行する更新回数（0以下で無制限）
+ * @param timeScale ヘッドレス実行での実時間に対する速度倍率（0以下で可能な限り速く）
+ * @param inputScript ヘッドレス実行で読み込む入力スクリプト（ない場合はnull）
+ * @param recordPath 処理した入力を記録するファイル（記録しない場合はnull）
+ * @param replayPath 再生する入力の記録ファイル（再生しない場合はnull）
+ */
+public record GameOptions(
+    GameLoop.Mode loopMode,
+    GamePanel.RenderMode renderMode,
+    boolean onDemandRendering,
+    long tickLimit,
+    double timeScale,
+    Path inputScript,
+    Path recordPath,
+    Path replayPath
+) {
+
+    /**
+     * デフォルトのオプションを取得する。
+     *
+     * @return デフォルトのオプション
+     */
+    public static GameOptions defaults() {
+        return new GameOptions(GameLoop.Mode.SWING_TIMER, GamePanel.RenderMode.PASSIVE, false, 0, 0, null, null, null);
+    }
+
+    /**
+     * ヘッドレス実行かどうかを返す。
+     *
+     * @return ループ方式がHEADLESSの場合はtrue
+     */
+    public boolean headless() {
+        return loopMode == GameLoop.Mode.HEADLESS;
+    }
+
+    /**
+     * コマンドライン引数からオプションを生成する。
+     * 認識できない引数は警告を出力して無視する。
+     *
+     * @param args コマンドライン引数
+     * @return 生成したオプション
+     * @throws NumberFormatException 数値を取るオプションの値が数値でない場合
+     */
+    public static GameOptions fromArgs(String[] args) {
+        GameLoop.Mode loopMode = GameLoop.Mode.SWING_TIMER;
+        GamePanel.RenderMode renderMode = GamePanel.RenderMode.PASSIVE;
+        boolean onDemandRendering = false;
+        long tickLimit = 0;
+        double timeScale = 0;
+        Path inputScript = null;
+        Path recordPath = null;
+        Path replayPath = null;
+
+        for (String arg : args) {
+            if (arg.startsWith("--loop=")) {
+                loopMode = switch (arg.substring("--loop=".length())) {
+                    case "timer" -> GameLoop.Mode.SWING_TIMER;
+                    case "fixed" -> GameLoop.Mode.FIXED_TIMESTEP;
+                    case "headless" -> GameLoop.Mode.HEADLESS;
+                    default -> {
+                        System.err.println("Warning: Unknown loop mode: " + arg);
+                        yield GameLoop.Mode.SWING_TIMER;
+                    }
+                };
+            } else if (arg.startsWith("--render=")) {
+                renderMode = switch (arg.substring("--render=".length())) {
+                    case "passive" -> GamePanel.RenderMode.PASSIVE;
+                    case "active" -> GamePanel.RenderMode.ACTIVE;
+                    default -> {
+                        System.err.println("Warning: Unknown render mode: " + arg);
+                        yield GamePanel.RenderMode.PASSIVE;
+                    }
+                };
+            } else if (arg.equals("--on-demand")) {
+                onDemandRendering = true;
+            } else if (arg.equals("--headless")) {
+                loopMode = GameLoop.Mode.HEADLESS;
+            } else if (arg.startsWith("--ticks=")) {
+                tickLimit = Long.parseLong(arg.substring("--ticks=".length()));
+            } else if (arg.startsWith("--speed=")) {
+                timeScale = Double.parseDouble(arg.substring("--speed=".length()));
+            } else if (arg.startsWith("--script=")) {
+                inputScript = Path.of(arg.substring("--script=".length()));
+            } else if (arg.startsWith("--record=")) {
+                recordPath = Path.of(arg.substring("--record=".length()));
+            } else if (arg.startsWith("--replay=")) {
+                replayPath = Path.of(arg.substring("--replay=".length()));
+            } else {
+                System.err.println("Warning: Unknown option: " + arg);
+            }
+        }
+
+        return new GameOptions(loopMode, renderMode, onDemandRendering, tickLimit, timeScale, inputScript,
+            recordPath, replayPath);
+    }
+}
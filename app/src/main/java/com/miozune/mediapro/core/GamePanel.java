@@ -1,5 +1,7 @@
 package com.miozune.mediapro.core;
 
+import com.miozune.mediapro.metrics.FrameMetrics;
+import com.miozune.mediapro.metrics.MetricsOverlay;
 import com.miozune.mediapro.preview.Previewable;
 
 import javax.swing.JPanel;
@@ -7,19 +9,64 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.image.VolatileImage;
+import java.util.Map;
 
 /**
  * ゲームの描画を行うパネルコンポーネント。
  * ダブルバッファリングを使用してちらつきを防止する。
+ * <p>
+ * 描画方式は {@link RenderMode} で選択する。
+ * <ul>
+ *   <li>{@link RenderMode#PASSIVE}: {@link #repaint()} を要求し、RepaintManager経由で描画する従来方式</li>
+ *   <li>{@link RenderMode#ACTIVE}: ゲームループのスレッドから {@link VolatileImage} のバックバッファに描画し、
+ *       直接画面へ転送する方式</li>
+ * </ul>
  */
 public class GamePanel extends JPanel implements Previewable {
     
     private static final int DEFAULT_WIDTH = 800;
     private static final int DEFAULT_HEIGHT = 600;
     
+    /** 描画時に適用するレンダリングヒント（毎フレーム生成しないよう共有する） */
+    private static final RenderingHints RENDERING_HINTS = new RenderingHints(Map.of(
+        RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON,
+        RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+    ));
+    
+    /**
+     * 描画方式。
+     */
+    public enum RenderMode {
+        /** RepaintManager経由で描画する */
+        PASSIVE,
+        /** バックバッファに描画して直接画面へ転送する */
+        ACTIVE
+    }
+    
     private GameModel model;
     
+    /** 描画方式 */
+    private volatile RenderMode renderMode = RenderMode.PASSIVE;
+    
+    /** アクティブ描画用のバックバッファ（bufferLockで保護） */
+    private VolatileImage backBuffer;
+    
+    /** バックバッファへのアクセスを直列化するロック */
+    private final Object bufferLock = new Object();
+    
+    /** 描画時間の計測先（nullの場合は計測しない） */
+    private volatile FrameMetrics frameMetrics;
+    
+    /** 計測値のオーバーレイを表示するかどうか */
+    private volatile boolean metricsOverlayVisible;
+    
+    /** 直前の更新から次の更新までの補間係数 */
+    private volatile double interpolation = 1.0;
+    
     /**
      * GamePanelを初期化する。
      */
@@ -60,29 +107,247 @@ public class GamePanel extends JPanel implements Previewable {
         repaint();
     }
     
+    /**
+     * 描画に使う補間係数を取得する。
+     * 固定タイムステップのループでは、前回の更新から経過した割合（0.0〜1.0）を表す。
+     *
+     * @return 補間係数
+     */
+    public double getInterpolation() {
+        return interpolation;
+    }
+    
+    /**
+     * 描画に使う補間係数を設定する。
+     *
+     * @param interpolation 補間係数（0.0〜1.0）
+     */
+    public void setInterpolation(double interpolation) {
+        this.interpolation = interpolation;
+    }
+    
+    /**
+     * 描画方式を取得する。
+     *
+     * @return 描画方式
+     */
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+    
+    /**
+     * 描画方式を設定する。
+     * アクティブ描画ではOSからの再描画要求を無視し、ゲームループの描画のみで画面を更新する。
+     *
+     * @param renderMode 描画方式
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        this.renderMode = renderMode;
+        setIgnoreRepaint(renderMode == RenderMode.ACTIVE);
+        if (renderMode == RenderMode.PASSIVE) {
+            releaseBackBuffer();
+        }
+    }
+    
+    /**
+     * 1フレームを画面に表示する。
+     * ゲームループの描画処理から呼び出す。
+     * アクティブ描画ができない状態（非表示中など）では、パッシブ描画にフォールバックする。
+     */
+    public void presentFrame() {
+        if (renderMode == RenderMode.ACTIVE && renderActive()) {
+            return;
+        }
+        repaint();
+    }
+    
+    /**
+     * バックバッファに描画し、画面へ転送する。
+     * バックバッファの内容が失われた場合は、復元して描画をやり直す。
+     *
+     * @return 画面へ転送できた場合はtrue
+     */
+    private boolean renderActive() {
+        int width = getWidth();
+        int height = getHeight();
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (width <= 0 || height <= 0 || gc == null || !isDisplayable()) {
+            return false;
+        }
+        
+        synchronized (bufferLock) {
+            do {
+                if (!validateBackBuffer(gc, width, height)) {
+                    return false;
+                }
+                
+                Graphics2D g2d = backBuffer.createGraphics();
+                try {
+                    long paintStart = System.nanoTime();
+                    g2d.setColor(getBackground());
+                    g2d.fillRect(0, 0, width, height);
+                    g2d.setRenderingHints(RENDERING_HINTS);
+                    render(g2d);
+                    finishFrame(g2d, paintStart);
+                } finally {
+                    g2d.dispose();
+                }
+                
+                // 描画中に内容が失われた場合は転送せずにやり直す
+                if (backBuffer.contentsLost()) {
+                    continue;
+                }
+                
+                Graphics screen = getGraphics();
+                if (screen == null) {
+                    return false;
+                }
+                try {
+                    screen.drawImage(backBuffer, 0, 0, null);
+                } finally {
+                    screen.dispose();
+                }
+                Toolkit.getDefaultToolkit().sync();
+            } while (backBuffer.contentsLost());
+        }
+        return true;
+    }
+    
+    /**
+     * バックバッファを検証し、必要であれば作り直す。
+     * bufferLockを保持した状態で呼び出すこと。
+     *
+     * @param gc 描画先のGraphicsConfiguration
+     * @param width パネルの幅
+     * @param height パネルの高さ
+     * @return 描画可能なバックバッファがある場合はtrue
+     */
+    private boolean validateBackBuffer(GraphicsConfiguration gc, int width, int height) {
+        if (backBuffer != null
+                && (backBuffer.getWidth() != width || backBuffer.getHeight() != height)) {
+            backBuffer.flush();
+            backBuffer = null;
+        }
+        
+        if (backBuffer == null) {
+            backBuffer = createVolatileImage(width, height);
+            return backBuffer != null;
+        }
+        
+        // 画面モードの変更などで互換性がなくなった場合は作り直す
+        if (backBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            backBuffer.flush();
+            backBuffer = createVolatileImage(width, height);
+        }
+        return backBuffer != null;
+    }
+    
+    /**
+     * バックバッファを解放する。
+     */
+    private void releaseBackBuffer() {
+        synchronized (bufferLock) {
+            if (backBuffer != null) {
+                backBuffer.flush();
+                backBuffer = null;
+            }
+        }
+    }
+    
+    @Override
+    public void removeNotify() {
+        releaseBackBuffer();
+        super.removeNotify();
+    }
+    
     @Override
     protected void paintComponent(Graphics g) {
+        // アクティブ描画中は、最後に描画したバックバッファを転送するだけにする
+        if (renderMode == RenderMode.ACTIVE) {
+            synchronized (bufferLock) {
+                if (backBuffer != null && !backBuffer.contentsLost()) {
+                    g.drawImage(backBuffer, 0, 0, null);
+                    return;
+                }
+                // バックバッファがまだない・失われた場合はEDTで描画する。
+                // ゲームループのスレッドの renderActive と同時に render や計測を行わないよう、ロックを保持したまま描画する
+                paintFrame(g);
+                return;
+            }
+        }
+        paintFrame(g);
+    }
+    
+    /**
+     * パネルのGraphicsに直接1フレームを描画する。
+     * アクティブ描画ではbufferLockを保持した状態で呼び出すこと。
+     *
+     * @param g 描画先
+     */
+    private void paintFrame(Graphics g) {
+        long paintStart = System.nanoTime();
         super.paintComponent(g);
         
         Graphics2D g2d = (Graphics2D) g;
         
         // アンチエイリアシングを有効化
-        g2d.setRenderingHint(
-            RenderingHints.KEY_ANTIALIASING,
-            RenderingHints.VALUE_ANTIALIAS_ON
-        );
-        g2d.setRenderingHint(
-            RenderingHints.KEY_TEXT_ANTIALIASING,
-            RenderingHints.VALUE_TEXT_ANTIALIAS_ON
-        );
+        g2d.addRenderingHints(RENDERING_HINTS);
         
         // ゲーム描画
         render(g2d);
+        finishFrame(g2d, paintStart);
+    }
+    
+    /**
+     * 描画時間を記録し、必要であれば計測値のオーバーレイを重ねる。
+     * オーバーレイの描画時間は計測に含めない。
+     *
+     * @param g2d 描画先
+     * @param paintStart 描画を開始した時刻（System.nanoTime基準）
+     */
+    private void finishFrame(Graphics2D g2d, long paintStart) {
+        FrameMetrics metrics = frameMetrics;
+        if (metrics == null) {
+            return;
+        }
+        metrics.recordPaint(System.nanoTime() - paintStart);
+        if (metricsOverlayVisible) {
+            MetricsOverlay.paint(g2d, metrics);
+        }
+    }
+    
+    /**
+     * 描画時間の計測先を設定する。
+     *
+     * @param frameMetrics 計測先（nullで計測を無効化）
+     */
+    public void setFrameMetrics(FrameMetrics frameMetrics) {
+        this.frameMetrics = frameMetrics;
+    }
+    
+    /**
+     * 計測値のオーバーレイを表示するかどうかを取得する。
+     *
+     * @return 表示する場合はtrue
+     */
+    public boolean isMetricsOverlayVisible() {
+        return metricsOverlayVisible;
+    }
+    
+    /**
+     * 計測値のオーバーレイを表示するかどうかを設定する。
+     *
+     * @param visible 表示する場合はtrue
+     */
+    public void setMetricsOverlayVisible(boolean visible) {
+        this.metricsOverlayVisible = visible;
     }
     
     /**
      * ゲームの描画処理を行う。
      * サブクラスでオーバーライドして具体的な描画を実装する。
+     * 動く要素は {@link #getInterpolation()} を使って前回と今回の状態の間を補間して描画する。
+     * アクティブ描画ではゲームループのスレッドから呼び出される。
      *
      * @param g2d Graphics2Dオブジェクト
      */
@@ -4,6 +4,8 @@ import javax.swing.JFrame;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 
+import com.miozune.mediapro.util.SwingUtils;
+
 /**
  * ゲームのメインウィンドウ。
  * GameModelの変更を監視してウィンドウタイトルを更新する。
@@ -50,9 +52,10 @@ public class GameWindow extends JFrame implements PropertyChangeListener {
     
     /**
      * リスナーを登録する。
+     * 固定タイムステップのループではModelがゲームループのスレッドで変更されるため、EDTに移して処理する。
      */
     private void registerListeners() {
-        model.addPropertyChangeListener(this);
+        model.addPropertyChangeListener(SwingUtils.onEventDispatchThread(this));
     }
     
     /**
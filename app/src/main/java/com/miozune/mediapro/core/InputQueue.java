@@ -0,0 +1,125 @@
+package com.miozune.mediapro.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 入力イベントを一時的に蓄えるロックフリーのリングバッファ。
+ * AWTのイベントスレッドで {@link #offer} した入力を、ゲームループの各ティックの開始時に
+ * {@link #poll} でまとめて取り出す。これにより、入力はフレームの途中ではなく
+ * 常にティックの先頭で、発生順に処理される。
+ * <p>
+ * 入力はオブジェクトではなくプリミティブ配列に格納するため、投入時にメモリを割り当てない。
+ * 書き込みは1つのスレッド（EDT）、読み出しは1つのスレッド（ループスレッド）から行うこと。
+ */
+public class InputQueue implements InputSource {
+
+    /** 入力の種類（ordinalからの逆引き用） */
+    private static final InputType[] INPUT_TYPES = InputType.values();
+
+    private final int mask;
+    private final int[] types;
+    private final int[] keyCodes;
+    private final int[] xs;
+    private final int[] ys;
+    private final long[] timestamps;
+
+    /** 次に読み出す位置 */
+    private final AtomicLong head = new AtomicLong();
+
+    /** 次に書き込む位置 */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** バッファが一杯で捨てた入力の数 */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * 指定した容量の入力キューを作成する。
+     * 容量は2の累乗に切り上げられる。
+     *
+     * @param capacity 保持できる入力の最大数
+     */
+    public InputQueue(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.types = new int[size];
+        this.keyCodes = new int[size];
+        this.xs = new int[size];
+        this.ys = new int[size];
+        this.timestamps = new long[size];
+    }
+
+    /**
+     * 入力を1件追加する。
+     * バッファが一杯の場合は入力を捨ててfalseを返す。
+     *
+     * @param type 入力の種類
+     * @param keyCode キーコード
+     * @param x マウスのX座標
+     * @param y マウスのY座標
+     * @param timestampNanos 入力が発生した時刻（System.nanoTime基準）
+     * @return 追加できた場合はtrue
+     */
+    public boolean offer(InputType type, int keyCode, int x, int y, long timestampNanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+
+        int i = (int) (t & mask);
+        types[i] = type.ordinal();
+        keyCodes[i] = keyCode;
+        xs[i] = x;
+        ys[i] = y;
+        timestamps[i] = timestampNanos;
+        // 要素の書き込みが読み出し側から見えるようにしてから位置を進める
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * このティックの開始時点までに追加された入力を、追加された順にすべて取り出す。
+     * 取り出し中に追加された入力は次のティックで処理される。
+     *
+     * @param tick 現在のティック番号
+     * @param sink 入力の渡し先
+     */
+    @Override
+    public void poll(long tick, InputSink sink) {
+        long h = head.get();
+        long t = tail.get();
+        while (h < t) {
+            int i = (int) (h & mask);
+            sink.onInput(INPUT_TYPES[types[i]], keyCodes[i], xs[i], ys[i], timestamps[i]);
+            h++;
+            head.lazySet(h);
+        }
+    }
+
+    /**
+     * 未処理の入力の数を取得する。
+     *
+     * @return 未処理の入力の数
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * 保持できる入力の最大数を取得する。
+     *
+     * @return 容量
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * バッファが一杯で捨てた入力の数を取得する。
+     *
+     * @return 捨てた入力の数
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
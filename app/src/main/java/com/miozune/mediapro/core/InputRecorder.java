@@ -0,0 +1,126 @@
+package com.miozune.mediapro.core;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 処理した入力をティック番号とともにバイナリファイルへ記録するクラス。
+ * 記録したファイルは {@link InputReplay} で再生でき、プレイ中に起きた問題を
+ * 同じ入力列で正確に再現できる。
+ * <p>
+ * ファイル形式（数値は可変長整数で、前の記録との差分を格納する）:
+ * <pre>
+ * ヘッダー: "MPIR"(4バイト) バージョン(1バイト)
+ * 記録:     ティック差分 種類(1バイト) キーコード X座標 Y座標 時刻差分
+ * </pre>
+ * X座標、Y座標、時刻差分は負の値を取りうるため、ZigZag符号化して格納する。
+ */
+public class InputRecorder implements Closeable {
+
+    /** ファイル先頭のマジックナンバー */
+    static final int MAGIC = 0x4D504952; // "MPIR"
+
+    /** ファイル形式のバージョン */
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+    private long lastTick;
+    private long lastTimestamp;
+    private long recordCount;
+    private boolean closed;
+
+    /**
+     * 記録先のファイルを作成して記録を開始する。
+     *
+     * @param path 記録先のファイルパス
+     * @throws IOException ファイルを作成できない場合
+     */
+    public InputRecorder(Path path) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * 入力を1件記録する。
+     * ティック番号は単調に増加していること。
+     *
+     * @param tick 入力を処理したティック番号
+     * @param type 入力の種類
+     * @param keyCode キーコード
+     * @param x マウスのX座標
+     * @param y マウスのY座標
+     * @param timestampNanos 入力が発生した時刻
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public synchronized void record(long tick, InputType type, int keyCode, int x, int y, long timestampNanos)
+            throws IOException {
+        if (closed) {
+            return;
+        }
+        if (recordCount == 0) {
+            lastTimestamp = timestampNanos;
+        }
+
+        writeVarLong(tick - lastTick);
+        out.writeByte(type.ordinal());
+        writeVarLong(keyCode);
+        writeVarLong(zigZag(x));
+        writeVarLong(zigZag(y));
+        writeVarLong(zigZag(timestampNanos - lastTimestamp));
+
+        lastTick = tick;
+        lastTimestamp = timestampNanos;
+        recordCount++;
+    }
+
+    /**
+     * これまでに記録した入力の数を取得する。
+     *
+     * @return 記録数
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * 記録を終了してファイルを閉じる。
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            out.close();
+        }
+    }
+
+    /**
+     * 0以上の値を7ビットずつの可変長整数として書き込む。
+     *
+     * @param value 書き込む値
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * 符号付きの値を、絶対値が小さいほど小さな非負の値になるよう変換する。
+     *
+     * @param value 変換する値
+     * @return 変換後の値
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
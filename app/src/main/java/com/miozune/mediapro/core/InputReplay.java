@@ -0,0 +1,178 @@
+package com.miozune.mediapro.core;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * {@link InputRecorder} で記録した入力を、記録時と同じティックで再生する入力源。
+ * 記録全体を読み込み時にプリミティブ配列へ展開するため、再生中はメモリを割り当てない。
+ * <p>
+ * {@link System#nanoTime()} の値は実行ごとに基準が異なるため、入力の時刻は
+ * 最初の入力を0とした相対時刻で再生される。
+ */
+public class InputReplay implements InputSource {
+
+    /** 入力の種類（ordinalからの逆引き用） */
+    private static final InputType[] INPUT_TYPES = InputType.values();
+
+    private final long[] ticks;
+    private final int[] types;
+    private final int[] keyCodes;
+    private final int[] xs;
+    private final int[] ys;
+    private final long[] timestamps;
+    private final int size;
+    private int cursor;
+
+    private InputReplay(long[] ticks, int[] types, int[] keyCodes, int[] xs, int[] ys,
+            long[] timestamps, int size) {
+        this.ticks = ticks;
+        this.types = types;
+        this.keyCodes = keyCodes;
+        this.xs = xs;
+        this.ys = ys;
+        this.timestamps = timestamps;
+        this.size = size;
+    }
+
+    /**
+     * 記録ファイルを読み込む。
+     *
+     * @param path 記録ファイルのパス
+     * @return 読み込んだ再生用の入力源
+     * @throws IOException 読み込みに失敗した場合、またはファイル形式が正しくない場合
+     */
+    public static InputReplay load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != InputRecorder.MAGIC) {
+                throw new IOException("Not an input recording: " + path);
+            }
+            int version = in.readUnsignedByte();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException("Unsupported input recording version: " + version);
+            }
+
+            int capacity = 256;
+            long[] ticks = new long[capacity];
+            int[] types = new int[capacity];
+            int[] keyCodes = new int[capacity];
+            int[] xs = new int[capacity];
+            int[] ys = new int[capacity];
+            long[] timestamps = new long[capacity];
+            int size = 0;
+            long tick = 0;
+            long timestamp = 0;
+
+            while (true) {
+                long tickDelta;
+                try {
+                    tickDelta = readVarLong(in);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                if (size == capacity) {
+                    capacity *= 2;
+                    ticks = Arrays.copyOf(ticks, capacity);
+                    types = Arrays.copyOf(types, capacity);
+                    keyCodes = Arrays.copyOf(keyCodes, capacity);
+                    xs = Arrays.copyOf(xs, capacity);
+                    ys = Arrays.copyOf(ys, capacity);
+                    timestamps = Arrays.copyOf(timestamps, capacity);
+                }
+
+                tick += tickDelta;
+                int type = in.readUnsignedByte();
+                if (type >= INPUT_TYPES.length) {
+                    throw new IOException("Unknown input type: " + type);
+                }
+                ticks[size] = tick;
+                types[size] = type;
+                keyCodes[size] = (int) readVarLong(in);
+                xs[size] = (int) unZigZag(readVarLong(in));
+                ys[size] = (int) unZigZag(readVarLong(in));
+                timestamp += unZigZag(readVarLong(in));
+                timestamps[size] = timestamp;
+                size++;
+            }
+
+            return new InputReplay(ticks, types, keyCodes, xs, ys, timestamps, size);
+        }
+    }
+
+    @Override
+    public void poll(long tick, InputSink sink) {
+        while (cursor < size && ticks[cursor] <= tick) {
+            int i = cursor++;
+            sink.onInput(INPUT_TYPES[types[i]], keyCodes[i], xs[i], ys[i], timestamps[i]);
+        }
+    }
+
+    /**
+     * 再生を先頭からやり直せるようにする。
+     */
+    public void rewind() {
+        cursor = 0;
+    }
+
+    /**
+     * 記録されている入力の数を取得する。
+     *
+     * @return 入力の数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * すべての入力を再生し終えたかどうかを返す。
+     *
+     * @return 再生し終えた場合はtrue
+     */
+    public boolean isFinished() {
+        return cursor >= size;
+    }
+
+    /**
+     * 最後の入力が記録されたティック番号を取得する。
+     *
+     * @return ティック番号（入力がない場合は0）
+     */
+    public long getLastTick() {
+        return size == 0 ? 0 : ticks[size - 1];
+    }
+
+    /**
+     * 可変長整数を読み込む。
+     *
+     * @param in 入力ストリーム
+     * @return 読み込んだ値
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /**
+     * ZigZag符号化された値を元に戻す。
+     *
+     * @param value 符号化された値
+     * @return 元の値
+     */
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,19 @@
+package com.miozune.mediapro.core;
+
+/**
+ * 入力を受け取るインターフェース。
+ * キー入力ではx, yを、マウス入力ではkeyCodeを使用しない（0を渡す）。
+ */
+@FunctionalInterface
+public interface InputSink {
+    /**
+     * 入力を1件受け取る。
+     *
+     * @param type 入力の種類
+     * @param keyCode キーコード（{@link java.awt.event.KeyEvent} の VK_ 定数）
+     * @param x マウスのX座標
+     * @param y マウスのY座標
+     * @param timestampNanos 入力が発生した時刻（System.nanoTime基準）
+     */
+    void onInput(InputType type, int keyCode, int x, int y, long timestampNanos);
+}
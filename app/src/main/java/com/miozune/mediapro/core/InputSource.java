@@ -0,0 +1,16 @@
+package com.miozune.mediapro.core;
+
+/**
+ * ゲームループの各ティックの開始時に入力を供給するインターフェース。
+ * 実際のキーボードやマウスの代わりに、スクリプトや記録からの入力を与えるために使う。
+ */
+@FunctionalInterface
+public interface InputSource {
+    /**
+     * 指定したティックで処理すべき入力をすべてsinkに渡す。
+     *
+     * @param tick 現在のティック番号（0始まり）
+     * @param sink 入力の渡し先
+     */
+    void poll(long tick, InputSink sink);
+}
@@ -0,0 +1,20 @@
+package com.miozune.mediapro.core;
+
+/**
+ * ゲームへの入力の種類。
+ * AWTのイベントオブジェクトに依存せず、入力をプリミティブな値として扱うために使う。
+ */
+public enum InputType {
+    /** キー押下 */
+    KEY_PRESSED,
+    /** キーリリース */
+    KEY_RELEASED,
+    /** マウス押下 */
+    MOUSE_PRESSED,
+    /** マウスリリース */
+    MOUSE_RELEASED,
+    /** マウス移動 */
+    MOUSE_MOVED,
+    /** マウスドラッグ */
+    MOUSE_DRAGGED
+}
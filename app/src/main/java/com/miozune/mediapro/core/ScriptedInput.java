@@ -0,0 +1,209 @@
+package com.miozune.mediapro.core;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ティック番号を指定して入力を与えるスクリプト。
+ * ヘッドレス実行でのソークテストやボットの入力源として使う。
+ * <p>
+ * テキスト形式では1行に1つの入力を記述する。{@code #} 以降はコメント。
+ * <pre>
+ * # tick  type          args
+ * 0       KEY_PRESSED   VK_ENTER
+ * 1       KEY_RELEASED  VK_ENTER
+ * 120     MOUSE_PRESSED 400 300
+ * </pre>
+ * キー入力の引数は {@link KeyEvent} の定数名または数値、マウス入力の引数はX座標とY座標。
+ */
+public class ScriptedInput implements InputSource {
+
+    /** 1ティックの長さ（ナノ秒）。入力の時刻をティック番号から決めるために使う */
+    private static final long TICK_NANOS = 1_000_000_000L / GameLoop.getTargetFps();
+
+    /**
+     * スクリプトの1ステップ。
+     *
+     * @param tick 入力を与えるティック番号
+     * @param type 入力の種類
+     * @param keyCode キーコード
+     * @param x マウスのX座標
+     * @param y マウスのY座標
+     */
+    public record Step(long tick, InputType type, int keyCode, int x, int y) {}
+
+    private final List<Step> steps = new ArrayList<>();
+    private boolean sorted = true;
+    private int cursor;
+
+    /** ティック0に対応する時刻（System.nanoTime基準。再生を始めるまでは未定） */
+    private long startNanos;
+    private boolean started;
+
+    /**
+     * キー入力を追加する。
+     *
+     * @param tick 入力を与えるティック番号
+     * @param type 入力の種類（KEY_PRESSEDまたはKEY_RELEASED）
+     * @param keyCode キーコード
+     * @return このスクリプト
+     */
+    public ScriptedInput key(long tick, InputType type, int keyCode) {
+        return add(new Step(tick, type, keyCode, 0, 0));
+    }
+
+    /**
+     * キーを押して次のティックで離す入力を追加する。
+     *
+     * @param tick キーを押すティック番号
+     * @param keyCode キーコード
+     * @return このスクリプト
+     */
+    public ScriptedInput tap(long tick, int keyCode) {
+        key(tick, InputType.KEY_PRESSED, keyCode);
+        return key(tick + 1, InputType.KEY_RELEASED, keyCode);
+    }
+
+    /**
+     * マウス入力を追加する。
+     *
+     * @param tick 入力を与えるティック番号
+     * @param type 入力の種類（MOUSE_で始まるもの）
+     * @param x X座標
+     * @param y Y座標
+     * @return このスクリプト
+     */
+    public ScriptedInput mouse(long tick, InputType type, int x, int y) {
+        return add(new Step(tick, type, 0, x, y));
+    }
+
+    /**
+     * ステップを追加する。
+     *
+     * @param step 追加するステップ
+     * @return このスクリプト
+     */
+    public ScriptedInput add(Step step) {
+        if (!steps.isEmpty() && steps.get(steps.size() - 1).tick() > step.tick()) {
+            sorted = false;
+        }
+        steps.add(step);
+        return this;
+    }
+
+    @Override
+    public void poll(long tick, InputSink sink) {
+        if (!sorted) {
+            // 同じティック内では追加順を保つ（List.sortは安定ソート）
+            steps.sort(Comparator.comparingLong(Step::tick));
+            sorted = true;
+        }
+
+        if (!started) {
+            // 入力の時刻は InputSink の約束どおり System.nanoTime 基準にする
+            startNanos = System.nanoTime() - tick * TICK_NANOS;
+            started = true;
+        }
+
+        while (cursor < steps.size() && steps.get(cursor).tick() <= tick) {
+            Step step = steps.get(cursor++);
+            sink.onInput(step.type(), step.keyCode(), step.x(), step.y(), startNanos + step.tick() * TICK_NANOS);
+        }
+    }
+
+    /**
+     * スクリプトを先頭から再生し直せるようにする。
+     */
+    public void rewind() {
+        cursor = 0;
+        started = false;
+    }
+
+    /**
+     * すべてのステップを供給し終えたかどうかを返す。
+     *
+     * @return 供給し終えた場合はtrue
+     */
+    public boolean isFinished() {
+        return cursor >= steps.size();
+    }
+
+    /**
+     * ステップの一覧を取得する。
+     *
+     * @return ステップの一覧（変更不可）
+     */
+    public List<Step> getSteps() {
+        return List.copyOf(steps);
+    }
+
+    /**
+     * テキスト形式のスクリプトファイルを読み込む。
+     *
+     * @param path スクリプトファイルのパス
+     * @return 読み込んだスクリプト
+     * @throws IOException 読み込みに失敗した場合
+     * @throws IllegalArgumentException 書式が正しくない場合
+     */
+    public static ScriptedInput load(Path path) throws IOException {
+        return parse(Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * テキスト形式のスクリプトを解析する。
+     *
+     * @param lines スクリプトの各行
+     * @return 解析したスクリプト
+     * @throws IllegalArgumentException 書式が正しくない場合
+     */
+    public static ScriptedInput parse(List<String> lines) {
+        ScriptedInput script = new ScriptedInput();
+        int lineNumber = 0;
+        for (String rawLine : lines) {
+            lineNumber++;
+            int comment = rawLine.indexOf('#');
+            String line = (comment >= 0 ? rawLine.substring(0, comment) : rawLine).strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            String[] tokens = line.split("\\s+");
+            try {
+                long tick = Long.parseLong(tokens[0]);
+                InputType type = InputType.valueOf(tokens[1]);
+                switch (type) {
+                    case KEY_PRESSED, KEY_RELEASED -> script.key(tick, type, parseKeyCode(tokens[2]));
+                    default -> script.mouse(tick, type,
+                        Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]));
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(
+                    "Invalid input script at line " + lineNumber + ": " + rawLine, e);
+            }
+        }
+        return script;
+    }
+
+    /**
+     * キーコードを解析する。
+     *
+     * @param token KeyEventの定数名（例: "VK_ENTER"）または数値
+     * @return キーコード
+     */
+    private static int parseKeyCode(String token) {
+        if (Character.isDigit(token.charAt(0))) {
+            return Integer.parseInt(token);
+        }
+        try {
+            return KeyEvent.class.getField(token).getInt(null);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Unknown key: " + token, e);
+        }
+    }
+}
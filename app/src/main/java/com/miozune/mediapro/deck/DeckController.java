@@ -3,9 +3,6 @@ package com.miozune.mediapro.deck;
 import com.miozune.mediapro.cardrecipe.CardRecipeModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Comparator;
 
 public class DeckController {
     private final DeckModel model;
@@ -31,10 +28,9 @@ public class DeckController {
             @Override
             public void actionPerformed(ActionEvent e) {
                 // 選択されたカードを削除（実際はリスト選択から）
-                List<CardRecipeModel> cards = new ArrayList<>(model.getCards().keySet());
-                cards.sort(Comparator.comparingInt(CardRecipeModel::cost).thenComparing(CardRecipeModel::name));
-                if (!cards.isEmpty()) {
-                    model.removeCard(cards.get(0)); // 最初のカードを削除
+                DeckListModel cards = view.getListModel();
+                if (cards.getSize() > 0) {
+                    model.removeCard(cards.getCardAt(0)); // 最初のカードを削除
                 }
             }
         });
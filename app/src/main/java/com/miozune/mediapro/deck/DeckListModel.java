@@ -0,0 +1,257 @@
+package com.miozune.mediapro.deck;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.AbstractListModel;
+
+import com.miozune.mediapro.cardrecipe.CardRecipeModel;
+import com.miozune.mediapro.deck.events.DeckCardChangedEvent;
+import com.miozune.mediapro.deck.events.DeckCardsChangedEvent;
+
+/**
+ * デッキのカード一覧を、コスト順・名前順に並べて表示するListModel。
+ * カード1種類の枚数の変化を受け取ると、二分探索で位置を求めて行の追加・更新・削除だけを行い、
+ * 対応するイベントを1回だけ通知する。一覧全体を作り直すことはしない。
+ * <p>
+ * 表示する文字列は行ごとにキャッシュし、枚数が変わるまで使い回す。
+ * Swingのコンポーネントから使うため、EDTから呼び出すこと。
+ */
+public class DeckListModel extends AbstractListModel<String> {
+
+    /** 表示順（コスト、名前の順。同じ場合も順序が決まるよう残りの項目でも比較する） */
+    public static final Comparator<CardRecipeModel> ORDER = Comparator
+        .comparingInt(CardRecipeModel::cost)
+        .thenComparing(CardRecipeModel::name, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(CardRecipeModel::imageName, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(CardRecipeModel::description, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * 一覧の1行。
+     */
+    private static final class Row {
+        final CardRecipeModel card;
+        int count;
+        /** 表示する文字列（枚数が変わったらnullに戻し、次に必要になったときに作る） */
+        String label;
+
+        Row(CardRecipeModel card, int count) {
+            this.card = card;
+            this.count = count;
+        }
+    }
+
+    /** 表示順に並んだ行 */
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * デッキの現在の内容でListModelを作成する。
+     *
+     * @param deck 表示するデッキ
+     */
+    public DeckListModel(DeckModel deck) {
+        load(deck.getCards());
+    }
+
+    /**
+     * 一覧をすべて読み込み直す。
+     * 通常は {@link #apply(DeckCardChangedEvent)} で差分だけを反映する。
+     *
+     * @param deck 表示するデッキ
+     */
+    public void reload(DeckModel deck) {
+        int oldSize = rows.size();
+        rows.clear();
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        load(deck.getCards());
+        if (!rows.isEmpty()) {
+            fireIntervalAdded(this, 0, rows.size() - 1);
+        }
+    }
+
+    private void load(Map<CardRecipeModel, Integer> cards) {
+        for (Map.Entry<CardRecipeModel, Integer> entry : cards.entrySet()) {
+            rows.add(new Row(entry.getKey(), entry.getValue()));
+        }
+        rows.sort(Comparator.comparing(row -> row.card, ORDER));
+    }
+
+    /**
+     * カード1種類の枚数の変化を反映する。
+     * 新しいカードなら行を挿入し、0枚になったら行を削除し、それ以外は枚数だけを更新する。
+     *
+     * @param event 枚数の変化
+     */
+    public void apply(DeckCardChangedEvent event) {
+        CardRecipeModel card = event.cardRecipe();
+        int index = indexOf(card);
+        if (event.newCount() <= 0) {
+            if (index >= 0) {
+                rows.remove(index);
+                fireIntervalRemoved(this, index, index);
+            }
+        } else if (index >= 0) {
+            Row row = rows.get(index);
+            if (row.count != event.newCount()) {
+                row.count = event.newCount();
+                row.label = null;
+                fireContentsChanged(this, index, index);
+            }
+        } else {
+            int insertAt = -(index + 1);
+            rows.add(insertAt, new Row(card, event.newCount()));
+            fireIntervalAdded(this, insertAt, insertAt);
+        }
+    }
+
+    /**
+     * まとめて変更された複数のカードの枚数を1回で反映する。
+     * 既存の行の更新と削除の印付けを二分探索で行い、追加する行は並べ替えてから既存の行と1回で併合する。
+     * 通知は、行数が変わらなければ変更範囲の1回、変われば変更範囲と増減分の2回にまとめる。
+     *
+     * @param event まとめて変更されたカード
+     */
+    public void apply(DeckCardsChangedEvent event) {
+        if (event.changes().size() == 1) {
+            apply(event.changes().get(0));
+            return;
+        }
+
+        int oldSize = rows.size();
+        int firstChanged = oldSize;
+        boolean removed = false;
+        List<Row> added = new ArrayList<>();
+        for (DeckCardChangedEvent change : event.changes()) {
+            int index = indexOf(change.cardRecipe());
+            if (index >= 0) {
+                Row row = rows.get(index);
+                row.count = Math.max(0, change.newCount());
+                row.label = null;
+                removed |= row.count == 0;
+                firstChanged = Math.min(firstChanged, index);
+            } else if (change.newCount() > 0) {
+                added.add(new Row(change.cardRecipe(), change.newCount()));
+            }
+        }
+        if (removed) {
+            rows.removeIf(row -> row.count == 0);
+        }
+        if (!added.isEmpty()) {
+            added.sort(Comparator.comparing(row -> row.card, ORDER));
+            firstChanged = Math.min(firstChanged, merge(added));
+        }
+
+        int newSize = rows.size();
+        int common = Math.min(oldSize, newSize);
+        if (firstChanged < common) {
+            fireContentsChanged(this, firstChanged, common - 1);
+        }
+        if (newSize > oldSize) {
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        } else if (newSize < oldSize) {
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        }
+    }
+
+    /**
+     * 並べ替え済みの行を既存の行に併合する。
+     *
+     * @param added 追加する行（表示順に並べ替え済み）
+     * @return 最初に追加された行の位置
+     */
+    private int merge(List<Row> added) {
+        List<Row> merged = new ArrayList<>(rows.size() + added.size());
+        int first = -1;
+        int i = 0;
+        for (Row row : added) {
+            while (i < rows.size() && ORDER.compare(rows.get(i).card, row.card) < 0) {
+                merged.add(rows.get(i++));
+            }
+            if (first < 0) {
+                first = merged.size();
+            }
+            merged.add(row);
+        }
+        while (i < rows.size()) {
+            merged.add(rows.get(i++));
+        }
+        rows.clear();
+        rows.addAll(merged);
+        return first;
+    }
+
+    /**
+     * カードの行番号を二分探索で求める。
+     *
+     * @param card カード
+     * @return 行番号。ない場合は {@code -(挿入位置) - 1}
+     */
+    public int indexOf(CardRecipeModel card) {
+        int low = 0;
+        int high = rows.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = ORDER.compare(rows.get(mid).card, card);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * 指定した行のカードを取得する。
+     *
+     * @param index 行番号
+     * @return カード
+     */
+    public CardRecipeModel getCardAt(int index) {
+        return rows.get(index).card;
+    }
+
+    /**
+     * 指定した行の枚数を取得する。
+     *
+     * @param index 行番号
+     * @return 枚数
+     */
+    public int getCountAt(int index) {
+        return rows.get(index).count;
+    }
+
+    /**
+     * 表示順に並んだカードの一覧を取得する。
+     *
+     * @return カードの一覧（変更不可）
+     */
+    public List<CardRecipeModel> getCards() {
+        List<CardRecipeModel> cards = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            cards.add(row.card);
+        }
+        return Collections.unmodifiableList(cards);
+    }
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        Row row = rows.get(index);
+        if (row.label == null) {
+            row.label = row.card.name() + " (コスト: " + row.card.cost() + ") x" + row.count;
+        }
+        return row.label;
+    }
+}
@@ -1,15 +1,38 @@
 package com.miozune.mediapro.deck;
 
 import com.miozune.mediapro.cardrecipe.CardRecipeModel;
+import com.miozune.mediapro.cardrecipe.CardRecipeRegistry;
 import com.miozune.mediapro.deck.events.DeckPropertyChangeEvent;
 import com.miozune.mediapro.deck.events.DeckCardChangedEvent;
+import com.miozune.mediapro.deck.events.DeckCardsChangedEvent;
 import com.miozune.mediapro.deck.events.DeckNameChangedEvent;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class DeckModel {
+    private static final int REMOVED = -1; // order 上の0枚になった種類の跡（まとめて詰め直す）
+
     private String name; // デッキの名前
-    private final Map<CardRecipeModel, Integer> cards = new LinkedHashMap<>(); // カードの種類、枚数、追加順を保持
+
+    // カードの枚数は CardRecipeRegistry のIDを添字とする配列で保持する（ボクシングやレコードのハッシュ計算を避ける）
+    private int[] counts = new int[16]; // IDごとの枚数
+    private int[] positions = new int[16]; // IDごとの order 内の位置
+    private int[] order = new int[16]; // デッキにあるカードのID（追加順。0枚になった種類は REMOVED で残す）
+    private int orderLength; // order の使用中の長さ（REMOVED を含む）
+    private int kinds; // デッキにあるカードの種類数
+    private int total; // デッキの総枚数（変更のたびに更新する）
+    private final Map<CardRecipeModel, Integer> cardsView = new CountsView();
+
+    // まとめて変更中の状態（beginBatch から commitBatch まで）
+    private int batchDepth; // 入れ子になった beginBatch の数
+    private int[] batchOldCounts = new int[16]; // IDごとの変更前の枚数+1（0は未変更）
+    private int[] batchTouched = new int[16]; // 変更したカードのID（変更順）
+    private int batchTouchedCount;
+    private final Deque<Savepoint> savepoints = new ArrayDeque<>(); // beginBatch ごとの取り消し用の状態
+
+    /* beginBatch の時点の内容（rollbackBatch でここに戻す） */
+    private record Savepoint(int[] order, int[] counts, int total, int touchedCount) {}
 
     @FunctionalInterface
     public interface PropertyChangeListener {
@@ -41,38 +64,197 @@ public class DeckModel {
 
     /* カードを1枚追加する */
     public void addCard(CardRecipeModel card) {
-        int current = cards.getOrDefault(card, 0);
-        cards.put(card, current + 1);
-        fireEvent(new DeckCardChangedEvent(this, card, current, current + 1));
+        int id = CardRecipeRegistry.idOf(card);
+        ensureCapacity(id);
+        int current = counts[id];
+        if (current == 0) {
+            // 新しい種類は末尾に追加する（空きがなければ、先に跡を詰め直す）
+            if (orderLength == order.length) {
+                compactOrder();
+                if (orderLength == order.length) {
+                    order = Arrays.copyOf(order, orderLength * 2);
+                }
+            }
+            positions[id] = orderLength;
+            order[orderLength++] = id;
+            kinds++;
+        }
+        counts[id] = current + 1;
+        total++;
+        cardChanged(id, card, current, current + 1);
     }
 
     /* カードを1枚減らす */
     public void removeCard(CardRecipeModel card) {
-        if (!cards.containsKey(card))
+        int id = CardRecipeRegistry.find(card);
+        if (id < 0 || id >= counts.length || counts[id] == 0)
             return;
 
-        int current = cards.get(card);
+        int current = counts[id];
+        counts[id] = current - 1;
+        total--;
         if (current <= 1) {
-            cards.remove(card); // 0枚になるなら行ごと消す
-            fireEvent(new DeckCardChangedEvent(this, card, current, 0));
-        } else {
-            cards.put(card, current - 1);
-            fireEvent(new DeckCardChangedEvent(this, card, current, current - 1));
+            removeFromOrder(id); // 0枚になるなら行ごと消す
+        }
+        cardChanged(id, card, current, current - 1);
+    }
+
+    /* 枚数の変化を通知する（まとめて変更中は記録だけして、確定時にまとめて通知する） */
+    private void cardChanged(int id, CardRecipeModel card, int oldCount, int newCount) {
+        if (batchDepth == 0) {
+            fireEvent(new DeckCardChangedEvent(this, card, oldCount, newCount));
+            return;
+        }
+        if (batchOldCounts[id] == 0) {
+            batchOldCounts[id] = oldCount + 1;
+            if (batchTouchedCount == batchTouched.length) {
+                batchTouched = Arrays.copyOf(batchTouched, batchTouchedCount * 2);
+            }
+            batchTouched[batchTouchedCount++] = id;
+        }
+    }
+
+    /*
+     * まとめて変更を開始する。
+     * commitBatch を呼ぶまでカードの変更は通知されず、確定時に変更されたカードすべてを
+     * 1つの DeckCardsChangedEvent で通知する。入れ子にでき、最も外側の commitBatch で確定する。
+     * デッキ名の変更はまとめずにすぐ通知する。
+     */
+    public void beginBatch() {
+        compactOrder();
+        int[] savedOrder = Arrays.copyOf(order, kinds);
+        int[] savedCounts = new int[kinds];
+        for (int i = 0; i < kinds; i++) {
+            savedCounts[i] = counts[order[i]];
+        }
+        savepoints.push(new Savepoint(savedOrder, savedCounts, total, batchTouchedCount));
+        batchDepth++;
+    }
+
+    /* まとめて変更を確定し、変更されたカードを1回で通知する */
+    public void commitBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("commitBatch without beginBatch");
+        }
+        savepoints.pop();
+        if (--batchDepth > 0) {
+            return;
+        }
+
+        List<DeckCardChangedEvent> changes = new ArrayList<>(batchTouchedCount);
+        for (int i = 0; i < batchTouchedCount; i++) {
+            int id = batchTouched[i];
+            int oldCount = batchOldCounts[id] - 1;
+            batchOldCounts[id] = 0;
+            if (oldCount != counts[id]) {
+                changes.add(new DeckCardChangedEvent(this, CardRecipeRegistry.get(id), oldCount, counts[id]));
+            }
+        }
+        batchTouchedCount = 0;
+        if (!changes.isEmpty()) {
+            fireEvent(new DeckCardsChangedEvent(this, changes));
+        }
+    }
+
+    /*
+     * 最も内側のまとめて変更を取り消し、その beginBatch の時点の内容に戻す（通知はしない）
+     * 外側のまとめて変更は続き、それまでの変更は外側の commitBatch で通知される
+     */
+    public void rollbackBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("rollbackBatch without beginBatch");
+        }
+        Savepoint savepoint = savepoints.pop();
+        batchDepth--;
+
+        // 枚数と追加順を戻す
+        for (int i = 0; i < orderLength; i++) {
+            if (order[i] != REMOVED) {
+                counts[order[i]] = 0;
+            }
+        }
+        int savedKinds = savepoint.order().length;
+        order = Arrays.copyOf(savepoint.order(), Math.max(savedKinds, order.length));
+        kinds = savedKinds;
+        orderLength = savedKinds;
+        for (int i = 0; i < kinds; i++) {
+            counts[order[i]] = savepoint.counts()[i];
+            positions[order[i]] = i;
+        }
+        total = savepoint.total();
+
+        // このまとめて変更で初めて変更したカードは、変更していないことにする
+        for (int i = savepoint.touchedCount(); i < batchTouchedCount; i++) {
+            batchOldCounts[batchTouched[i]] = 0;
         }
+        batchTouchedCount = savepoint.touchedCount();
+    }
+
+    /*
+     * 複数の変更をまとめて適用する。
+     * 変更はすべて適用されてから1回だけ通知される。途中で例外が発生した場合は、この apply での変更だけを取り消す
+     * （外側のまとめて変更の中で例外を捕まえて続けた場合も、外側はそのまま確定できる）。
+     */
+    public void apply(Consumer<DeckModel> changes) {
+        beginBatch();
+        int depth = batchDepth;
+        try {
+            changes.accept(this);
+        } catch (RuntimeException | Error e) {
+            while (batchDepth >= depth) { // 確定されずに残った内側のまとめて変更も取り消す
+                rollbackBatch();
+            }
+            throw e;
+        }
+        commitBatch();
+    }
+
+    /* IDを添字に使えるよう配列を広げる */
+    private void ensureCapacity(int id) {
+        if (id >= counts.length) {
+            int capacity = Math.max(counts.length * 2, id + 1);
+            counts = Arrays.copyOf(counts, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            batchOldCounts = Arrays.copyOf(batchOldCounts, capacity);
+        }
+    }
+
+    /*
+     * 追加順を保ったまま種類を取り除く
+     * その場では跡を残すだけにし、跡が半分を超えたら詰め直す（1回あたり償却O(1)）
+     */
+    private void removeFromOrder(int id) {
+        order[positions[id]] = REMOVED;
+        kinds--;
+        if (orderLength - kinds > orderLength / 2) {
+            compactOrder();
+        }
+    }
+
+    /* 跡を取り除いて order を詰め直す */
+    private void compactOrder() {
+        if (orderLength == kinds) {
+            return;
+        }
+        int next = 0;
+        for (int i = 0; i < orderLength; i++) {
+            int id = order[i];
+            if (id != REMOVED) {
+                order[next] = id;
+                positions[id] = next++;
+            }
+        }
+        orderLength = next;
     }
 
     /* 特定のカードが今何枚あるかを取得する */
     public int getCount(CardRecipeModel card) {
-        return cards.getOrDefault(card, 0);
+        int id = CardRecipeRegistry.find(card);
+        return id >= 0 && id < counts.length ? counts[id] : 0;
     }
 
-    /* デッキの総枚数を計算する */
+    /* デッキの総枚数を取得する */
     public int getTotalCount() {
-        int total = 0;
-        for (int count : cards.values()) {
-            total += count;
-        }
-
         return total;
     }
 
@@ -87,8 +269,65 @@ public class DeckModel {
         fireEvent(new DeckNameChangedEvent(this, oldName, name));
     }
 
-    /* 生のMapデータを取得する */
+    /* カードと枚数のMapを取得する（追加順、変更不可、以降の変更も反映される） */
     public Map<CardRecipeModel, Integer> getCards() {
-        return Collections.unmodifiableMap(cards);
+        return cardsView;
+    }
+
+    /* 配列で保持している枚数をMapとして見せるビュー */
+    private final class CountsView extends AbstractMap<CardRecipeModel, Integer> {
+
+        @Override
+        public int size() {
+            return kinds;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            if (!(key instanceof CardRecipeModel card)) {
+                return null;
+            }
+            int count = getCount(card);
+            return count > 0 ? count : null;
+        }
+
+        @Override
+        public Set<Map.Entry<CardRecipeModel, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return kinds;
+                }
+
+                @Override
+                public Iterator<Map.Entry<CardRecipeModel, Integer>> iterator() {
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            while (index < orderLength && order[index] == REMOVED) {
+                                index++;
+                            }
+                            return index < orderLength;
+                        }
+
+                        @Override
+                        public Map.Entry<CardRecipeModel, Integer> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int id = order[index++];
+                            return new AbstractMap.SimpleImmutableEntry<>(CardRecipeRegistry.get(id), counts[id]);
+                        }
+                    };
+                }
+            };
+        }
     }
 }
\ No newline at end of file
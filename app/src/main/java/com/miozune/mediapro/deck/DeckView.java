@@ -3,12 +3,11 @@ package com.miozune.mediapro.deck;
 import com.miozune.mediapro.cardrecipe.CardRecipeModel;
 import com.miozune.mediapro.deck.events.DeckNameChangedEvent;
 import com.miozune.mediapro.deck.events.DeckCardChangedEvent;
+import com.miozune.mediapro.deck.events.DeckCardsChangedEvent;
 import com.miozune.mediapro.preview.Previewable;
+import com.miozune.mediapro.util.Fonts;
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Comparator;
 
 public class DeckView extends JPanel implements Previewable {
     private final DeckModel model;
@@ -16,7 +15,7 @@ public class DeckView extends JPanel implements Previewable {
     // UIコンポーネント
     private JLabel nameLabel;
     private JList<String> cardList;
-    private DefaultListModel<String> listModel;
+    private DeckListModel listModel;
     private JButton addButton;
     private JButton removeButton;
 
@@ -44,18 +43,19 @@ public class DeckView extends JPanel implements Previewable {
     private void initComponents() {
         nameLabel = new JLabel();
         nameLabel.setForeground(Color.WHITE);
-        nameLabel.setFont(new Font("SansSerif", Font.BOLD, 20));
+        nameLabel.setFont(Fonts.get("SansSerif", Font.BOLD, 20));
 
-        listModel = new DefaultListModel<>();
+        // 枚数の変化は差分だけを反映する（一覧全体は作り直さない）
+        listModel = new DeckListModel(model);
         cardList = new JList<>(listModel);
         cardList.setBackground(new Color(45, 45, 45));
         cardList.setForeground(Color.WHITE);
-        cardList.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        cardList.setFont(Fonts.get("SansSerif", Font.PLAIN, 14));
 
         addButton = new JButton("カード追加");
         removeButton = new JButton("カード削除");
 
-        Font btnFont = new Font("SansSerif", Font.BOLD, 16);
+        Font btnFont = Fonts.get("SansSerif", Font.BOLD, 16);
         for (JButton btn : new JButton[] { addButton, removeButton }) {
             btn.setFont(btnFont);
             btn.setFocusPainted(false);
@@ -79,30 +79,20 @@ public class DeckView extends JPanel implements Previewable {
         model.addPropertyChangeListener(event -> {
             switch (event) {
                 case DeckNameChangedEvent e -> updateNameDisplay(e.newName());
-                case DeckCardChangedEvent e -> updateCardList();
+                case DeckCardChangedEvent e -> listModel.apply(e);
+                case DeckCardsChangedEvent e -> listModel.apply(e);
             }
         });
     }
 
     private void updateAllDisplays() {
         updateNameDisplay(model.getName());
-        updateCardList();
     }
 
     private void updateNameDisplay(String name) {
         nameLabel.setText("デッキ名: " + name);
     }
 
-    private void updateCardList() {
-        listModel.clear();
-        List<CardRecipeModel> cards = new ArrayList<>(model.getCards().keySet());
-        cards.sort(Comparator.comparingInt(CardRecipeModel::cost).thenComparing(CardRecipeModel::name));
-        for (CardRecipeModel card : cards) {
-            int count = model.getCount(card);
-            listModel.addElement(card.name() + " (コスト: " + card.cost() + ") x" + count);
-        }
-    }
-
     // getter for buttons (Controller access)
     public JButton getAddButton() {
         return addButton;
@@ -122,13 +112,19 @@ public class DeckView extends JPanel implements Previewable {
         // プレビュー用のダミーデータ
         CardRecipeModel dummyCard1 = new CardRecipeModel("ファイアボール", 3, "fireball.png", "火の玉を投げる");
         CardRecipeModel dummyCard2 = new CardRecipeModel("ヒール", 2, "heal.png", "HPを回復する");
-        model.addCard(dummyCard1);
-        model.addCard(dummyCard1);
-        model.addCard(dummyCard2);
+        model.apply(deck -> {
+            deck.addCard(dummyCard1);
+            deck.addCard(dummyCard1);
+            deck.addCard(dummyCard2);
+        });
         model.setName("プレビューデッキ");
     }
 
     public DeckModel getModel() {
         return model;
     }
+
+    public DeckListModel getListModel() {
+        return listModel;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.miozune.mediapro.deck.events;
+
+import java.util.List;
+
+import com.miozune.mediapro.deck.DeckModel;
+
+/**
+ * まとめて変更（{@link DeckModel#apply} など）で枚数が変わったカードをまとめて通知するイベント。
+ * 変更されたカードごとに、変更前と確定後の枚数を1つずつ、最初に変更された順に持つ。
+ * 途中の変化は含まず、結果として枚数が変わらなかったカードも含まない。
+ */
+public record DeckCardsChangedEvent(
+        DeckModel deck,
+        List<DeckCardChangedEvent> changes) implements DeckPropertyChangeEvent {
+
+    public DeckCardsChangedEvent {
+        changes = List.copyOf(changes);
+    }
+
+    @Override
+    public DeckModel getDeck() {
+        return deck;
+    }
+}
@@ -3,7 +3,7 @@ package com.miozune.mediapro.deck.events;
 import com.miozune.mediapro.deck.DeckModel;
 
 public sealed interface DeckPropertyChangeEvent
-        permits DeckNameChangedEvent, DeckCardChangedEvent {
+        permits DeckNameChangedEvent, DeckCardChangedEvent, DeckCardsChangedEvent {
 
     DeckModel getDeck();
 }
\ No newline at end of file
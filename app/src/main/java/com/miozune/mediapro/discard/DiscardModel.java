@@ -1,20 +1,59 @@
 package com.miozune.mediapro.discard;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.miozune.mediapro.card.CardModel;
 import com.miozune.mediapro.discard.events.DiscardPropertyChangeEvent;
-import com.miozune.mediapro.discard.events.DiscardCardChangedEvent;
+import com.miozune.mediapro.discard.events.DiscardCardInsertedEvent;
+import com.miozune.mediapro.discard.events.DiscardCardRemovedEvent;
+import com.miozune.mediapro.discard.events.DiscardCardsAddedEvent;
+import com.miozune.mediapro.discard.events.DiscardClearedEvent;
+import com.miozune.mediapro.zone.CardZoneStore;
+import com.miozune.mediapro.zone.Zone;
 
+/**
+ * 捨札。
+ * {@link CardZoneStore} の捨札に対するビューで、カードの実体はストアのint配列に置かれる。
+ * ストア上の移動（手札を捨てる、捨札を山札に戻すなど）も、この捨札への変更としてリスナーに通知する。
+ */
 public class DiscardModel {
-    private final List<CardModel> cards;
+    private final CardZoneStore store;
+
+    private final List<CardModel> cardsView = new AbstractList<>() {
+        @Override
+        public CardModel get(int index) {
+            return store.cardAt(Zone.DISCARD, index);
+        }
+
+        @Override
+        public int size() {
+            return store.size(Zone.DISCARD);
+        }
+    };
 
     public DiscardModel() {
-        this.cards = new ArrayList<>();
+        this(new CardZoneStore());
     }
-    
+
+    /**
+     * 共有のストアの捨札を表示する捨札を作成する。
+     *
+     * @param store 戦闘中のカードを管理するストア
+     */
+    public DiscardModel(CardZoneStore store) {
+        this.store = store;
+        store.addListener(new ZoneListener());
+    }
+
+    public CardZoneStore getStore() {
+        return store;
+    }
+
     // リスナー管理用のインターフェースとメソッド
     @FunctionalInterface
     public interface PropertyChangeListener{
@@ -33,6 +72,51 @@ public class DiscardModel {
         listeners.remove(listener);
     }
 
+    /**
+     * ストア上の移動を、この捨札のイベントに変換する。
+     * リスナーがいない間はイベントを作らない。
+     */
+    private final class ZoneListener implements CardZoneStore.Listener {
+        @Override
+        public void cardMoved(int handle, Zone from, int fromIndex, Zone to, int toIndex) {
+            if (listeners.isEmpty()) {
+                return;
+            }
+            CardModel card = store.getCard(handle);
+            if (from == Zone.DISCARD) {
+                fireEvent(new DiscardCardRemovedEvent(DiscardModel.this, fromIndex, card));
+            }
+            if (to == Zone.DISCARD) {
+                fireEvent(new DiscardCardInsertedEvent(DiscardModel.this, toIndex, card));
+            }
+        }
+
+        @Override
+        public void cardsMoved(Zone from, Zone to, int toIndex, int count) {
+            if (listeners.isEmpty()) {
+                return;
+            }
+            if (from == Zone.DISCARD) {
+                fireEvent(new DiscardClearedEvent(DiscardModel.this));
+            }
+            if (to == Zone.DISCARD) {
+                fireEvent(new DiscardCardsAddedEvent(DiscardModel.this, toIndex,
+                    List.copyOf(cardsView.subList(toIndex, toIndex + count))));
+            }
+        }
+
+        @Override
+        public void zoneChanged(Zone zone) {
+            if (zone != Zone.DISCARD || listeners.isEmpty()) {
+                return;
+            }
+            fireEvent(new DiscardClearedEvent(DiscardModel.this));
+            if (!cardsView.isEmpty()) {
+                fireEvent(new DiscardCardsAddedEvent(DiscardModel.this, 0, snapshot()));
+            }
+        }
+    }
+
     private void fireEvent(DiscardPropertyChangeEvent event) {
         for (PropertyChangeListener listener : listeners) {
             listener.onPropertyChanged(event);
@@ -40,28 +124,87 @@ public class DiscardModel {
     }
     
     // カード操作メソッド
+    // 変更は差分のイベントで通知し、一覧全体の複製は作らない
+
+    /**
+     * カードの一覧を取得する。
+     *
+     * @return カードの一覧（変更不可のビュー。以降の変更も反映される）
+     */
     public List<CardModel> getCards() {
-        return this.cards;
+        return Collections.unmodifiableList(this.cardsView);
+    }
+
+    /**
+     * 現時点のカードの一覧の複製を取得する。
+     * 後から変更されても影響を受けない一覧が必要な場合に使う。
+     *
+     * @return カードの一覧の複製
+     */
+    public List<CardModel> snapshot() {
+        return List.copyOf(this.cardsView);
     }
 
+    public int size() {
+        return store.size(Zone.DISCARD);
+    }
+
+    /**
+     * 戦闘中に新しく作られたカードを末尾に加える。
+     *
+     * @param card カード
+     */
     public void addCard(CardModel card) {
-        List<CardModel> oldCards = new ArrayList<>(this.cards);
-        this.cards.add(card);
-        fireEvent(new DiscardCardChangedEvent(this, oldCards, new ArrayList<>(this.cards)));
+        store.add(card, Zone.DISCARD);
+    }
+
+    public void addCard(int index, CardModel card) {
+        store.add(card, Zone.DISCARD, index);
+    }
+
+    /**
+     * 複数のカードを末尾にまとめて追加する。
+     * イベントは1回だけ通知される。
+     *
+     * @param newCards 追加するカード
+     */
+    public void addCards(Collection<CardModel> newCards) {
+        store.addAll(newCards, Zone.DISCARD);
     }
 
     public void removeCard(CardModel card) {
-        List<CardModel> oldCards = new ArrayList<>(this.cards); 
-        this.cards.remove(card);
-        fireEvent(new DiscardCardChangedEvent(this, oldCards, new ArrayList<>(this.cards)));
+        int index = store.indexOf(Zone.DISCARD, card);
+        if (index >= 0) {
+            removeCard(index);
+        }
+    }
+
+    /**
+     * 指定した位置のカードを除外する。
+     *
+     * @param index 位置
+     * @return 除外したカード
+     */
+    public CardModel removeCard(int index) {
+        int handle = store.handleAt(Zone.DISCARD, index);
+        store.move(handle, Zone.EXHAUST);
+        return store.getCard(handle);
+    }
+
+    /**
+     * 捨札をすべて除外する。
+     */
+    public void clear() {
+        store.moveAll(Zone.DISCARD, Zone.EXHAUST);
     }
 
     public static DiscardModel createDefaultDiscard() {
         DiscardModel model = new DiscardModel();
+        List<CardModel> samples = new ArrayList<>();
         for(int i = 0; i < 14; i++) {
-            CardModel sample = CardModel.createSample();
-            model.addCard(sample);
+            samples.add(CardModel.createSample());
         }
+        model.addCards(samples);
         return model;
     }
 }
@@ -1,13 +1,17 @@
 package com.miozune.mediapro.discard;
 
+import com.miozune.mediapro.card.CardGridView;
 import com.miozune.mediapro.card.CardModel;
 import com.miozune.mediapro.card.CardView;
-import com.miozune.mediapro.discard.events.DiscardCardChangedEvent;
+import com.miozune.mediapro.discard.events.DiscardCardInsertedEvent;
+import com.miozune.mediapro.discard.events.DiscardCardRemovedEvent;
+import com.miozune.mediapro.discard.events.DiscardCardsAddedEvent;
+import com.miozune.mediapro.discard.events.DiscardClearedEvent;
 import com.miozune.mediapro.preview.Previewable;
+import com.miozune.mediapro.util.Fonts;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -19,9 +23,8 @@ public class DiscardView extends JPanel implements Previewable {
     private JLayeredPane layeredPane;
     private JPanel contentPanel;
     private JPanel detailPanel;
-    private JPanel cardListPanel;
+    private CardGridView cardGrid;
     private JButton closeButton;
-    private ActionListener cardClickListener;
     private DiscardModel.PropertyChangeListener modelListener;
     
     public DiscardView() {
@@ -68,28 +71,23 @@ public class DiscardView extends JPanel implements Previewable {
         topContainer.setBorder(BorderFactory.createEmptyBorder(20, 20, 10, 20));
 
         closeButton = new JButton("× 閉じる");
-        closeButton.setFont(new Font("Meiryo", Font.BOLD, 16));
+        closeButton.setFont(Fonts.get("Meiryo", Font.BOLD, 16));
         JPanel btnPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         btnPanel.setOpaque(false);
         btnPanel.add(closeButton);
     
         JLabel titleLabel = new JLabel("捨て札一覧", SwingConstants.CENTER);
-        titleLabel.setFont(new Font("Meiryo", Font.BOLD, 32));
+        titleLabel.setFont(Fonts.get("Meiryo", Font.BOLD, 32));
         titleLabel.setForeground(Color.WHITE);
         topContainer.add(btnPanel, BorderLayout.NORTH);
         topContainer.add(titleLabel, BorderLayout.CENTER);
         contentPanel.add(topContainer, BorderLayout.NORTH);
 
         // 中央パネル（カード一覧エリア）
-        cardListPanel = new JPanel(new GridLayout(0, 4, 20, 20));
-        cardListPanel.setOpaque(false);
-        cardListPanel.setBorder(BorderFactory.createEmptyBorder(20, 40, 20, 40));
-        
-        JPanel gridWrapper = new JPanel(new BorderLayout());
-        gridWrapper.setOpaque(false);
-        gridWrapper.add(cardListPanel, BorderLayout.NORTH);
+        // 枚数が多くても表示中のカードだけを描画するグリッドを使う
+        cardGrid = new CardGridView();
  
-        JScrollPane scrollPane = new JScrollPane(gridWrapper);
+        JScrollPane scrollPane = new JScrollPane(cardGrid);
         scrollPane.setOpaque(false);
         scrollPane.getViewport().setOpaque(false);
         scrollPane.setBorder(null);
@@ -160,7 +158,7 @@ public class DiscardView extends JPanel implements Previewable {
     }
 
     public void setCardClickListener(ActionListener listener) {
-        this.cardClickListener = listener;
+        cardGrid.setCardClickListener(listener);
     }
     
     // --- Model連携 ---
@@ -168,7 +166,11 @@ public class DiscardView extends JPanel implements Previewable {
     private void setupModelListener() {
         modelListener = event -> {
             switch (event) {
-                case DiscardCardChangedEvent e -> updateDiscard(e.newcards());
+                // 差分だけをグリッドに反映する
+                case DiscardCardInsertedEvent e -> cardGrid.insertCard(e.index(), e.card());
+                case DiscardCardRemovedEvent e -> cardGrid.removeCard(e.index());
+                case DiscardCardsAddedEvent e -> cardGrid.addCards(e.cards());
+                case DiscardClearedEvent e -> cardGrid.clearCards();
             }
         };
 
@@ -176,24 +178,7 @@ public class DiscardView extends JPanel implements Previewable {
     }
 
     private void updateDiscard(List<CardModel> cards) {
-        cardListPanel.removeAll();
-        for (CardModel cardModel : cards) {
-            CardView cardView = new CardView(cardModel);
-
-            cardView.addMouseListener(new MouseAdapter() {
-                @Override
-                public void mouseClicked(MouseEvent e) {
-                    if (cardClickListener != null) {
-                        ActionEvent actionEvent = new ActionEvent(cardModel, ActionEvent.ACTION_PERFORMED, "cardClicked");
-                        cardClickListener.actionPerformed(actionEvent);
-                    }
-                }
-            });
-
-            cardListPanel.add(cardView);
-        }
-        cardListPanel.revalidate();
-        cardListPanel.repaint();
+        cardGrid.setCards(cards);
     }
     
     // --- Previewable実装 ---
@@ -0,0 +1,19 @@
+package com.miozune.mediapro.discard.events;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.discard.DiscardModel;
+
+/**
+ * 1枚のカードが指定位置に追加されたことを表すイベント。
+ */
+public record DiscardCardInsertedEvent(
+    DiscardModel discard,
+    int index,
+    CardModel card
+) implements DiscardPropertyChangeEvent {
+    
+    @Override
+    public DiscardModel getDiscard() {
+        return discard;
+    }
+}
@@ -1,14 +1,15 @@
 package com.miozune.mediapro.discard.events;
 
-import java.util.List;
-
 import com.miozune.mediapro.card.CardModel;
 import com.miozune.mediapro.discard.DiscardModel;
 
-public record DiscardCardChangedEvent(
+/**
+ * 指定位置のカードが1枚取り除かれたことを表すイベント。
+ */
+public record DiscardCardRemovedEvent(
     DiscardModel discard,
-    List<CardModel> oldcards,
-    List<CardModel> newcards
+    int index,
+    CardModel card
 ) implements DiscardPropertyChangeEvent {
     
     @Override
@@ -0,0 +1,22 @@
+package com.miozune.mediapro.discard.events;
+
+import java.util.List;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.discard.DiscardModel;
+
+/**
+ * 複数のカードが末尾にまとめて追加されたことを表すイベント。
+ * 追加されたカードは {@code fromIndex} から順に並ぶ。
+ */
+public record DiscardCardsAddedEvent(
+    DiscardModel discard,
+    int fromIndex,
+    List<CardModel> cards
+) implements DiscardPropertyChangeEvent {
+    
+    @Override
+    public DiscardModel getDiscard() {
+        return discard;
+    }
+}
@@ -0,0 +1,16 @@
+package com.miozune.mediapro.discard.events;
+
+import com.miozune.mediapro.discard.DiscardModel;
+
+/**
+ * すべてのカードが取り除かれたことを表すイベント。
+ */
+public record DiscardClearedEvent(
+    DiscardModel discard
+) implements DiscardPropertyChangeEvent {
+    
+    @Override
+    public DiscardModel getDiscard() {
+        return discard;
+    }
+}
@@ -3,7 +3,7 @@ package com.miozune.mediapro.discard.events;
 import com.miozune.mediapro.discard.DiscardModel;
 
 public sealed interface DiscardPropertyChangeEvent 
-    permits DiscardCardChangedEvent {
+    permits DiscardCardInsertedEvent, DiscardCardRemovedEvent, DiscardCardsAddedEvent, DiscardClearedEvent {
     
     DiscardModel getDiscard();
 }
@@ -1,33 +1,162 @@
 package com.miozune.mediapro.drawpile;
 
+import java.util.AbstractList;
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.zone.CardZoneStore;
+import com.miozune.mediapro.zone.Zone;
 
+/**
+ * 山札。
+ * {@link CardZoneStore} の山札に対するビューで、カードの実体はストアのint配列に置かれる。
+ * ストアは配列の末尾を一番上として扱うため、引く操作はO(1)で、配列の詰め直しは行わない。
+ * 引いたカードはストアの手札に移る。
+ * <p>
+ * シャッフルはその場でのFisher–Yatesで、乱数生成器はストアの作成時に渡せる。
+ * 同じシードの乱数生成器で同じ操作を行えば、引かれるカードの順番も同じになる
+ * （シミュレーションやリプレイの再現に使う）。
+ */
 public class DrawPileModel {
-    private List<CardModel> cards;
+    private final CardZoneStore store;
 
+    /** 引かれる順に並んだ残りのカード（ストアの並びを逆順に見せる） */
+    private final List<CardModel> cardsView = new AbstractList<>() {
+        @Override
+        public CardModel get(int index) {
+            return store.cardAt(Zone.DRAW_PILE, size() - 1 - index);
+        }
+
+        @Override
+        public int size() {
+            return store.size(Zone.DRAW_PILE);
+        }
+    };
+
+    /**
+     * 空の山札を作成する。シャッフルにはランダムなシードの乱数生成器を使う。
+     */
     public DrawPileModel() {
+        this(new CardZoneStore());
+    }
+
+    /**
+     * 指定したシードでシャッフルする山札を作成する。
+     *
+     * @param cards 山札に入れるカード（先頭から順に引かれる）
+     * @param seed シャッフルに使う乱数のシード
+     */
+    public DrawPileModel(List<CardModel> cards, long seed) {
+        this(cards, new SplittableRandom(seed));
+    }
+
+    /**
+     * 指定した乱数生成器でシャッフルする山札を作成する。
+     *
+     * @param cards 山札に入れるカード（先頭から順に引かれる）
+     * @param random シャッフルに使う乱数生成器
+     */
+    public DrawPileModel(List<CardModel> cards, RandomGenerator random) {
+        this(new CardZoneStore(random));
+        setCards(cards);
+    }
+
+    /**
+     * 共有のストアの山札を表示する山札を作成する。
+     *
+     * @param store 戦闘中のカードを管理するストア
+     */
+    public DrawPileModel(CardZoneStore store) {
+        this.store = store;
+    }
 
+    public CardZoneStore getStore() {
+        return store;
     }
 
+    /**
+     * 戦闘で使うカードを入れ替える。ストアの手札・捨札も空になる。
+     * ストアの配列の容量が足りる場合は再確保しない。
+     *
+     * @param cards 山札に入れるカード（先頭から順に引かれる）
+     */
+    public void setCards(List<CardModel> cards) {
+        store.load(cards);
+    }
+
+    /**
+     * 残りのカードをシャッフルする。すでに引かれたカードは対象にしない。
+     */
     public void shuffle() {
-        throw new UnsupportedOperationException();
+        store.shuffle(Zone.DRAW_PILE);
     }
 
+    /**
+     * 山札の一番上のカードを取り出し、手札に移す。
+     * 山札が空でも捨札は戻さない。
+     *
+     * @return 取り出したカード
+     * @throws NoSuchElementException 山札が空の場合
+     */
     public CardModel dealCard() {
-        throw new UnsupportedOperationException();
+        if (isEmpty()) {
+            throw new NoSuchElementException("Draw pile is empty");
+        }
+        return store.getCard(store.draw());
     }
 
+    /**
+     * 山札の一番上のカードを引き、手札に移す。
+     * 山札が空の場合は先に捨札を戻してシャッフルし、それでも空なら何もしない。
+     *
+     * @return 引いたカード、山札も捨札も空の場合はnull
+     */
     public CardModel drawCard() {
-        throw new UnsupportedOperationException();
+        int handle = store.draw();
+        return handle >= 0 ? store.getCard(handle) : null;
+    }
+
+    /**
+     * 山札の一番上のカードを、取り出さずに取得する。
+     *
+     * @return 一番上のカード、山札が空の場合はnull
+     */
+    public CardModel peekCard() {
+        return isEmpty() ? null : cardsView.get(0);
     }
 
+    /**
+     * 山札に残っているカードの枚数を取得する。
+     *
+     * @return 残りの枚数
+     */
     public int getSize() {
-        throw new UnsupportedOperationException();
+        return store.size(Zone.DRAW_PILE);
+    }
+
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * 山札に残っているカードを、引かれる順に取得する。
+     *
+     * @return 残りのカード（変更不可のビュー。以降の変更も反映される）
+     */
+    public List<CardModel> getCards() {
+        return Collections.unmodifiableList(cardsView);
     }
 
+    /**
+     * 手札・捨札・除外のカードをすべて山札に戻し、最後にセットされたときの並び順に戻す。
+     * セットした後にストアへ追加されたカード（戦闘中に作られたカードなど）は取り除く。
+     * 配列は再確保せずに上書きする。乱数生成器の状態は戻さない。
+     */
     public void reset() {
-        throw new UnsupportedOperationException();
+        store.reset();
     }
 }
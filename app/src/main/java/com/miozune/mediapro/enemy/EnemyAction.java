@@ -0,0 +1,13 @@
+package com.miozune.mediapro.enemy;
+
+/**
+ * 敵が自分のターンに取る行動。
+ */
+public enum EnemyAction {
+    /** プレイヤーに攻撃力分のダメージを与える（溜めている場合は2倍） */
+    ATTACK,
+    /** 力を溜め、次の攻撃のダメージを2倍にする */
+    CHARGE,
+    /** 最大HPの1/5（最低1）だけ回復する */
+    HEAL
+}
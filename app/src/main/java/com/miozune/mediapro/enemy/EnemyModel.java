@@ -1,5 +1,6 @@
 package com.miozune.mediapro.enemy;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.miozune.mediapro.Effect.EffectModel;
@@ -8,22 +9,115 @@ import com.miozune.mediapro.player.PlayerModel;
 public class EnemyModel {
     private String name;
     private int hp;
+    private int maxHp;
     private int attackPoint;
+    private boolean charged; // 次の攻撃が2倍になるか
     private List<EffectModel> effects;
 
     public EnemyModel() {
+        this("敵", 1, 0);
+    }
+
+    /**
+     * 敵を作成する。
+     *
+     * @param name 名前
+     * @param hp 最大HP（初期HPも同じ値になる）
+     * @param attackPoint 1回の攻撃でプレイヤーに与えるダメージ
+     */
+    public EnemyModel(String name, int hp, int attackPoint) {
+        this.name = name;
+        this.maxHp = Math.max(1, hp);
+        this.hp = this.maxHp;
+        this.attackPoint = Math.max(0, attackPoint);
+        this.effects = new ArrayList<>();
+    }
 
+    /**
+     * 同じ名前・最大HP・攻撃力で、HPが満タンの敵を作成する。
+     * 同じ敵の構成で何度も戦闘を始める場合に使う。
+     *
+     * @return 新しい敵
+     */
+    public EnemyModel copy() {
+        return new EnemyModel(name, maxHp, attackPoint);
     }
 
     public int getHp() {
         return hp;
     }
 
+    /**
+     * HPを設定する（スナップショットからの復元など）。0〜最大HPに収める。
+     *
+     * @param hp HP
+     */
+    public void setHp(int hp) {
+        this.hp = Math.max(0, Math.min(hp, maxHp));
+    }
+
+    public int getMaxHp() {
+        return maxHp;
+    }
+
     public String getName() {
-        throw new UnsupportedOperationException();
+        return name;
+    }
+
+    public int getAttackPoint() {
+        return attackPoint;
+    }
+
+    public List<EffectModel> getEffects() {
+        return effects;
+    }
+
+    public boolean isCharged() {
+        return charged;
+    }
+
+    public void setCharged(boolean charged) {
+        this.charged = charged;
+    }
+
+    public boolean isAlive() {
+        return hp > 0;
+    }
+
+    /**
+     * ダメージを受ける。
+     *
+     * @param damage ダメージ量
+     * @return 残りHP
+     */
+    public int receiveDamage(int damage) {
+        hp = Math.max(0, hp - Math.max(0, damage));
+        return hp;
+    }
+
+    /**
+     * プレイヤーを攻撃する。
+     *
+     * @param player 攻撃するプレイヤー
+     * @return 攻撃したプレイヤー
+     */
+    public PlayerModel attack(PlayerModel player) {
+        player.takeDamage(charged ? attackPoint * 2 : attackPoint);
+        charged = false;
+        return player;
     }
 
-    public PlayerModel receiveDamage() {
-        throw new UnsupportedOperationException();
+    /**
+     * 行動する。
+     *
+     * @param action 行動
+     * @param player 攻撃の対象になるプレイヤー
+     */
+    public void act(EnemyAction action, PlayerModel player) {
+        switch (action) {
+            case ATTACK -> attack(player);
+            case CHARGE -> charged = true;
+            case HEAL -> hp = Math.min(maxHp, hp + Math.max(1, maxHp / 5));
+        }
     }
 }
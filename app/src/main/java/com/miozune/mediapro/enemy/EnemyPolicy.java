@@ -0,0 +1,28 @@
+package com.miozune.mediapro.enemy;
+
+import com.miozune.mediapro.stage.StageModel;
+
+/**
+ * 敵のターンに、各敵の行動を決める方針。
+ */
+@FunctionalInterface
+public interface EnemyPolicy {
+
+    /**
+     * 敵の行動を決める。
+     *
+     * @param stage 敵のターン中の戦闘
+     * @param enemyIndex 行動する敵の位置
+     * @return 行動
+     */
+    EnemyAction chooseAction(StageModel stage, int enemyIndex);
+
+    /**
+     * 常に攻撃する方針。
+     *
+     * @return 方針
+     */
+    static EnemyPolicy attack() {
+        return (stage, enemyIndex) -> EnemyAction.ATTACK;
+    }
+}
@@ -1,33 +1,112 @@
 package com.miozune.mediapro.hand;
 
+import java.util.AbstractList;
+import java.util.Collections;
 import java.util.List;
 
 import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.zone.CardZoneStore;
+import com.miozune.mediapro.zone.Zone;
 
+/**
+ * 手札。
+ * {@link CardZoneStore} の手札に対するビューで、手札から出たカードはストアの捨札に移る。
+ */
 public class HandModel {
-    private List<CardModel> cards;
+    private final CardZoneStore store;
+
+    private final List<CardModel> cardsView = new AbstractList<>() {
+        @Override
+        public CardModel get(int index) {
+            return store.cardAt(Zone.HAND, index);
+        }
+
+        @Override
+        public int size() {
+            return store.size(Zone.HAND);
+        }
+    };
 
     public HandModel() {
-        
+        this(new CardZoneStore());
+    }
+
+    /**
+     * 共有のストアの手札を表示する手札を作成する。
+     *
+     * @param store 戦闘中のカードを管理するストア
+     */
+    public HandModel(CardZoneStore store) {
+        this.store = store;
+    }
+
+    public CardZoneStore getStore() {
+        return store;
     }
-    
+
+    /**
+     * 戦闘中に新しく作られたカードを手札に加える。
+     *
+     * @param card カード
+     */
     public void addCard(CardModel card) {
-        throw new UnsupportedOperationException();
+        store.add(card, Zone.HAND);
     }
 
+    /**
+     * カードを手札から捨札に移す。手札にない場合は何もしない。
+     *
+     * @param card カード（等しいカードが複数ある場合は最初の1枚）
+     */
     public void removeCard(CardModel card) {
-        throw new UnsupportedOperationException();
+        int index = store.indexOf(Zone.HAND, card);
+        if (index >= 0) {
+            store.move(store.handleAt(Zone.HAND, index), Zone.DISCARD);
+        }
+    }
+
+    /**
+     * カードを手札から除外する。手札にない場合は何もしない。
+     *
+     * @param card カード（等しいカードが複数ある場合は最初の1枚）
+     */
+    public void exhaustCard(CardModel card) {
+        int index = store.indexOf(Zone.HAND, card);
+        if (index >= 0) {
+            store.move(store.handleAt(Zone.HAND, index), Zone.EXHAUST);
+        }
     }
 
+    /**
+     * 手札のカードを取得する。
+     *
+     * @return カードの一覧（変更不可のビュー。以降の変更も反映される）
+     */
     public List<CardModel> getCards() {
-        throw new UnsupportedOperationException();  
+        return Collections.unmodifiableList(cardsView);
+    }
+
+    public int size() {
+        return store.size(Zone.HAND);
     }
 
+    /**
+     * 手札をすべて捨札に移す。
+     */
     public void clear() {
-        throw new UnsupportedOperationException();
+        store.moveAll(Zone.HAND, Zone.DISCARD);
     }
 
+    /**
+     * 手札のカードのコストの合計を取得する。
+     *
+     * @return コストの合計
+     */
     public int getHandValue() {
-        throw new UnsupportedOperationException();
+        int value = 0;
+        for (int i = 0; i < store.size(Zone.HAND); i++) {
+            value += store.cardAt(Zone.HAND, i).cost();
+        }
+        return value;
     }
 }
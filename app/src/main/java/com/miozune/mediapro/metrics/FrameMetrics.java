@@ -0,0 +1,221 @@
+package com.miozune.mediapro.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * フレームごとの処理時間とメモリ割り当て量を記録するレジストリ。
+ * ゲームループ、更新処理、描画処理から計測値を受け取り、
+ * 指標ごとの {@link LogHistogram} に蓄積する。
+ * <p>
+ * 各指標は、それを計測するスレッド（ループスレッドまたはEDT）からのみ記録される。
+ */
+public class FrameMetrics {
+
+    /**
+     * 計測する指標。
+     */
+    public enum Metric {
+        /** 1回の更新処理にかかった時間（ナノ秒） */
+        UPDATE_TIME("update", Unit.NANOS),
+        /** 1回の描画処理にかかった時間（ナノ秒） */
+        PAINT_TIME("paint", Unit.NANOS),
+        /** フレームの開始間隔（ナノ秒） */
+        FRAME_INTERVAL("frame", Unit.NANOS),
+        /** ループスレッドが1フレームで割り当てたメモリ量（バイト） */
+        ALLOCATED_BYTES("alloc", Unit.BYTES),
+        /** 入力が発生してから処理されるまでの時間（ナノ秒） */
+        INPUT_LATENCY("input", Unit.NANOS);
+
+        private final String label;
+        private final Unit unit;
+
+        Metric(String label, Unit unit) {
+            this.label = label;
+            this.unit = unit;
+        }
+
+        /**
+         * 表示用の短い名前を取得する。
+         *
+         * @return 表示名
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * 値の単位を取得する。
+         *
+         * @return 単位
+         */
+        public Unit getUnit() {
+            return unit;
+        }
+    }
+
+    /**
+     * 指標の値の単位。
+     */
+    public enum Unit {
+        /** ナノ秒 */
+        NANOS,
+        /** バイト */
+        BYTES
+    }
+
+    /**
+     * ある時点での指標の要約。
+     *
+     * @param metric 指標
+     * @param count 記録数
+     * @param p50 50パーセンタイル
+     * @param p95 95パーセンタイル
+     * @param p99 99パーセンタイル
+     * @param max 最大値
+     */
+    public record Summary(Metric metric, long count, long p50, long p95, long p99, long max) {}
+
+    private final Map<Metric, LogHistogram> histograms = new EnumMap<>(Metric.class);
+
+    /** スレッドごとのメモリ割り当て量を取得するMXBean（利用できない場合はnull） */
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    /** 直前のフレーム開始時刻（0の場合は未計測） */
+    private long lastFrameStart;
+
+    /** 直前のフレーム開始時点での割り当て量（-1の場合は未計測） */
+    private long lastAllocatedBytes = -1;
+
+    /**
+     * FrameMetricsを作成する。
+     */
+    public FrameMetrics() {
+        for (Metric metric : Metric.values()) {
+            histograms.put(metric, new LogHistogram());
+        }
+        this.allocationBean = findAllocationBean();
+    }
+
+    /**
+     * メモリ割り当て量を計測できるThreadMXBeanを取得する。
+     *
+     * @return ThreadMXBean。計測できない環境ではnull
+     */
+    private static com.sun.management.ThreadMXBean findAllocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return bean;
+        }
+        return null;
+    }
+
+    /**
+     * 直前のフレーム開始から次のフレーム開始までの間隔を記録しないようにする。
+     * オンデマンド描画の待機から戻った時に呼び出し、眠っていた時間をフレーム間隔に含めない。
+     */
+    public void skipFrameInterval() {
+        lastFrameStart = 0;
+    }
+    
+    /**
+     * フレームの開始を記録する。
+     * ゲームループのスレッドから1フレームに1回呼び出す。
+     * 前回のフレーム開始からの間隔と、その間にこのスレッドが割り当てたメモリ量を記録する。
+     */
+    public void recordFrameStart() {
+        long now = System.nanoTime();
+        if (lastFrameStart != 0) {
+            histograms.get(Metric.FRAME_INTERVAL).record(now - lastFrameStart);
+        }
+        lastFrameStart = now;
+
+        if (allocationBean != null) {
+            long allocated = allocationBean.getCurrentThreadAllocatedBytes();
+            if (lastAllocatedBytes >= 0 && allocated >= 0) {
+                histograms.get(Metric.ALLOCATED_BYTES).record(allocated - lastAllocatedBytes);
+            }
+            lastAllocatedBytes = allocated;
+        }
+    }
+
+    /**
+     * 更新処理の時間を記録する。
+     *
+     * @param nanos 更新処理にかかった時間（ナノ秒）
+     */
+    public void recordUpdate(long nanos) {
+        histograms.get(Metric.UPDATE_TIME).record(nanos);
+    }
+
+    /**
+     * 描画処理の時間を記録する。
+     *
+     * @param nanos 描画処理にかかった時間（ナノ秒）
+     */
+    public void recordPaint(long nanos) {
+        histograms.get(Metric.PAINT_TIME).record(nanos);
+    }
+
+    /**
+     * 入力の遅延を記録する。
+     *
+     * @param nanos 入力が発生してから処理されるまでの時間（ナノ秒）
+     */
+    public void recordInputLatency(long nanos) {
+        histograms.get(Metric.INPUT_LATENCY).record(nanos);
+    }
+
+    /**
+     * 指標のヒストグラムを取得する。
+     *
+     * @param metric 指標
+     * @return ヒストグラム
+     */
+    public LogHistogram getHistogram(Metric metric) {
+        return histograms.get(metric);
+    }
+
+    /**
+     * 指標の要約（p50/p95/p99/max）を取得する。
+     *
+     * @param metric 指標
+     * @return 要約
+     */
+    public Summary summarize(Metric metric) {
+        LogHistogram histogram = histograms.get(metric);
+        return new Summary(
+            metric,
+            histogram.getTotalCount(),
+            histogram.getPercentile(50),
+            histogram.getPercentile(95),
+            histogram.getPercentile(99),
+            histogram.getMax()
+        );
+    }
+
+    /**
+     * メモリ割り当て量を計測できるかどうかを返す。
+     *
+     * @return 計測できる場合はtrue
+     */
+    public boolean isAllocationTrackingSupported() {
+        return allocationBean != null;
+    }
+
+    /**
+     * すべての記録を消去する。
+     * 記録中のスレッドと競合しないよう、ループを停止している間に呼び出すこと。
+     */
+    public void reset() {
+        for (LogHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        lastFrameStart = 0;
+        lastAllocatedBytes = -1;
+    }
+}
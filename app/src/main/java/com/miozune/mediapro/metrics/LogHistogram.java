@@ -0,0 +1,154 @@
+package com.miozune.mediapro.metrics;
+
+import java.util.Arrays;
+
+/**
+ * 対数スケールのバケットで値の分布を記録するヒストグラム。
+ * 2の累乗ごとの区間を16個のサブバケットに分割するため、
+ * パーセンタイルの相対誤差は最大でも約6%に収まる。
+ * <p>
+ * バケット配列は生成時に確保し、{@link #record(long)} ではメモリを割り当てない。
+ * 書き込みは1つのスレッドから行うこと。読み出しは他のスレッドからも可能だが、
+ * 記録中の値が反映されていないことがある。
+ */
+public class LogHistogram {
+
+    /** サブバケット数のビット数 */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** 2の累乗の区間1つあたりのサブバケット数 */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /** バケットの総数（long型の正の値をすべて表せる数） */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private long sum;
+
+    /**
+     * 値を1つ記録する。負の値は0として扱う。
+     *
+     * @param value 記録する値
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[bucketIndex(v)]++;
+        totalCount++;
+        sum += v;
+        if (v < min) {
+            min = v;
+        }
+        if (v > max) {
+            max = v;
+        }
+    }
+
+    /**
+     * 記録をすべて消去する。
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+        sum = 0;
+    }
+
+    /**
+     * 指定したパーセンタイルの値を取得する。
+     * 値は該当バケットの上限で返すため、実際の値以上になる（ただし最大値を超えない）。
+     *
+     * @param percentile パーセンタイル（0〜100）
+     * @return パーセンタイルの値。記録がない場合は0
+     */
+    public long getPercentile(double percentile) {
+        long total = totalCount;
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 記録した値の個数を取得する。
+     *
+     * @return 記録数
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 記録した値の最小値を取得する。
+     *
+     * @return 最小値。記録がない場合は0
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    /**
+     * 記録した値の最大値を取得する。
+     *
+     * @return 最大値
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * 記録した値の平均を取得する。
+     *
+     * @return 平均値。記録がない場合は0
+     */
+    public double getMean() {
+        long total = totalCount;
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * 値が属するバケットの番号を求める。
+     *
+     * @param value 0以上の値
+     * @return バケット番号
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * バケットに含まれる値の上限を求める。
+     *
+     * @param index バケット番号
+     * @return バケットの上限値
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        if (shift >= Long.SIZE - SUB_BUCKET_BITS - 2) {
+            // 最上位の区間はlongの範囲を超えるため飽和させる
+            return Long.MAX_VALUE;
+        }
+        long lower = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.miozune.mediapro.metrics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+
+import com.miozune.mediapro.util.Fonts;
+
+/**
+ * {@link FrameMetrics} の内容を画面左上に重ねて表示するデバッグ用オーバーレイ。
+ */
+public final class MetricsOverlay {
+
+    /** 背景色（半透明の黒） */
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+
+    /** 文字色 */
+    private static final Color TEXT_COLOR = new Color(120, 255, 120);
+
+    /** 表示フォント */
+    private static final Font FONT = Fonts.get(Font.MONOSPACED, Font.PLAIN, 12);
+
+    /** 余白 */
+    private static final int PADDING = 6;
+
+    private MetricsOverlay() {}
+
+    /**
+     * オーバーレイを描画する。
+     *
+     * @param g2d 描画先
+     * @param metrics 表示する計測値
+     */
+    public static void paint(Graphics2D g2d, FrameMetrics metrics) {
+        FrameMetrics.Metric[] values = FrameMetrics.Metric.values();
+        String[] lines = new String[values.length + 1];
+        lines[0] = String.format("%-6s %9s %9s %9s %9s", "", "p50", "p95", "p99", "max");
+        for (int i = 0; i < values.length; i++) {
+            lines[i + 1] = formatLine(metrics.summarize(values[i]));
+        }
+
+        g2d.setFont(FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        int lineHeight = fm.getHeight();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, fm.stringWidth(line));
+        }
+
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(0, 0, width + PADDING * 2, lineHeight * lines.length + PADDING * 2);
+
+        g2d.setColor(TEXT_COLOR);
+        int y = PADDING + fm.getAscent();
+        for (String line : lines) {
+            g2d.drawString(line, PADDING, y);
+            y += lineHeight;
+        }
+    }
+
+    /**
+     * 1指標分の表示行を作成する。
+     *
+     * @param summary 指標の要約
+     * @return 表示行
+     */
+    private static String formatLine(FrameMetrics.Summary summary) {
+        FrameMetrics.Unit unit = summary.metric().getUnit();
+        return String.format("%-6s %9s %9s %9s %9s",
+            summary.metric().getLabel(),
+            formatValue(summary.p50(), unit),
+            formatValue(summary.p95(), unit),
+            formatValue(summary.p99(), unit),
+            formatValue(summary.max(), unit));
+    }
+
+    /**
+     * 値を単位に合わせて整形する。
+     *
+     * @param value 値
+     * @param unit 単位
+     * @return 整形した文字列
+     */
+    private static String formatValue(long value, FrameMetrics.Unit unit) {
+        return switch (unit) {
+            case NANOS -> String.format("%.2fms", value / 1_000_000.0);
+            case BYTES -> value >= 1024 * 1024
+                ? String.format("%.1fMB", value / (1024.0 * 1024.0))
+                : String.format("%.1fKB", value / 1024.0);
+        };
+    }
+}
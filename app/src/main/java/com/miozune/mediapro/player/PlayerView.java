@@ -19,6 +19,7 @@ import com.miozune.mediapro.player.events.PlayerHpChangedEvent;
 import com.miozune.mediapro.player.events.PlayerManaChangedEvent;
 import com.miozune.mediapro.player.events.PlayerNameChangedEvent;
 import com.miozune.mediapro.preview.Previewable;
+import com.miozune.mediapro.util.Fonts;
 
 /**
  * プレイヤーの状態（HP、マナ、名前）を表示するViewコンポーネント。
@@ -105,7 +106,7 @@ public class PlayerView extends JPanel implements Previewable {
 
     private void initComponents() {
         nameLabel = new JLabel();
-        nameLabel.setFont(new Font("SansSerif", Font.BOLD, 20));
+        nameLabel.setFont(Fonts.get("SansSerif", Font.BOLD, 20));
         nameLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
         hpBar = new JProgressBar(0, 100);
@@ -116,7 +117,7 @@ public class PlayerView extends JPanel implements Previewable {
         // hpBarの色は動的に変更される
 
         hpLabel = new JLabel();
-        hpLabel.setFont(new Font("Monospaced", Font.PLAIN, 14));
+        hpLabel.setFont(Fonts.get("Monospaced", Font.PLAIN, 14));
 
         manaBar = new JProgressBar(0, 10);
         manaBar.setValue(5);
@@ -126,7 +127,7 @@ public class PlayerView extends JPanel implements Previewable {
         manaBar.setUI(new ColoredProgressBarUI(new Color(50, 150, 220))); // 青
 
         manaLabel = new JLabel();
-        manaLabel.setFont(new Font("Monospaced", Font.PLAIN, 14));
+        manaLabel.setFont(Fonts.get("Monospaced", Font.PLAIN, 14));
     }
 
     private void layoutComponents() {
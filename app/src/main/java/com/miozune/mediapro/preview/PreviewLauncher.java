@@ -17,6 +17,7 @@ import javax.swing.JPanel;
 import javax.swing.SwingConstants;
 
 import com.google.common.reflect.ClassPath;
+import com.miozune.mediapro.util.Fonts;
 import com.miozune.mediapro.util.SwingUtils;
 
 /**
@@ -149,11 +150,11 @@ public class PreviewLauncher {
 
         JLabel titleLabel = new JLabel("  Preview: " + previewable.getClass().getSimpleName());
 
-        titleLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 14));
+        titleLabel.setFont(Fonts.get(Font.SANS_SERIF, Font.BOLD, 14));
         titleLabel.setForeground(Color.WHITE);
 
         JLabel descLabel = new JLabel(previewable.getPreviewDescription() + "  ");
-        descLabel.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
+        descLabel.setFont(Fonts.get(Font.SANS_SERIF, Font.PLAIN, 12));
         descLabel.setForeground(Color.LIGHT_GRAY);
         descLabel.setHorizontalAlignment(SwingConstants.RIGHT);
 
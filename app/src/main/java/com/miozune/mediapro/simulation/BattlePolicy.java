@@ -0,0 +1,107 @@
+package com.miozune.mediapro.simulation;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.enemy.EnemyModel;
+import com.miozune.mediapro.stage.StageModel;
+
+/**
+ * シミュレーション中に、プレイヤーの代わりに使うカードを選ぶ方針。
+ * 1つのインスタンスを複数のスレッドから同時に使うため、状態を持たないこと。
+ * 乱数が必要な場合は引数の乱数生成器だけを使う（同じシードで同じ結果を再現するため）。
+ */
+@FunctionalInterface
+public interface BattlePolicy {
+
+    /**
+     * 次に使うカードを選ぶ。
+     *
+     * @param stage 自分ターン中の戦闘
+     * @param random このワーカーの乱数生成器
+     * @return 使うカードの手札での位置、ターンを終える場合は-1
+     */
+    int chooseCard(StageModel stage, RandomGenerator random);
+
+    /**
+     * カードの対象にする敵を選ぶ。デフォルトでは、生きている敵のうちHPが最も低い敵を選ぶ。
+     *
+     * @param stage 自分ターン中の戦闘
+     * @param handIndex 使うカードの手札での位置
+     * @param random このワーカーの乱数生成器
+     * @return 敵の位置
+     */
+    default int chooseTarget(StageModel stage, int handIndex, RandomGenerator random) {
+        List<EnemyModel> enemies = stage.getEnemies();
+        int target = -1;
+        for (int i = 0; i < enemies.size(); i++) {
+            EnemyModel enemy = enemies.get(i);
+            if (enemy.isAlive() && (target < 0 || enemy.getHp() < enemies.get(target).getHp())) {
+                target = i;
+            }
+        }
+        return Math.max(target, 0);
+    }
+
+    /**
+     * この方針で自分ターンのカードを使い切る。ターンは終えない。
+     * 使えないカードを選んだ場合は、そこで打ち切る。
+     *
+     * @param stage 自分ターン中の戦闘
+     * @param random このワーカーの乱数生成器
+     */
+    default void playTurn(StageModel stage, RandomGenerator random) {
+        while (!stage.isBattleOver()) {
+            int card = chooseCard(stage, random);
+            if (card < 0) {
+                return;
+            }
+            int target = chooseTarget(stage, card, random);
+            if (!stage.playCard(card, target)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * マナの足りるカードのうち、コストが最も高いカードを使う方針。
+     *
+     * @return 方針
+     */
+    static BattlePolicy greedy() {
+        return (stage, random) -> {
+            List<CardModel> hand = stage.getHand().getCards();
+            int mana = stage.getPlayer().getMana();
+            int best = -1;
+            for (int i = 0; i < hand.size(); i++) {
+                int cost = hand.get(i).cost();
+                if (cost <= mana && (best < 0 || cost > hand.get(best).cost())) {
+                    best = i;
+                }
+            }
+            return best;
+        };
+    }
+
+    /**
+     * マナの足りるカードから無作為に選んで使う方針。
+     *
+     * @return 方針
+     */
+    static BattlePolicy random() {
+        return (stage, random) -> {
+            List<CardModel> hand = stage.getHand().getCards();
+            int mana = stage.getPlayer().getMana();
+            // 条件を満たすカードから1枚を一様に選ぶ（リザーバサンプリング）
+            int chosen = -1;
+            int seen = 0;
+            for (int i = 0; i < hand.size(); i++) {
+                if (hand.get(i).cost() <= mana && random.nextInt(++seen) == 0) {
+                    chosen = i;
+                }
+            }
+            return chosen;
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.miozune.mediapro.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.enemy.EnemyModel;
+import com.miozune.mediapro.player.PlayerModel;
+import com.miozune.mediapro.stage.StageModel;
+import com.miozune.mediapro.zone.CardZoneStore;
+
+/**
+ * シミュレーションする戦闘の構成。
+ * 戦闘ごとに、この構成から新しいプレイヤー・敵・山札を作る。
+ *
+ * @param deck 山札に入れるカード
+ * @param enemies 敵の構成（戦闘ごとに {@link EnemyModel#copy()} で複製する）
+ * @param playerHp プレイヤーの最大HP（初期HPも同じ値）
+ * @param maxMana 毎ターン回復するマナ
+ * @param maxTurns この自分ターン数を超えても決着しない場合は打ち切る
+ */
+public record BattleSetup(
+    List<CardModel> deck,
+    List<EnemyModel> enemies,
+    int playerHp,
+    int maxMana,
+    int maxTurns
+) {
+
+    public BattleSetup {
+        if (enemies.isEmpty()) {
+            throw new IllegalArgumentException("At least one enemy is required");
+        }
+        if (maxTurns < 1) {
+            throw new IllegalArgumentException("maxTurns must be positive: " + maxTurns);
+        }
+        deck = List.copyOf(deck);
+        enemies = List.copyOf(enemies);
+    }
+
+    /**
+     * この構成で新しい戦闘を作成する。
+     *
+     * @param store 山札・手札・捨札を管理するストア（シャッフルの乱数生成器を持つ）
+     * @return 開始前の戦闘
+     */
+    public StageModel newStage(CardZoneStore store) {
+        store.load(deck);
+        List<EnemyModel> lineup = new ArrayList<>(enemies.size());
+        for (EnemyModel enemy : enemies) {
+            lineup.add(enemy.copy());
+        }
+        PlayerModel player = new PlayerModel("プレイヤー", playerHp, playerHp, 0, maxMana);
+        return new StageModel(player, lineup, store);
+    }
+
+    /**
+     * 動作確認用の構成を作成する。
+     *
+     * @return サンプルの構成
+     */
+    public static BattleSetup createSample() {
+        List<CardModel> deck = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            deck.add(new CardModel("ストライク", 1, "strike.png", "3ダメージ"));
+        }
+        for (int i = 0; i < 4; i++) {
+            deck.add(new CardModel("スラッシュ", 2, "slash.png", "6ダメージ"));
+        }
+        deck.add(new CardModel("メテオ", 3, "meteor.png", "9ダメージ"));
+        List<EnemyModel> enemies = List.of(
+            new EnemyModel("スライム", 30, 5),
+            new EnemyModel("ゴブリン", 22, 7)
+        );
+        return new BattleSetup(deck, enemies, 45, 3, 30);
+    }
+}
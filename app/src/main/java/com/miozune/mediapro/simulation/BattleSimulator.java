@@ -0,0 +1,144 @@
+package com.miozune.mediapro.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.miozune.mediapro.stage.StageModel;
+import com.miozune.mediapro.zone.CardZoneStore;
+
+/**
+ * UIなしで {@link StageModel} の戦闘を大量に実行し、勝率などを集計するシミュレーター。
+ * <p>
+ * 戦闘は一定数ずつの塊に分け、ForkJoinPoolで全コアに分配する。
+ * 乱数生成器は分割のたびに {@link SplittableRandom#split()} で分岐させ、塊ごとに独立した系列を使う。
+ * 分割の仕方は戦闘数だけで決まるため、同じシードなら並列度に関係なく同じ集計結果になる。
+ * <p>
+ * 次のように直接実行できる。
+ * <pre>
+ * ./gradlew run -PmainClass=com.miozune.mediapro.simulation.BattleSimulator --args="1000000 42 greedy"
+ * </pre>
+ */
+public final class BattleSimulator {
+
+    /** 1つのタスクで順に実行する戦闘の数 */
+    private static final int CHUNK_SIZE = 2048;
+
+    private final BattleSetup setup;
+    private final BattlePolicy policy;
+
+    /**
+     * シミュレーターを作成する。
+     *
+     * @param setup 戦闘の構成
+     * @param policy プレイヤーの方針（複数のスレッドから同時に使われる）
+     */
+    public BattleSimulator(BattleSetup setup, BattlePolicy policy) {
+        this.setup = setup;
+        this.policy = policy;
+    }
+
+    /**
+     * 利用可能なすべてのコアで戦闘を実行する。
+     *
+     * @param battles 戦闘の数
+     * @param seed 乱数のシード
+     * @return 集計結果
+     */
+    public SimulationStats run(long battles, long seed) {
+        return run(battles, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 指定した並列度で戦闘を実行する。
+     *
+     * @param battles 戦闘の数
+     * @param seed 乱数のシード
+     * @param parallelism 使うスレッドの数
+     * @return 集計結果
+     */
+    public SimulationStats run(long battles, long seed, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new BattleTask(battles, new SplittableRandom(seed)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 戦闘を1回実行し、結果を集計に記録する。
+     *
+     * @param random この戦闘で使う乱数生成器
+     * @param stats 結果を記録する集計
+     */
+    void playBattle(SplittableRandom random, SimulationStats stats) {
+        StageModel stage = setup.newStage(new CardZoneStore(random));
+        stage.startBattle();
+        while (!stage.isBattleOver() && stage.getTurnCount() <= setup.maxTurns()) {
+            policy.playTurn(stage, random);
+            if (stage.isBattleOver()) {
+                break;
+            }
+            stage.nextTurn(); // 敵のターン
+            stage.nextTurn(); // 次の自分ターン（マナ回復とドロー）
+        }
+
+        boolean won = stage.isBattleOver() && stage.getPlayer().getHp() > 0;
+        boolean timedOut = !stage.isBattleOver();
+        int turns = Math.min(stage.getTurnCount(), setup.maxTurns());
+        stats.record(won, timedOut, turns, setup.playerHp() - stage.getPlayer().getHp());
+    }
+
+    /**
+     * 戦闘の範囲を半分ずつに分けて実行するタスク。
+     */
+    private final class BattleTask extends RecursiveTask<SimulationStats> {
+        private final long battles;
+        private final SplittableRandom random;
+
+        BattleTask(long battles, SplittableRandom random) {
+            this.battles = battles;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (battles <= CHUNK_SIZE) {
+                SimulationStats stats = new SimulationStats();
+                for (long i = 0; i < battles; i++) {
+                    playBattle(random, stats);
+                }
+                return stats;
+            }
+            long half = battles / 2;
+            // 分岐させる順番を固定し、実行順序に関係なく同じ系列にする
+            BattleTask left = new BattleTask(half, random.split());
+            BattleTask right = new BattleTask(battles - half, random);
+            left.fork();
+            SimulationStats stats = right.compute();
+            return stats.merge(left.join());
+        }
+    }
+
+    public static void main(String[] args) {
+        long battles = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        String policyName = args.length > 2 ? args[2] : "greedy";
+        BattlePolicy policy = switch (policyName) {
+            case "greedy" -> BattlePolicy.greedy();
+            case "random" -> BattlePolicy.random();
+            default -> throw new IllegalArgumentException("Unknown policy: " + policyName);
+        };
+
+        BattleSimulator simulator = new BattleSimulator(BattleSetup.createSample(), policy);
+        long start = System.nanoTime();
+        SimulationStats stats = simulator.run(battles, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("policy=" + policyName + " seed=" + seed);
+        System.out.println(stats.format());
+        System.out.printf("%.2fs (%.0f battles/s, %d threads)%n", seconds, battles / seconds,
+            Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,139 @@
+package com.miozune.mediapro.simulation;
+
+/**
+ * シミュレーション結果の集計。
+ * 戦闘1回ごとにオブジェクトを作らないよう、プリミティブの累計だけを持つ。
+ * ワーカーごとに1つずつ使い、最後に {@link #merge(SimulationStats)} でまとめる。
+ * スレッドセーフではない。
+ */
+public final class SimulationStats {
+
+    private long battles;
+    private long wins;
+    private long timeouts;
+    private long winTurnsSum;
+    private int minWinTurns = Integer.MAX_VALUE;
+    private int maxWinTurns;
+    private long damageTakenSum;
+    private int maxDamageTaken;
+
+    /**
+     * 戦闘1回の結果を記録する。
+     *
+     * @param won プレイヤーが勝ったか
+     * @param timedOut 決着がつかずに打ち切られたか
+     * @param turns 自分ターンの回数
+     * @param damageTaken プレイヤーが受けたダメージの合計
+     */
+    public void record(boolean won, boolean timedOut, int turns, int damageTaken) {
+        battles++;
+        if (won) {
+            wins++;
+            winTurnsSum += turns;
+            minWinTurns = Math.min(minWinTurns, turns);
+            maxWinTurns = Math.max(maxWinTurns, turns);
+        } else if (timedOut) {
+            timeouts++;
+        }
+        damageTakenSum += damageTaken;
+        maxDamageTaken = Math.max(maxDamageTaken, damageTaken);
+    }
+
+    /**
+     * 別の集計を足し合わせる。
+     *
+     * @param other 足し合わせる集計
+     * @return この集計
+     */
+    public SimulationStats merge(SimulationStats other) {
+        battles += other.battles;
+        wins += other.wins;
+        timeouts += other.timeouts;
+        winTurnsSum += other.winTurnsSum;
+        minWinTurns = Math.min(minWinTurns, other.minWinTurns);
+        maxWinTurns = Math.max(maxWinTurns, other.maxWinTurns);
+        damageTakenSum += other.damageTakenSum;
+        maxDamageTaken = Math.max(maxDamageTaken, other.maxDamageTaken);
+        return this;
+    }
+
+    public long getBattles() {
+        return battles;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * 敗北した回数を取得する。打ち切られた戦闘は含まない。
+     *
+     * @return 敗北した回数
+     */
+    public long getLosses() {
+        return battles - wins - timeouts;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public double getWinRate() {
+        return battles == 0 ? 0 : (double) wins / battles;
+    }
+
+    /**
+     * 勝った戦闘の平均ターン数を取得する。
+     *
+     * @return 平均ターン数、勝った戦闘がない場合は0
+     */
+    public double getAverageTurnsToWin() {
+        return wins == 0 ? 0 : (double) winTurnsSum / wins;
+    }
+
+    /**
+     * 勝った戦闘の最短ターン数を取得する。
+     *
+     * @return 最短ターン数、勝った戦闘がない場合は0
+     */
+    public int getMinTurnsToWin() {
+        return wins == 0 ? 0 : minWinTurns;
+    }
+
+    public int getMaxTurnsToWin() {
+        return maxWinTurns;
+    }
+
+    /**
+     * 全戦闘の平均の被ダメージを取得する。
+     *
+     * @return 平均の被ダメージ
+     */
+    public double getAverageDamageTaken() {
+        return battles == 0 ? 0 : (double) damageTakenSum / battles;
+    }
+
+    public int getMaxDamageTaken() {
+        return maxDamageTaken;
+    }
+
+    /**
+     * 集計結果を表示用の文字列にする。
+     *
+     * @return 集計結果
+     */
+    public String format() {
+        return String.format(
+            "battles=%d win=%.2f%% (wins=%d losses=%d timeouts=%d)%n"
+                + "turns to win: avg=%.2f min=%d max=%d%n"
+                + "damage taken: avg=%.2f max=%d",
+            battles, getWinRate() * 100, wins, getLosses(), timeouts,
+            getAverageTurnsToWin(), getMinTurnsToWin(), maxWinTurns,
+            getAverageDamageTaken(), maxDamageTaken);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
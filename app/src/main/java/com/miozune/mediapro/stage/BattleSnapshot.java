@@ -0,0 +1,123 @@
+package com.miozune.mediapro.stage;
+
+import com.miozune.mediapro.zone.CardZoneStore;
+
+/**
+ * ある時点の戦闘の状態。変更できない。
+ * {@link StageModel#snapshot()} で作成し、{@link StageModel#restore(BattleSnapshot)} で戻す。
+ * <p>
+ * カードの置き場は {@link CardZoneStore.Snapshot} として配列を共有するため、カードの枚数によらずO(1)で作成できる。
+ * プレイヤーのHP・最大HP・マナ・最大マナは16ビットずつ1つのlongに詰め、
+ * 敵のHPと溜めの有無は敵ごとに1つのintに詰めて持つ。
+ * <p>
+ * EffectModelはまだ状態を持たないため、効果は含まない。乱数生成器の状態も含まない。
+ */
+public final class BattleSnapshot {
+
+    /** 詰めて保持できる値の上限 */
+    static final int MAX_PACKED_VALUE = 0xFFFF;
+
+    private static final int HP_SHIFT = 0;
+    private static final int MAX_HP_SHIFT = 16;
+    private static final int MANA_SHIFT = 32;
+    private static final int MAX_MANA_SHIFT = 48;
+    private static final int CHARGED_BIT = 1 << 16;
+
+    private final long player;
+    private final int[] enemyStates;
+    private final boolean playerTurn;
+    private final int turnCount;
+    private final boolean battleOver;
+    private final CardZoneStore.Snapshot zones;
+
+    BattleSnapshot(long player, int[] enemyStates, boolean playerTurn, int turnCount, boolean battleOver,
+            CardZoneStore.Snapshot zones) {
+        this.player = player;
+        this.enemyStates = enemyStates;
+        this.playerTurn = playerTurn;
+        this.turnCount = turnCount;
+        this.battleOver = battleOver;
+        this.zones = zones;
+    }
+
+    /**
+     * プレイヤーの状態を1つのlongに詰める。
+     *
+     * @throws IllegalArgumentException いずれかの値が0〜{@value #MAX_PACKED_VALUE}の範囲外の場合
+     */
+    static long packPlayer(int hp, int maxHp, int mana, int maxMana) {
+        return (long) checkPacked(hp) << HP_SHIFT
+            | (long) checkPacked(maxHp) << MAX_HP_SHIFT
+            | (long) checkPacked(mana) << MANA_SHIFT
+            | (long) checkPacked(maxMana) << MAX_MANA_SHIFT;
+    }
+
+    /**
+     * 敵の状態を1つのintに詰める。
+     *
+     * @throws IllegalArgumentException HPが0〜{@value #MAX_PACKED_VALUE}の範囲外の場合
+     */
+    static int packEnemy(int hp, boolean charged) {
+        return checkPacked(hp) | (charged ? CHARGED_BIT : 0);
+    }
+
+    private static int checkPacked(int value) {
+        if (value < 0 || value > MAX_PACKED_VALUE) {
+            throw new IllegalArgumentException("Value out of range for a snapshot: " + value);
+        }
+        return value;
+    }
+
+    private int unpack(int shift) {
+        return (int) (player >>> shift) & MAX_PACKED_VALUE;
+    }
+
+    public int getPlayerHp() {
+        return unpack(HP_SHIFT);
+    }
+
+    public int getPlayerMaxHp() {
+        return unpack(MAX_HP_SHIFT);
+    }
+
+    public int getPlayerMana() {
+        return unpack(MANA_SHIFT);
+    }
+
+    public int getPlayerMaxMana() {
+        return unpack(MAX_MANA_SHIFT);
+    }
+
+    public int getEnemyCount() {
+        return enemyStates.length;
+    }
+
+    public int getEnemyHp(int index) {
+        return enemyStates[index] & MAX_PACKED_VALUE;
+    }
+
+    public boolean isEnemyCharged(int index) {
+        return (enemyStates[index] & CHARGED_BIT) != 0;
+    }
+
+    public boolean isPlayerTurn() {
+        return playerTurn;
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public boolean isBattleOver() {
+        return battleOver;
+    }
+
+    /**
+     * カードの置き場の状態を取得する。
+     *
+     * @return 置き場の状態
+     */
+    public CardZoneStore.Snapshot getZones() {
+        return zones;
+    }
+}
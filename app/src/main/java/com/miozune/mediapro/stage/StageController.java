@@ -2,15 +2,30 @@ package com.miozune.mediapro.stage;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.SwingUtilities;
+
+import com.miozune.mediapro.ai.EnemyBrain;
+import com.miozune.mediapro.ai.EnemyDecision;
+import com.miozune.mediapro.ai.SearchBudget;
+import com.miozune.mediapro.enemy.EnemyPolicy;
 
 public class StageController {
 
     private StageModel model;
     private StageView view;
+    private EnemyBrain enemyBrain;
+    private EnemyDecision lastDecision; // 直前の敵AIの決定（探索量の確認用）
 
     public StageController(StageModel model, StageView view) {
+        this(model, view, new EnemyBrain(SearchBudget.NORMAL));
+    }
+
+    public StageController(StageModel model, StageView view, EnemyBrain enemyBrain) {
         this.model = model;
         this.view = view;
+        this.enemyBrain = enemyBrain;
 
         // バトル終了リスナー登録
         model.setBattleListener(playerWon -> handleBattleEnd(playerWon));
@@ -30,6 +45,13 @@ public class StageController {
             }
         });
 
+        view.getEndTurnButton().addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                endTurn();
+            }
+        });
+
         view.getDeckButton().addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -45,6 +67,60 @@ public class StageController {
         });
     }
 
+    /*
+     * ターン終了：敵AIの探索はワーカースレッドで行い、その間もEDTは描画を続ける
+     * 行動が決まったらEDTで敵のターンを進め、自分ターンに戻す
+     */
+    private void endTurn() {
+        if (model.isBattleOver() || !model.isPlayerTurn())
+            return;
+
+        CompletableFuture<EnemyDecision> thinking;
+        try {
+            thinking = enemyBrain.think(model);
+        } catch (RuntimeException e) {
+            // 探索を始められない場合は攻撃だけで進める
+            System.err.println("敵AIの探索を開始できませんでした: " + e);
+            playEnemyTurn(EnemyPolicy.attack());
+            return;
+        }
+
+        setActionsEnabled(false);
+        thinking.whenComplete((decision, error) -> SwingUtilities.invokeLater(() -> {
+            if (decision != null) {
+                lastDecision = decision;
+                playEnemyTurn(decision);
+            } else {
+                // 探索に失敗した場合は攻撃だけで進める
+                System.err.println("敵AIの探索に失敗しました: " + error);
+                playEnemyTurn(EnemyPolicy.attack());
+            }
+        }));
+    }
+
+    /* 決めた行動で敵のターンを進めて自分ターンに戻す。決定はこのターン限りで、次からは攻撃に戻す */
+    private void playEnemyTurn(EnemyPolicy policy) {
+        model.setEnemyPolicy(policy);
+        try {
+            model.nextTurn(); // 敵のターン
+            model.nextTurn(); // 自分ターン
+        } finally {
+            model.setEnemyPolicy(EnemyPolicy.attack());
+            updateView();
+            setActionsEnabled(!model.isBattleOver());
+        }
+    }
+
+    /* 直前の敵AIの決定（反復回数や1秒あたりの反復回数）。まだ決定していない場合はnull */
+    public EnemyDecision getLastDecision() {
+        return lastDecision;
+    }
+
+    private void setActionsEnabled(boolean enabled) {
+        view.getDrawButton().setEnabled(enabled);
+        view.getEndTurnButton().setEnabled(enabled);
+    }
+
     /* Model の情報を View に反映 */
     private void updateView() {
         view.updatePlayerHP(model.getPlayer().getHp());
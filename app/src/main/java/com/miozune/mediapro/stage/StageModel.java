@@ -1,13 +1,26 @@
 package com.miozune.mediapro.stage;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
+
+import com.miozune.mediapro.card.CardModel;
 import com.miozune.mediapro.discard.DiscardModel;
 import com.miozune.mediapro.drawpile.DrawPileModel;
 import com.miozune.mediapro.enemy.EnemyModel;
+import com.miozune.mediapro.enemy.EnemyPolicy;
 import com.miozune.mediapro.hand.HandModel;
 import com.miozune.mediapro.player.PlayerModel;
+import com.miozune.mediapro.zone.CardZoneStore;
 
 public class StageModel {
+    /** ターン開始時に引くカードの枚数 */
+    public static final int HAND_SIZE = 5;
+
+    /** カードの効果が決まるまでの仮のダメージ（コスト1あたり） */
+    public static final int DAMAGE_PER_COST = 3;
+
     // importしてきたものたち
     private PlayerModel player;
     private List<EnemyModel> enemies;
@@ -23,6 +36,14 @@ public class StageModel {
 
     private boolean isBattleOver = false;// 戦闘終了フラグ
 
+    private int turnCount = 0; // 自分ターンの回数
+
+    // カードが敵に与えるダメージ（カードの効果が実装されるまでの仮のルール）
+    private ToIntFunction<CardModel> cardDamage = card -> DAMAGE_PER_COST * Math.max(1, card.cost());
+
+    // 敵の行動の決め方
+    private EnemyPolicy enemyPolicy = EnemyPolicy.attack();
+
     public interface BattleListener { // 終了結果を外へ通知するためのリスナー
         void onBattleEnd(boolean playerWon);
     }
@@ -44,11 +65,41 @@ public class StageModel {
         this.discard = discard;
     }
 
+    /* 山札・手札・捨札が1つのストアを共有する戦闘を作成 */
+    public StageModel(PlayerModel player, List<EnemyModel> enemies, CardZoneStore store) {
+        this(player, enemies, new DrawPileModel(store), new HandModel(store), new DiscardModel(store));
+    }
+
     /* 外部から終了フラグを登録 */
     public void setBattleListener(BattleListener listener) {
         this.listener = listener;
     }
 
+    /* カードが敵に与えるダメージの計算方法を差し替える */
+    public void setCardDamage(ToIntFunction<CardModel> cardDamage) {
+        this.cardDamage = cardDamage;
+    }
+
+    public int getCardDamage(CardModel card) {
+        return cardDamage.applyAsInt(card);
+    }
+
+    /* 敵の行動の決め方を差し替える（AIの決定結果など） */
+    public void setEnemyPolicy(EnemyPolicy enemyPolicy) {
+        this.enemyPolicy = enemyPolicy;
+    }
+
+    public EnemyPolicy getEnemyPolicy() {
+        return enemyPolicy;
+    }
+
+    /* 戦闘開始：山札をシャッフルして最初の手札を引く */
+    public void startBattle() {
+        drawpile.shuffle();
+        turn = Turn.PLAYER;
+        startPlayerTurn();
+    }
+
     // ドロー処理
     public void draw() {
         if (isBattleOver)
@@ -58,6 +109,26 @@ public class StageModel {
         updateBattleState();
     }
 
+    /*
+     * 手札のカードを使う：マナを払って敵にダメージを与え、カードを捨札へ
+     * 自分ターンでない、マナが足りない、対象の敵が倒れている場合は何もせずfalseを返す
+     */
+    public boolean playCard(int handIndex, int enemyIndex) {
+        if (isBattleOver || turn != Turn.PLAYER)
+            return false;
+
+        CardModel card = hand.getCards().get(handIndex);
+        EnemyModel target = enemies.get(enemyIndex);
+        if (card.cost() > player.getMana() || !target.isAlive())
+            return false;
+
+        player.setMana(player.getMana() - card.cost());
+        target.receiveDamage(cardDamage.applyAsInt(card));
+        hand.removeCard(card);
+        updateBattleState();
+        return true;
+    }
+
     /* 状態チェック：バトル終了判定 */
     private void updateBattleState() {
         if (isBattleOver)
@@ -104,27 +175,111 @@ public class StageModel {
     // 自分ターンへの移行
     private void startPlayerTurn() {
         // 例：
-        // マナ回復
-        // カードドロー
         // ターン開始Effect通知
+        turnCount++;
+
+        // マナ回復
+        player.setMana(player.getMaxMana());
+
+        // カードドロー（山札が尽きたら捨札を切り直して続ける）
+        for (int i = 0; i < HAND_SIZE; i++) {
+            if (drawpile.drawCard() == null) {
+                break;
+            }
+        }
     }
 
     private void endPlayerTurn() {
         // 例：
-        // 手札上限処理
         // ターン終了Effect通知
+
+        // 手札をすべて捨札へ
+        hand.clear();
     }
 
     // 相手ターンへの移行
     private void startEnemyTurn() {
-        // 例：
-        // 敵の攻撃を呼び出す（後で）
+        // 生きている敵が順に行動する
+        for (int i = 0; i < enemies.size(); i++) {
+            if (player.getHp() <= 0)
+                break;
+            EnemyModel e = enemies.get(i);
+            if (e.isAlive())
+                e.act(enemyPolicy.chooseAction(this, i), player);
+        }
     }
 
     private void endEnemyTurn() {
 
     }
 
+    /*
+     * スナップショット：現在の戦闘の状態を保存する（カードの置き場はコピーせずに共有するためO(1)）
+     * 山札・手札・捨札が同じストアを共有している必要がある
+     */
+    public BattleSnapshot snapshot() {
+        int[] enemyStates = new int[enemies.size()];
+        for (int i = 0; i < enemyStates.length; i++) {
+            EnemyModel e = enemies.get(i);
+            enemyStates[i] = BattleSnapshot.packEnemy(e.getHp(), e.isCharged());
+        }
+        long packed = BattleSnapshot.packPlayer(player.getHp(), player.getMaxHp(), player.getMana(), player.getMaxMana());
+        return new BattleSnapshot(packed, enemyStates, turn == Turn.PLAYER, turnCount, isBattleOver, store().snapshot());
+    }
+
+    /* スナップショットの状態に戻す（プレイヤーと置き場の変更はリスナーにも通知される） */
+    public void restore(BattleSnapshot snapshot) {
+        if (snapshot.getEnemyCount() != enemies.size()) {
+            throw new IllegalArgumentException(
+                "Snapshot has " + snapshot.getEnemyCount() + " enemies, but the stage has " + enemies.size());
+        }
+        player.setMaxHp(snapshot.getPlayerMaxHp());
+        player.setHp(snapshot.getPlayerHp());
+        player.setMaxMana(snapshot.getPlayerMaxMana());
+        player.setMana(snapshot.getPlayerMana());
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).setHp(snapshot.getEnemyHp(i));
+            enemies.get(i).setCharged(snapshot.isEnemyCharged(i));
+        }
+        turn = snapshot.isPlayerTurn() ? Turn.PLAYER : Turn.ENEMY;
+        turnCount = snapshot.getTurnCount();
+        isBattleOver = snapshot.isBattleOver();
+        store().restore(snapshot.getZones());
+    }
+
+    /*
+     * 現在の状態から分岐した別の戦闘を作る（先読みやAI用。リスナーは引き継がない）
+     * カードの置き場は変更されるまで元の戦闘と共有する
+     */
+    public StageModel fork(RandomGenerator random) {
+        BattleSnapshot snapshot = snapshot();
+        PlayerModel forkedPlayer = new PlayerModel(player.getName(),
+            snapshot.getPlayerHp(), snapshot.getPlayerMaxHp(), snapshot.getPlayerMana(), snapshot.getPlayerMaxMana());
+        List<EnemyModel> forkedEnemies = new ArrayList<>(enemies.size());
+        for (EnemyModel e : enemies) {
+            EnemyModel copy = e.copy();
+            copy.setHp(e.getHp());
+            copy.setCharged(e.isCharged());
+            forkedEnemies.add(copy);
+        }
+
+        StageModel forked = new StageModel(forkedPlayer, forkedEnemies, new CardZoneStore(random, snapshot.getZones()));
+        forked.turn = turn;
+        forked.turnCount = turnCount;
+        forked.isBattleOver = isBattleOver;
+        forked.cardDamage = cardDamage;
+        forked.enemyPolicy = enemyPolicy;
+        return forked;
+    }
+
+    private CardZoneStore store() {
+        CardZoneStore store = drawpile.getStore();
+        if (hand.getStore() != store || discard.getStore() != store) {
+            throw new IllegalStateException("Draw pile, hand and discard must share one CardZoneStore");
+        }
+        return store;
+    }
+
     /* バトル終了処理 */
     private void endBattle(boolean playerWon) {
         isBattleOver = true;
@@ -159,6 +314,14 @@ public class StageModel {
         return turn;
     }
 
+    public boolean isPlayerTurn() {
+        return turn == Turn.PLAYER;
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
     public boolean isBattleOver() {
         return isBattleOver;
     }
@@ -3,6 +3,7 @@ package com.miozune.mediapro.stage;
 import javax.swing.*;
 import java.awt.*;
 import com.miozune.mediapro.preview.Previewable;
+import com.miozune.mediapro.util.Fonts;
 
 public class StageView extends JPanel implements Previewable {
 
@@ -18,6 +19,7 @@ public class StageView extends JPanel implements Previewable {
     private JButton drawButton;
     private JButton deckButton;
     private JButton discardButton;
+    private JButton endTurnButton;
 
     private JLabel playerHpLabel;
     private JLabel enemyHpLabel;
@@ -52,8 +54,8 @@ public class StageView extends JPanel implements Previewable {
         handPanel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
         handPanel.add(new JLabel("<html><font color='white'>手札パネル（未実装）</font></html>"));
 
-        // 右側：アクションボタン（3分割して埋める）
-        actionPanel = new JPanel(new GridLayout(3, 1, 0, 5)); // 縦に3つ並べる
+        // 右側：アクションボタン（4分割して埋める）
+        actionPanel = new JPanel(new GridLayout(4, 1, 0, 5)); // 縦に4つ並べる
         actionPanel.setPreferredSize(new Dimension(200, 0));
         actionPanel.setBackground(new Color(50, 50, 50));
         actionPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
@@ -61,10 +63,11 @@ public class StageView extends JPanel implements Previewable {
         drawButton = new JButton("ドロー");
         deckButton = new JButton("山札確認");
         discardButton = new JButton("捨札確認");
+        endTurnButton = new JButton("ターン終了");
 
         // ボタンのフォントと見た目の微調整
-        Font btnFont = new Font("SansSerif", Font.BOLD, 16);
-        for (JButton btn : new JButton[] { drawButton, deckButton, discardButton }) {
+        Font btnFont = Fonts.get("SansSerif", Font.BOLD, 16);
+        for (JButton btn : new JButton[] { drawButton, deckButton, discardButton, endTurnButton }) {
             btn.setFont(btnFont);
             btn.setFocusPainted(false);
             actionPanel.add(btn);
@@ -87,7 +90,7 @@ public class StageView extends JPanel implements Previewable {
                 BorderFactory.createEmptyBorder(20, 20, 20, 20)));
 
         JLabel nameLabel = new JLabel(name);
-        nameLabel.setFont(new Font("SansSerif", Font.BOLD, 28));
+        nameLabel.setFont(Fonts.get("SansSerif", Font.BOLD, 28));
         nameLabel.setForeground(Color.WHITE);
         nameLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -103,7 +106,7 @@ public class StageView extends JPanel implements Previewable {
         hpBar.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         JLabel hpLabel = new JLabel("HP: ---");
-        hpLabel.setFont(new Font("Monospaced", Font.BOLD, 20));
+        hpLabel.setFont(Fonts.get("Monospaced", Font.BOLD, 20));
         hpLabel.setForeground(Color.LIGHT_GRAY);
         hpLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -161,4 +164,8 @@ public class StageView extends JPanel implements Previewable {
     public JButton getDiscardButton() {
         return discardButton;
     }
+
+    public JButton getEndTurnButton() {
+        return endTurnButton;
+    }
 }
\ No newline at end of file
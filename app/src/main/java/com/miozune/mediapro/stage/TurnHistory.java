@@ -0,0 +1,78 @@
+package com.miozune.mediapro.stage;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 自分ターン中の操作を取り消すための履歴。
+ * 操作の前に {@link #checkpoint()} で戦闘のスナップショットを積み、{@link #undo()} で1つずつ戻す。
+ * スナップショットはカードの置き場をコピーしないため、積むたびの負担はカードの枚数によらない。
+ * <p>
+ * シャッフルに使う乱数生成器の状態は戻らないため、取り消した後のドローは元と異なることがある。
+ */
+public class TurnHistory {
+
+    /** デフォルトで保持するスナップショットの数 */
+    public static final int DEFAULT_LIMIT = 64;
+
+    private final StageModel stage;
+    private final int limit;
+    private final Deque<BattleSnapshot> snapshots = new ArrayDeque<>();
+
+    public TurnHistory(StageModel stage) {
+        this(stage, DEFAULT_LIMIT);
+    }
+
+    /**
+     * 履歴を作成する。
+     *
+     * @param stage 対象の戦闘
+     * @param limit 保持するスナップショットの数（超えた分は古いものから捨てる）
+     */
+    public TurnHistory(StageModel stage, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        this.stage = stage;
+        this.limit = limit;
+    }
+
+    /**
+     * 現在の状態を履歴に積む。操作の直前に呼び出す。
+     */
+    public void checkpoint() {
+        if (snapshots.size() == limit) {
+            snapshots.removeFirst();
+        }
+        snapshots.addLast(stage.snapshot());
+    }
+
+    /**
+     * 直前のチェックポイントの状態に戻す。
+     *
+     * @return 戻した場合はtrue、履歴が空の場合はfalse
+     */
+    public boolean undo() {
+        BattleSnapshot snapshot = snapshots.pollLast();
+        if (snapshot == null) {
+            return false;
+        }
+        stage.restore(snapshot);
+        return true;
+    }
+
+    public boolean canUndo() {
+        return !snapshots.isEmpty();
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * 履歴を捨てる。ターンの終わりなど、それ以前に戻れなくする時に呼び出す。
+     */
+    public void clear() {
+        snapshots.clear();
+    }
+}
@@ -3,6 +3,7 @@ package com.miozune.mediapro.title;
 import javax.swing.*;
 import java.awt.*;
 import com.miozune.mediapro.preview.Previewable;
+import com.miozune.mediapro.util.Fonts;
 
 public class TitleView extends JPanel implements Previewable {
 
@@ -22,7 +23,7 @@ public class TitleView extends JPanel implements Previewable {
 
     private void initComponents() {
         startButton = new JButton("START");
-        startButton.setFont(new Font("Arial", Font.BOLD, 32));
+        startButton.setFont(Fonts.get("Arial", Font.BOLD, 32));
         startButton.setPreferredSize(new Dimension(180, 60));
         startButton.setForeground(Color.BLACK);
         startButton.setBackground(Color.WHITE);
@@ -35,7 +36,7 @@ public class TitleView extends JPanel implements Previewable {
 
     private void layoutComponents() {
         JLabel titleLabel = new JLabel("TITLE NAME");
-        titleLabel.setFont(new Font("Serif", Font.BOLD, 56));
+        titleLabel.setFont(Fonts.get("Serif", Font.BOLD, 56));
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
         setLayout(new BorderLayout());
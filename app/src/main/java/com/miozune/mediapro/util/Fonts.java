@@ -0,0 +1,136 @@
+package com.miozune.mediapro.util;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * アプリケーション全体で共有するフォントの登録簿。
+ * (ファミリー, スタイル, サイズ) ごとに同じ {@link Font} インスタンスと
+ * {@link FontMetrics} を返し、描画のたびにフォントを生成しないようにする。
+ * <p>
+ * カードのように連続的に大きさが変わる要素では {@link #scaled} を使う。
+ * サイズを段階的に丸めることで、リサイズ中に大量のフォントが生成されるのを防ぐ。
+ * <p>
+ * すべてのメソッドはどのスレッドからでも呼び出せる。
+ */
+public final class Fonts {
+
+    /** サイズの丸めを行わない上限（これ以下は1ポイント刻み） */
+    private static final int FINE_SIZE_LIMIT = 16;
+
+    /** 中間のサイズの上限（これ以下は2ポイント刻み、これを超えると4ポイント刻み） */
+    private static final int MEDIUM_SIZE_LIMIT = 32;
+
+    /**
+     * フォントのキー。
+     *
+     * @param family フォントファミリー
+     * @param style スタイル
+     * @param size サイズ
+     */
+    private record Key(String family, int style, int size) {}
+
+    /** 生成済みのフォント */
+    private static final Map<Key, Font> FONTS = new ConcurrentHashMap<>();
+
+    /** 生成済みのFontMetrics */
+    private static final Map<Font, FontMetrics> METRICS = new ConcurrentHashMap<>();
+
+    /**
+     * FontMetricsの取得に使う描画コンテキスト。
+     * カードなどの描画と同じく、文字のアンチエイリアスを有効にする。
+     */
+    private static final Graphics2D MEASURE_GRAPHICS = createMeasureGraphics();
+
+    private Fonts() {}
+
+    /**
+     * FontMetricsの取得に使うGraphics2Dを作成する。
+     *
+     * @return Graphics2D
+     */
+    private static Graphics2D createMeasureGraphics() {
+        Graphics2D g2d = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        return g2d;
+    }
+
+    /**
+     * フォントを取得する。
+     *
+     * @param family フォントファミリー（例: {@link Font#SANS_SERIF}）
+     * @param style スタイル（{@link Font#PLAIN}、{@link Font#BOLD} など）
+     * @param size サイズ（ポイント）
+     * @return 共有のフォント
+     */
+    public static Font get(String family, int style, int size) {
+        return FONTS.computeIfAbsent(new Key(family, style, size), key -> new Font(key.family(), key.style(), key.size()));
+    }
+
+    /**
+     * 丸めたサイズのフォントを取得する。
+     * 大きさが連続的に変わる要素の描画に使う。
+     *
+     * @param family フォントファミリー
+     * @param style スタイル
+     * @param size 希望するサイズ（ポイント）
+     * @return 丸めたサイズの共有フォント
+     * @see #quantize(float)
+     */
+    public static Font scaled(String family, int style, float size) {
+        return get(family, style, quantize(size));
+    }
+
+    /**
+     * フォントサイズを段階的に丸める。
+     * 小さいサイズほど細かく、大きいサイズほど粗く丸める。
+     * <ul>
+     *   <li>16ポイント以下: 1ポイント刻み</li>
+     *   <li>32ポイント以下: 2ポイント刻み</li>
+     *   <li>それより大きい: 4ポイント刻み</li>
+     * </ul>
+     *
+     * @param size 希望するサイズ
+     * @return 丸めたサイズ（1以上）
+     */
+    public static int quantize(float size) {
+        int rounded = Math.max(1, Math.round(size));
+        if (rounded <= FINE_SIZE_LIMIT) {
+            return rounded;
+        }
+        int step = rounded <= MEDIUM_SIZE_LIMIT ? 2 : 4;
+        return Math.round(rounded / (float) step) * step;
+    }
+
+    /**
+     * フォントのFontMetricsを取得する。
+     * アンチエイリアスを有効にした、拡大縮小のない描画先での計測値を返す。
+     *
+     * @param font フォント
+     * @return 共有のFontMetrics
+     */
+    public static FontMetrics metrics(Font font) {
+        FontMetrics fm = METRICS.get(font);
+        if (fm != null) {
+            return fm;
+        }
+        synchronized (MEASURE_GRAPHICS) {
+            return METRICS.computeIfAbsent(font, MEASURE_GRAPHICS::getFontMetrics);
+        }
+    }
+
+    /**
+     * 生成済みのフォントの数を取得する。
+     *
+     * @return フォントの数
+     */
+    public static int size() {
+        return FONTS.size();
+    }
+}
@@ -0,0 +1,275 @@
+package com.miozune.mediapro.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+import javax.management.NotificationEmitter;
+
+/**
+ * 読み込んだ画像を保持するキャッシュ。
+ * 画像の合計バイト数（幅×高さ×ピクセルあたりのバイト数）に上限を設け、
+ * 超えた場合は最も長く使われていない画像から破棄する。
+ * <p>
+ * 画面に表示中の画像は {@link #pin(ImageHandle)} で固定でき、固定中は破棄されない。
+ * また、ヒープの使用量が閾値を超えたという {@link java.lang.management.MemoryMXBean} の通知を受けると、
+ * 固定されていない画像をすべて破棄する。
+ * <p>
+ * ヒット数とミス数はハンドルの取得ごとに1回数える。描画のたびに画像を取得し直すとヒット率が再描画の回数で
+ * 水増しされるため、呼び出し側は取得したハンドルを表示している間保持し、描画では {@link ImageHandle#getNow()} を使うこと。
+ * <p>
+ * すべてのメソッドはどのスレッドからでも呼び出せる。
+ */
+public class ImageCache {
+
+    /** ヒープの使用率がこの割合を超えたら、固定されていない画像を破棄する */
+    private static final double MEMORY_PRESSURE_RATIO = 0.8;
+
+    /**
+     * キャッシュの統計。
+     *
+     * @param bytes 保持している画像の合計バイト数
+     * @param entries 保持している画像の数（読み込み中を含む）
+     * @param hits ハンドルを取得した時にキャッシュにあった回数
+     * @param misses ハンドルを取得した時にキャッシュになかった回数
+     * @param evictions 容量超過またはメモリ不足で破棄した回数
+     */
+    public record Stats(long bytes, int entries, long hits, long misses, long evictions) {}
+
+    /**
+     * キャッシュのエントリ。
+     */
+    private static final class Entry {
+        final ImageHandle handle;
+        /** 読み込み済みの場合のバイト数（読み込み中は0） */
+        long bytes;
+        /** 固定の参照数 */
+        int pins;
+
+        Entry(ImageHandle handle) {
+            this.handle = handle;
+        }
+    }
+
+    /** アクセス順に並ぶエントリの一覧（先頭が最も長く使われていない） */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(128, 0.75f, true);
+
+    private long maxBytes;
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * 容量を指定してキャッシュを作成する。
+     *
+     * @param maxBytes 保持する画像の合計バイト数の上限
+     */
+    public ImageCache(long maxBytes) {
+        setMaxBytes(maxBytes);
+    }
+
+    /**
+     * パスに対応するハンドルを取得する。なければ作成して登録する。
+     *
+     * @param path リソースパス
+     * @param factory ハンドルを作成する関数
+     * @return ハンドル
+     */
+    synchronized ImageHandle getOrCreate(String path, Function<String, ImageHandle> factory) {
+        Entry entry = entries.get(path);
+        if (entry != null) {
+            hits++;
+            return entry.handle;
+        }
+        misses++;
+        entry = new Entry(factory.apply(path));
+        entries.put(path, entry);
+        return entry.handle;
+    }
+
+    /**
+     * 画像の読み込みが終わったことを記録し、容量を超えていれば古い画像を破棄する。
+     * 縮小画像の作成で後から増える分も含め、縮小画像をすべて作成した場合のバイト数で計上する。
+     *
+     * @param path リソースパス
+     * @param handle 読み込んだハンドル
+     * @param image 読み込んだ画像
+     */
+    synchronized void onLoaded(String path, ImageHandle handle, MipImage image) {
+        Entry entry = entries.get(path);
+        if (entry == null || entry.handle != handle) {
+            // 読み込み中にキャッシュから削除された
+            return;
+        }
+        // 縮小画像の合計は元の画像の1/3未満になる（1/4 + 1/16 + ...）
+        entry.bytes = ImageLoader.byteSizeOf(image.getBase()) * 4 / 3;
+        usedBytes += entry.bytes;
+        trimTo(maxBytes);
+    }
+
+    /**
+     * 読み込みに失敗した画像をキャッシュから削除する。
+     *
+     * @param path リソースパス
+     * @param handle 失敗したハンドル
+     */
+    synchronized void onFailed(String path, ImageHandle handle) {
+        Entry entry = entries.get(path);
+        if (entry != null && entry.handle == handle) {
+            entries.remove(path);
+        }
+    }
+
+    /**
+     * 画像を固定し、破棄されないようにする。
+     * 画面に表示している間だけ固定し、表示しなくなったら同じハンドルで {@link #unpin(ImageHandle)} を呼び出す。
+     * 固定は参照数で管理され、pinと同じ回数unpinすると解除される。
+     * <p>
+     * 固定はハンドルごとに数える。ハンドルがすでにキャッシュから外れている場合（容量超過での破棄、
+     * 読み込みの失敗、{@link #remove(String)}、{@link #clear()} の後など）は何もしない。
+     * 同じパスで後から作られたハンドルの固定には影響しない。
+     *
+     * @param handle 固定するハンドル
+     */
+    public synchronized void pin(ImageHandle handle) {
+        Entry entry = entries.get(handle.getPath());
+        if (entry != null && entry.handle == handle) {
+            entry.pins++;
+        }
+    }
+
+    /**
+     * 画像の固定を解除する。
+     * ハンドルがすでにキャッシュから外れている場合は何もしない。
+     *
+     * @param handle {@link #pin(ImageHandle)} に渡したハンドル
+     */
+    public synchronized void unpin(ImageHandle handle) {
+        Entry entry = entries.get(handle.getPath());
+        if (entry != null && entry.handle == handle && entry.pins > 0) {
+            entry.pins--;
+            if (entry.pins == 0) {
+                trimTo(maxBytes);
+            }
+        }
+    }
+
+    /**
+     * 画像の固定の参照数を取得する。
+     *
+     * @param path リソースパス
+     * @return 固定の参照数（キャッシュにない場合は0）
+     */
+    public synchronized int getPinCount(String path) {
+        Entry entry = entries.get(path);
+        return entry != null ? entry.pins : 0;
+    }
+
+    /**
+     * 固定されていない読み込み済みの画像をすべて破棄する。
+     */
+    public synchronized void trimToPinned() {
+        trimTo(0);
+    }
+
+    /**
+     * 合計バイト数が指定値以下になるまで、最も長く使われていない画像から破棄する。
+     * 固定中の画像と読み込み中の画像は破棄しない。
+     *
+     * @param limit 合計バイト数の目標値
+     */
+    private void trimTo(long limit) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (usedBytes > limit && it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.pins > 0 || !entry.handle.isDone()) {
+                continue;
+            }
+            usedBytes -= entry.bytes;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * 指定したパスの画像を削除する。
+     *
+     * @param path リソースパス
+     */
+    public synchronized void remove(String path) {
+        Entry entry = entries.remove(path);
+        if (entry != null) {
+            usedBytes -= entry.bytes;
+        }
+    }
+
+    /**
+     * すべての画像を削除する。
+     */
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    /**
+     * 保持する画像の合計バイト数の上限を設定する。
+     * 現在の合計が上限を超える場合は、すぐに古い画像を破棄する。
+     *
+     * @param maxBytes 上限のバイト数
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        trimTo(maxBytes);
+    }
+
+    /**
+     * 保持する画像の合計バイト数の上限を取得する。
+     *
+     * @return 上限のバイト数
+     */
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 統計を取得する。
+     *
+     * @return 統計
+     */
+    public synchronized Stats getStats() {
+        return new Stats(usedBytes, entries.size(), hits, misses, evictions);
+    }
+
+    /**
+     * ヒープの使用量を監視し、閾値を超えたら固定されていない画像を破棄するようにする。
+     * 使用量の閾値を設定できるヒープ領域に、最大サイズの80%を閾値として設定する。
+     * 他の用途で既に閾値が設定されている領域は変更しない。
+     */
+    public void installMemoryPressureListener() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported() || max <= 0) {
+                continue;
+            }
+            if (pool.getUsageThreshold() == 0) {
+                pool.setUsageThreshold((long) (max * MEMORY_PRESSURE_RATIO));
+            }
+        }
+
+        if (ManagementFactory.getMemoryMXBean() instanceof NotificationEmitter emitter) {
+            emitter.addNotificationListener((notification, handback) -> {
+                if (MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+                    trimToPinned();
+                }
+            }, null, null);
+        }
+    }
+}
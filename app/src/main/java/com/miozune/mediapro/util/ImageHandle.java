@@ -0,0 +1,116 @@
+package com.miozune.mediapro.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * 読み込み中または読み込み済みの画像への参照。
+ * {@link ImageLoader#loadAsync(String)} が返し、画像の読み込みは背景のスレッドで行われる。
+ * 読み込みが終わるまでは {@link #getNow()} がnullを返すため、呼び出し側はプレースホルダーを表示し、
+ * {@link #whenLoaded(Consumer)} で到着時に再描画する。
+ * <p>
+ * 同じパスの画像は1つのハンドルを共有し、デコードは1回だけ行われる。
+ */
+public final class ImageHandle {
+
+    private final String path;
+    private final CompletableFuture<MipImage> future = new CompletableFuture<>();
+
+    /** デコードを開始したかどうか（同じ画像を二重にデコードしないため） */
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /** デコードをスレッドプールに依頼したかどうか */
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    /**
+     * ハンドルを作成する。
+     *
+     * @param path 画像のリソースパス
+     */
+    ImageHandle(String path) {
+        this.path = path;
+    }
+
+    /**
+     * デコードをスレッドプールに依頼済みとして記録する。
+     *
+     * @return 初めて依頼する場合はtrue
+     */
+    boolean markQueued() {
+        return queued.compareAndSet(false, true);
+    }
+
+    /**
+     * まだ開始されていなければ、呼び出したスレッドで画像をデコードする。
+     * 既に他のスレッドがデコード中の場合は何もしない。
+     *
+     * @param decoder パスから画像をデコードする関数（失敗時はnullを返す）
+     */
+    void load(Function<String, MipImage> decoder) {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            future.complete(decoder.apply(path));
+        } catch (RuntimeException e) {
+            System.err.println("Error loading image: " + path + " - " + e.getMessage());
+            future.complete(null);
+        }
+    }
+
+    /**
+     * 画像のリソースパスを取得する。
+     *
+     * @return リソースパス
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * 読み込みが終わっているかどうかを返す。
+     * 読み込みに失敗した場合も終わったものとして扱う。
+     *
+     * @return 終わっている場合はtrue
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * 読み込み済みの画像を取得する。待機はしない。
+     *
+     * @return 画像。読み込み中、または読み込みに失敗した場合はnull
+     */
+    public MipImage getNow() {
+        return future.getNow(null);
+    }
+
+    /**
+     * 読み込みが終わるまで待機して画像を取得する。
+     *
+     * @return 画像。読み込みに失敗した場合はnull
+     */
+    public MipImage join() {
+        return future.join();
+    }
+
+    /**
+     * 読み込みが終わったときにEDTで実行する処理を登録する。
+     * 既に終わっている場合も、EDTで実行される。
+     * 読み込みに失敗した場合は実行されない。
+     *
+     * @param action 読み込んだ画像を受け取る処理
+     */
+    public void whenLoaded(Consumer<MipImage> action) {
+        future.thenAccept(image -> {
+            if (image != null) {
+                SwingUtilities.invokeLater(() -> action.accept(image));
+            }
+        });
+    }
+}
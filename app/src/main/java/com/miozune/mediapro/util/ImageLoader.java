@@ -1,25 +1,67 @@
 package com.miozune.mediapro.util;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.imageio.ImageIO;
 
+import com.miozune.mediapro.asset.CardArtArchive;
+
 /**
  * 画像リソースの読み込みを行うユーティリティクラス。
  * 読み込んだ画像はキャッシュされ、同じ画像の再読み込みを防ぐ。
+ * <p>
+ * 読み込んだ画像は一度だけ画面と互換性のある形式に変換してから {@link MipImage} として保持する。
+ * 描画する大きさを指定して取得すると、縮小済みの画像のうち最も近いものが返される。
+ * <p>
+ * {@link #loadAsync(String)} を使うと、デコードを背景のスレッドプールで行い、EDTを止めずに読み込める。
+ * 同じパスの読み込みは同期・非同期を問わず1回のデコードにまとめられる。
+ * <p>
+ * キャッシュは {@link ImageCache} で、合計バイト数の上限と、画面表示中の画像の固定、
+ * メモリ不足時の破棄を管理する。
+ * <p>
+ * システムプロパティ {@value #CARD_ART_ARCHIVE_PROPERTY} でカード画像のアーカイブが指定されている場合、
+ * カード画像はJPEGをデコードせず、アーカイブのデコード済みピクセルから作成する。
+ * すべてのメソッドはどのスレッドからでも呼び出せる。
  */
 public final class ImageLoader {
     
-    /** 画像キャッシュ */
-    private static final Map<String, BufferedImage> IMAGE_CACHE = new HashMap<>();
+    /** 1ピクセルあたりのバイト数（互換形式の画像はピクセルあたり32ビット） */
+    private static final int BYTES_PER_PIXEL = 4;
+    
+    /** デコードに使うスレッドの最大数 */
+    private static final int DECODER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    
+    /** 画像キャッシュのデフォルトの容量（バイト） */
+    public static final long DEFAULT_CACHE_BYTES = 64L * 1024 * 1024;
+    
+    /** 画像キャッシュ（読み込み中の画像も含む） */
+    private static final ImageCache IMAGE_CACHE = createCache();
+    
+    /** 画像をデコードするスレッドプール */
+    private static final ExecutorService DECODER = createDecoder();
     
     /** カード画像のベースパス */
     public static final String CARDS_PATH = "/images/cards/";
     
+    /** カード画像のアーカイブのパスを指定するシステムプロパティ */
+    public static final String CARD_ART_ARCHIVE_PROPERTY = "mediapro.cardArtArchive";
+    
+    /** カード画像のアーカイブ（ない場合はnull） */
+    private static volatile CardArtArchive cardArtArchive = openDefaultCardArtArchive();
+    
     private ImageLoader() {}
     
     /**
@@ -27,30 +69,196 @@ public final class ImageLoader {
      * 読み込んだ画像はキャッシュされる。
      *
      * @param path リソースパス（例: "/images/cards/card.jpg"）
-     * @return 読み込んだ画像、読み込みに失敗した場合はnull
+     * @return 読み込んだ画像（画面と互換性のある形式）、読み込みに失敗した場合はnull
      */
     public static BufferedImage loadImage(String path) {
-        // キャッシュにあればそれを返す
-        if (IMAGE_CACHE.containsKey(path)) {
-            return IMAGE_CACHE.get(path);
+        MipImage image = loadMipImage(path);
+        return image != null ? image.getBase() : null;
+    }
+    
+    /**
+     * 指定されたパスから、指定した大きさで描画するのに適した画像を読み込む。
+     *
+     * @param path リソースパス
+     * @param targetWidth 描画する幅（ピクセル）
+     * @param targetHeight 描画する高さ（ピクセル）
+     * @return 縮小済みの画像のうち最も近いもの、読み込みに失敗した場合はnull
+     * @see MipImage#getLevel(int, int)
+     */
+    public static BufferedImage loadImage(String path, int targetWidth, int targetHeight) {
+        MipImage image = loadMipImage(path);
+        return image != null ? image.getLevel(targetWidth, targetHeight) : null;
+    }
+    
+    /**
+     * 指定されたパスから画像を読み込み、縮小済みの画像を含むMipImageとして返す。
+     * 読み込んだ画像はキャッシュされる。
+     * 同じ画像を他のスレッドが読み込み中の場合は、その完了を待つ。
+     *
+     * @param path リソースパス
+     * @return 読み込んだ画像、読み込みに失敗した場合はnull
+     */
+    public static MipImage loadMipImage(String path) {
+        ImageHandle handle = getHandle(path);
+        // まだ誰もデコードしていなければ、待つより自分でデコードしたほうが早い
+        load(handle);
+        return handle.join();
+    }
+    
+    /**
+     * 指定されたパスの画像を非同期に読み込む。
+     * すぐにハンドルを返し、デコードは背景のスレッドで行う。
+     *
+     * @param path リソースパス
+     * @return 画像のハンドル
+     */
+    public static ImageHandle loadAsync(String path) {
+        ImageHandle handle = getHandle(path);
+        if (!handle.isDone() && handle.markQueued()) {
+            DECODER.execute(() -> load(handle));
+        }
+        return handle;
+    }
+    
+    /**
+     * カード画像を非同期に読み込む。
+     *
+     * @param fileName カード画像のファイル名（例: "card_001.jpg"）
+     * @return 画像のハンドル、ファイル名が空の場合はnull
+     */
+    public static ImageHandle loadCardImageAsync(String fileName) {
+        if (fileName == null || fileName.isEmpty()) {
+            return null;
+        }
+        return loadAsync(CARDS_PATH + fileName);
+    }
+    
+    /**
+     * パスに対応するハンドルを取得する。なければ作成してキャッシュに登録する。
+     *
+     * @param path リソースパス
+     * @return ハンドル
+     */
+    private static ImageHandle getHandle(String path) {
+        return IMAGE_CACHE.getOrCreate(path, ImageHandle::new);
+    }
+    
+    /**
+     * まだ誰もデコードしていなければ、ハンドルの画像をデコードしてキャッシュに計上する。
+     * 失敗した場合はキャッシュから取り除き、次回の読み込みで再試行できるようにする。
+     *
+     * @param handle 読み込むハンドル
+     */
+    private static void load(ImageHandle handle) {
+        handle.load(path -> {
+            MipImage image = decode(path);
+            if (image != null) {
+                IMAGE_CACHE.onLoaded(path, handle, image);
+            } else {
+                IMAGE_CACHE.onFailed(path, handle);
+            }
+            return image;
+        });
+    }
+    
+    /**
+     * 画像をデコードし、画面と互換性のある形式に変換する。
+     *
+     * @param path リソースパス
+     * @return 読み込んだ画像、読み込みに失敗した場合はnull
+     */
+    private static MipImage decode(String path) {
+        // アーカイブにあれば、デコード済みのピクセルをそのまま使う
+        CardArtArchive archive = cardArtArchive;
+        if (archive != null && path.startsWith(CARDS_PATH)) {
+            BufferedImage packed = archive.read(path.substring(CARDS_PATH.length()));
+            if (packed != null) {
+                return new MipImage(toCompatibleImage(packed));
+            }
         }
         
+        MipImage image = null;
         try (InputStream is = ImageLoader.class.getResourceAsStream(path)) {
             if (is == null) {
                 System.err.println("Warning: Image not found: " + path);
-                return null;
+            } else {
+                BufferedImage decoded = ImageIO.read(is);
+                if (decoded == null) {
+                    System.err.println("Warning: Unsupported image format: " + path);
+                } else {
+                    image = new MipImage(toCompatibleImage(decoded));
+                }
             }
-            
-            BufferedImage image = ImageIO.read(is);
-            IMAGE_CACHE.put(path, image);
-            return image;
-            
         } catch (IOException e) {
             System.err.println("Error loading image: " + path + " - " + e.getMessage());
+        }
+        return image;
+    }
+    
+    /**
+     * システムプロパティで指定されたカード画像のアーカイブを開く。
+     *
+     * @return アーカイブ、指定がないか開けない場合はnull
+     */
+    private static CardArtArchive openDefaultCardArtArchive() {
+        String location = System.getProperty(CARD_ART_ARCHIVE_PROPERTY);
+        if (location == null || location.isEmpty()) {
+            return null;
+        }
+        Path path = Path.of(location);
+        if (!Files.isRegularFile(path)) {
+            System.err.println("Warning: Card art archive not found: " + path);
+            return null;
+        }
+        try {
+            return CardArtArchive.open(path);
+        } catch (IOException e) {
+            System.err.println("Error opening card art archive: " + path + " - " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * カード画像のアーカイブを設定する。
+     * 以降に読み込むカード画像は、アーカイブに含まれていればアーカイブから作成される。
+     *
+     * @param archive アーカイブ（nullでアーカイブを使わない）
+     */
+    public static void setCardArtArchive(CardArtArchive archive) {
+        cardArtArchive = archive;
+    }
+    
+    /**
+     * 画像キャッシュを作成し、メモリ不足時に画像を破棄するよう設定する。
+     *
+     * @return 画像キャッシュ
+     */
+    private static ImageCache createCache() {
+        ImageCache cache = new ImageCache(DEFAULT_CACHE_BYTES);
+        cache.installMemoryPressureListener();
+        return cache;
+    }
+    
+    /**
+     * デコード用のスレッドプールを作成する。
+     * スレッドはデーモンスレッドとし、使われていない間は終了する。
+     *
+     * @return スレッドプール
+     */
+    private static ExecutorService createDecoder() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            DECODER_THREADS, DECODER_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "ImageLoader-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
     /**
      * カード画像を読み込む。
      * "/images/cards/" をベースパスとして、指定されたファイル名の画像を読み込む。
@@ -59,10 +267,99 @@ public final class ImageLoader {
      * @return 読み込んだ画像、読み込みに失敗した場合はnull
      */
     public static BufferedImage loadCardImage(String fileName) {
+        MipImage image = loadCardMipImage(fileName);
+        return image != null ? image.getBase() : null;
+    }
+    
+    /**
+     * カード画像を、縮小済みの画像を含むMipImageとして読み込む。
+     *
+     * @param fileName カード画像のファイル名（例: "card_001.jpg"）
+     * @return 読み込んだ画像、読み込みに失敗した場合はnull
+     */
+    public static MipImage loadCardMipImage(String fileName) {
         if (fileName == null || fileName.isEmpty()) {
             return null;
         }
-        return loadImage(CARDS_PATH + fileName);
+        return loadMipImage(CARDS_PATH + fileName);
+    }
+    
+    /**
+     * 画像を画面と互換性のある形式に変換する。
+     * 既に互換性のある形式の場合はそのまま返す。
+     *
+     * @param image 変換する画像
+     * @return 互換性のある形式の画像
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage image) {
+        GraphicsConfiguration gc = getDefaultConfiguration();
+        boolean compatible = gc != null
+            ? image.getColorModel().equals(gc.getColorModel(image.getTransparency()))
+            : image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB_PRE;
+        if (compatible) {
+            return image;
+        }
+        
+        BufferedImage converted = createCompatible(image.getWidth(), image.getHeight(), image.getTransparency());
+        Graphics2D g2d = converted.createGraphics();
+        try {
+            g2d.drawImage(image, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+        return converted;
+    }
+    
+    /**
+     * 画面と互換性のある形式の空の画像を作成する。
+     * ヘッドレス環境ではINT_RGBまたはINT_ARGB_PREの画像を作成する。
+     *
+     * @param width 幅
+     * @param height 高さ
+     * @param transparency 透明度の種類（{@link Transparency} の定数）
+     * @return 作成した画像
+     */
+    static BufferedImage createCompatible(int width, int height, int transparency) {
+        GraphicsConfiguration gc = getDefaultConfiguration();
+        if (gc != null) {
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        int type = transparency == Transparency.OPAQUE
+            ? BufferedImage.TYPE_INT_RGB
+            : BufferedImage.TYPE_INT_ARGB_PRE;
+        return new BufferedImage(width, height, type);
+    }
+    
+    /**
+     * デフォルトの画面の設定を取得する。
+     *
+     * @return 画面の設定、ヘッドレス環境ではnull
+     */
+    private static GraphicsConfiguration getDefaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+    
+    /**
+     * 画像が占めるおおよそのバイト数を計算する。
+     *
+     * @param image 画像
+     * @return バイト数
+     */
+    static long byteSizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+    }
+    
+    /**
+     * 画像キャッシュを取得する。
+     * 容量の変更、画像の固定、統計の取得に使う。
+     *
+     * @return 画像キャッシュ
+     */
+    public static ImageCache getCache() {
+        return IMAGE_CACHE;
     }
     
     /**
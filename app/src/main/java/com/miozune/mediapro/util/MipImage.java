@@ -0,0 +1,133 @@
+package com.miozune.mediapro.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 縮小済みの画像を段階的に保持する画像（ミップマップ）。
+ * 元の画像を縦横半分ずつ縮小した画像を、最小サイズに達するまで保持する。
+ * 描画したい大きさを指定すると、それ以上の大きさで最も小さい画像を返すため、
+ * 大きな画像をサムネイルとして描画する際の縮小コストと画質の低下を抑えられる。
+ * <p>
+ * 縮小画像は初めて必要になったときに作成する。すべてのメソッドはどのスレッドからでも呼び出せる。
+ */
+public final class MipImage {
+
+    /** 縮小をやめる最小の辺の長さ（ピクセル） */
+    private static final int MIN_LEVEL_SIZE = 32;
+
+    /** 元の画像（ロックなしで参照できるよう、段階の一覧とは別に保持する） */
+    private final BufferedImage base;
+
+    /** 各段階の画像（先頭が元の画像。getLevelで追加するため、参照はロックを取って行う） */
+    private final List<BufferedImage> levels = new ArrayList<>();
+
+    /**
+     * 元の画像からMipImageを作成する。
+     *
+     * @param base 元の画像（描画先と互換性のある形式であること）
+     */
+    public MipImage(BufferedImage base) {
+        this.base = base;
+        levels.add(base);
+    }
+
+    /**
+     * 元の画像を取得する。
+     *
+     * @return 元の画像
+     */
+    public BufferedImage getBase() {
+        return base;
+    }
+
+    /**
+     * 元の画像の幅を取得する。
+     *
+     * @return 幅（ピクセル）
+     */
+    public int getWidth() {
+        return base.getWidth();
+    }
+
+    /**
+     * 元の画像の高さを取得する。
+     *
+     * @return 高さ（ピクセル）
+     */
+    public int getHeight() {
+        return base.getHeight();
+    }
+
+    /**
+     * 指定した大きさで描画するのに適した画像を取得する。
+     * 幅と高さがともに指定値以上である画像のうち、最も小さいものを返す。
+     *
+     * @param targetWidth 描画する幅（ピクセル）
+     * @param targetHeight 描画する高さ（ピクセル）
+     * @return 描画に使う画像
+     */
+    public synchronized BufferedImage getLevel(int targetWidth, int targetHeight) {
+        int index = 0;
+        while (true) {
+            BufferedImage current = levels.get(index);
+            int nextWidth = current.getWidth() / 2;
+            int nextHeight = current.getHeight() / 2;
+            // 次の段階が描画サイズより小さくなる、または最小サイズを下回る場合はここで止める
+            if (nextWidth < targetWidth || nextHeight < targetHeight
+                    || Math.min(nextWidth, nextHeight) < MIN_LEVEL_SIZE) {
+                return current;
+            }
+            index++;
+            if (index == levels.size()) {
+                levels.add(halve(current));
+            }
+        }
+    }
+
+    /**
+     * 作成済みの段階の数を取得する。
+     *
+     * @return 段階の数（元の画像を含む）
+     */
+    public synchronized int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * 作成済みのすべての画像が占めるおおよそのバイト数を計算する。
+     *
+     * @return バイト数
+     */
+    public synchronized long getByteSize() {
+        long total = 0;
+        for (BufferedImage level : levels) {
+            total += ImageLoader.byteSizeOf(level);
+        }
+        return total;
+    }
+
+    /**
+     * 画像を縦横半分に縮小する。
+     *
+     * @param source 縮小する画像
+     * @return 縮小した画像（元の画像と同じ形式）
+     */
+    private static BufferedImage halve(BufferedImage source) {
+        int width = source.getWidth() / 2;
+        int height = source.getHeight() / 2;
+        BufferedImage result = ImageLoader.createCompatible(width, height, source.getTransparency());
+        Graphics2D g2d = result.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g2d.dispose();
+        }
+        return result;
+    }
+}
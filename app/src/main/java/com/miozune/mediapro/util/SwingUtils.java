@@ -1,5 +1,7 @@
 package com.miozune.mediapro.util;
 
+import java.beans.PropertyChangeListener;
+
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
@@ -46,6 +48,23 @@ public final class SwingUtils {
         return SwingUtilities.isEventDispatchThread();
     }
     
+    /**
+     * EDTで実行するPropertyChangeListenerを作成する。
+     * EDT以外のスレッド（固定タイムステップのゲームループなど）で通知された場合は、EDTに移して実行する。
+     *
+     * @param listener Swingのコンポーネントを更新するリスナー
+     * @return EDTで実行するリスナー
+     */
+    public static PropertyChangeListener onEventDispatchThread(PropertyChangeListener listener) {
+        return event -> {
+            if (isEventDispatchThread()) {
+                listener.propertyChange(event);
+            } else {
+                SwingUtilities.invokeLater(() -> listener.propertyChange(event));
+            }
+        };
+    }
+    
     /**
      * EDTでなければ例外をスローする。
      *
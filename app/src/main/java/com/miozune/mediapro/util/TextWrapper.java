@@ -0,0 +1,350 @@
+package com.miozune.mediapro.util;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.font.FontRenderContext;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * テキストの折り返しと省略を計算するユーティリティクラス。
+ * 文字ごとの送り幅を1回走査するだけで改行位置を決め、
+ * 結果を (テキスト, フォント, 幅, 最大行数) ごとにキャッシュする。
+ * <p>
+ * 改行位置は日本語の禁則処理に従う。
+ * <ul>
+ *   <li>行頭禁則: 句読点、閉じ括弧、小書きの仮名、長音記号などは行頭に置かない</li>
+ *   <li>行末禁則: 開き括弧は行末に置かない</li>
+ *   <li>英単語と数字は途中で分割しない（1行に収まらない場合を除く）</li>
+ * </ul>
+ * 禁則に当たる場合は、直前の文字とともに次の行へ送る（追い出し）。
+ */
+public final class TextWrapper {
+
+    /** 省略記号 */
+    public static final String ELLIPSIS = "...";
+
+    /** キャッシュする結果の最大数 */
+    private static final int MAX_CACHE_ENTRIES = 1024;
+
+    /** 行頭に置けない文字 */
+    private static final String NO_LINE_START =
+        "、。，．,.・：；:;？！?!ー－～〜…‥)）]］}｝〕〉》」』】〙〗〟’”｠»"
+        + "ぁぃぅぇぉっゃゅょゎゕゖァィゥェォッャュョヮヵヶㇰㇱㇲㇳㇴㇵㇶㇷㇸㇹㇺㇻㇼㇽㇾㇿ々〻ゝゞヽヾ";
+
+    /** 行末に置けない文字 */
+    private static final String NO_LINE_END = "(（[［{｛〔〈《「『【〘〖〝‘“｟«";
+
+    /**
+     * 折り返しの結果。
+     *
+     * @param lines 各行のテキスト
+     * @param truncated 最大行数に収まらず、最終行を省略したかどうか
+     */
+    public record WrappedText(List<String> lines, boolean truncated) {}
+
+    /**
+     * 1文字の送り幅を返す関数。
+     */
+    @FunctionalInterface
+    interface Advance {
+        /**
+         * 文字の送り幅を返す。
+         *
+         * @param codePoint 文字のコードポイント
+         * @return 送り幅（ピクセル）
+         */
+        int of(int codePoint);
+    }
+
+    /**
+     * キャッシュのキー。
+     * FontMetricsはフォントと描画コンテキストで決まるため、その2つで区別する。
+     */
+    private record Key(String text, Font font, FontRenderContext frc, int width, int maxLines) {}
+
+    /** 折り返し結果のキャッシュ（アクセス順） */
+    private static final Map<Key, WrappedText> CACHE = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, WrappedText> eldest) {
+            return size() > MAX_CACHE_ENTRIES;
+        }
+    };
+
+    private TextWrapper() {}
+
+    /**
+     * テキストを指定した幅で折り返す。
+     * 最大行数を超える場合は、最終行の末尾を省略記号に置き換える。
+     * テキスト中の改行文字は強制改行として扱う。
+     *
+     * @param text 折り返すテキスト（nullの場合は空文字列として扱う）
+     * @param fm 描画に使うフォントのFontMetrics
+     * @param width 1行の最大幅（ピクセル）
+     * @param maxLines 最大行数（0以下の場合は行を返さない）
+     * @return 折り返しの結果
+     */
+    public static WrappedText wrap(String text, FontMetrics fm, int width, int maxLines) {
+        String value = text != null ? text : "";
+        Key key = new Key(value, fm.getFont(), fm.getFontRenderContext(), width, maxLines);
+        synchronized (CACHE) {
+            WrappedText cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        WrappedText result = wrap(value, fm::charWidth, fm.stringWidth(ELLIPSIS), width, maxLines);
+        synchronized (CACHE) {
+            CACHE.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * テキストを1行に収まるよう省略する。
+     * 幅を超える場合は、末尾を省略記号に置き換える。
+     * 単語の途中でも省略する点が {@link #wrap} の1行目とは異なる。
+     *
+     * @param text 省略するテキスト（nullの場合は空文字列として扱う）
+     * @param fm 描画に使うフォントのFontMetrics
+     * @param width 最大幅（ピクセル）
+     * @return 幅に収まるテキスト
+     */
+    public static String truncate(String text, FontMetrics fm, int width) {
+        String value = text != null ? text : "";
+        // 最大行数に負の値を使い、wrapの結果と区別してキャッシュする
+        Key key = new Key(value, fm.getFont(), fm.getFontRenderContext(), width, -1);
+        synchronized (CACHE) {
+            WrappedText cached = CACHE.get(key);
+            if (cached != null) {
+                return cached.lines().get(0);
+            }
+        }
+
+        String line = truncate(value, fm::charWidth, fm.stringWidth(ELLIPSIS), width);
+        synchronized (CACHE) {
+            CACHE.put(key, new WrappedText(List.of(line), !line.equals(value)));
+        }
+        return line;
+    }
+
+    /**
+     * キャッシュを消去する。
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * テキストを折り返す。
+     *
+     * @param text 折り返すテキスト
+     * @param advance 1文字の送り幅
+     * @param ellipsisWidth 省略記号の幅
+     * @param width 1行の最大幅
+     * @param maxLines 最大行数
+     * @return 折り返しの結果
+     */
+    static WrappedText wrap(String text, Advance advance, int ellipsisWidth, int width, int maxLines) {
+        List<String> lines = new ArrayList<>();
+        if (maxLines <= 0) {
+            return new WrappedText(List.of(), !text.isEmpty());
+        }
+
+        int length = text.length();
+        int lineStart = 0;
+        int lineWidth = 0;
+        // 現在の行で最後に見つけた改行可能位置
+        int breakAt = -1;
+        int i = 0;
+
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            int next = i + Character.charCount(cp);
+
+            if (cp == '\n') {
+                lines.add(text.substring(lineStart, i));
+                lineStart = next;
+                lineWidth = 0;
+                breakAt = -1;
+                i = next;
+                if (lines.size() == maxLines && lineStart < length) {
+                    return truncateLast(lines, advance, ellipsisWidth, width);
+                }
+                continue;
+            }
+
+            if (i > lineStart && canBreakBetween(text.codePointBefore(i), cp)) {
+                breakAt = i;
+            }
+
+            int w = advance.of(cp);
+            if (lineWidth + w > width && i > lineStart) {
+                // 空白があふれた場合はその位置で、改行可能位置がなければこの文字の前で強制的に改行する
+                int end = breakAt > lineStart && !Character.isWhitespace(cp) ? breakAt : i;
+                lines.add(stripTrailingSpaces(text.substring(lineStart, end)));
+                lineStart = skipSpaces(text, end);
+                breakAt = -1;
+                if (lines.size() == maxLines) {
+                    return lineStart < length
+                        ? truncateLast(lines, advance, ellipsisWidth, width)
+                        : new WrappedText(List.copyOf(lines), false);
+                }
+                // 次の行へ送った文字の幅から数え直し、現在の文字をもう一度処理する
+                lineWidth = measure(text, lineStart, i, advance);
+                i = Math.max(i, lineStart);
+                continue;
+            }
+
+            lineWidth += w;
+            i = next;
+        }
+
+        if (lineStart < length) {
+            lines.add(text.substring(lineStart));
+        }
+        return new WrappedText(List.copyOf(lines), false);
+    }
+
+    /**
+     * 最大行数に達した後、最終行の末尾を省略記号に置き換える。
+     */
+    private static WrappedText truncateLast(List<String> lines, Advance advance,
+            int ellipsisWidth, int width) {
+        int last = lines.size() - 1;
+        String lastLine = lines.get(last);
+        lines.set(last, fitWithEllipsis(lastLine, lastLine.length(), advance, ellipsisWidth, width));
+        return new WrappedText(List.copyOf(lines), true);
+    }
+
+    /**
+     * テキストを1行に収まるよう省略する。
+     *
+     * @param text 省略するテキスト
+     * @param advance 1文字の送り幅
+     * @param ellipsisWidth 省略記号の幅
+     * @param width 最大幅
+     * @return 幅に収まるテキスト
+     */
+    static String truncate(String text, Advance advance, int ellipsisWidth, int width) {
+        if (measure(text, 0, text.length(), advance) <= width) {
+            return text;
+        }
+        return fitWithEllipsis(text, text.length(), advance, ellipsisWidth, width);
+    }
+
+    /**
+     * テキストの先頭から、省略記号を付けて幅に収まる部分を取り出す。
+     *
+     * @param text テキスト
+     * @param end 対象とする範囲の終わり
+     * @param advance 1文字の送り幅
+     * @param ellipsisWidth 省略記号の幅
+     * @param width 最大幅
+     * @return 省略記号を付けたテキスト
+     */
+    private static String fitWithEllipsis(String text, int end, Advance advance, int ellipsisWidth, int width) {
+        int available = width - ellipsisWidth;
+        int lineWidth = 0;
+        int i = 0;
+        while (i < end) {
+            int cp = text.codePointAt(i);
+            int w = advance.of(cp);
+            if (lineWidth + w > available) {
+                break;
+            }
+            lineWidth += w;
+            i += Character.charCount(cp);
+        }
+        return text.substring(0, i) + ELLIPSIS;
+    }
+
+    /**
+     * 2つの文字の間で改行できるかどうかを判定する。
+     *
+     * @param before 前の文字
+     * @param after 後の文字
+     * @return 改行できる場合はtrue
+     */
+    static boolean canBreakBetween(int before, int after) {
+        if (isNoLineStart(after) || isNoLineEnd(before)) {
+            return false;
+        }
+        // 空白の直後は改行できるが、空白の直前では空白を前の行に残す
+        if (Character.isWhitespace(after)) {
+            return false;
+        }
+        if (Character.isWhitespace(before)) {
+            return true;
+        }
+        // 英単語と数字は途中で分割しない
+        return !(isWordChar(before) && isWordChar(after));
+    }
+
+    /**
+     * 行頭に置けない文字かどうかを判定する。
+     */
+    private static boolean isNoLineStart(int cp) {
+        return cp < Character.MIN_SUPPLEMENTARY_CODE_POINT && NO_LINE_START.indexOf(cp) >= 0;
+    }
+
+    /**
+     * 行末に置けない文字かどうかを判定する。
+     */
+    private static boolean isNoLineEnd(int cp) {
+        return cp < Character.MIN_SUPPLEMENTARY_CODE_POINT && NO_LINE_END.indexOf(cp) >= 0;
+    }
+
+    /**
+     * 単語を構成する欧文の文字かどうかを判定する。
+     */
+    private static boolean isWordChar(int cp) {
+        if (cp < 0x80) {
+            return Character.isLetterOrDigit(cp) || cp == '\'' || cp == '-';
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.LATIN
+            || script == Character.UnicodeScript.GREEK
+            || script == Character.UnicodeScript.CYRILLIC;
+    }
+
+    /**
+     * 範囲内の文字の送り幅の合計を計算する。
+     */
+    private static int measure(String text, int start, int end, Advance advance) {
+        int total = 0;
+        int i = start;
+        while (i < end) {
+            int cp = text.codePointAt(i);
+            total += advance.of(cp);
+            i += Character.charCount(cp);
+        }
+        return total;
+    }
+
+    /**
+     * 空白でない位置まで読み進める。
+     */
+    private static int skipSpaces(String text, int index) {
+        while (index < text.length() && text.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 末尾の空白を取り除く。
+     */
+    private static String stripTrailingSpaces(String line) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+}
@@ -3,6 +3,7 @@ package com.miozune.mediapro.world;
 import javax.swing.*;
 import java.awt.*;
 import com.miozune.mediapro.preview.Previewable;
+import com.miozune.mediapro.util.Fonts;
 
 public class WorldView extends JPanel implements Previewable {
 
@@ -25,20 +26,20 @@ public class WorldView extends JPanel implements Previewable {
     private void initComponents() {
         stageButton1 = new JButton("Stage 1");
         stageButton1.setPreferredSize(new Dimension(200, 60));
-        stageButton1.setFont(new Font("Arial", Font.BOLD, 24));
+        stageButton1.setFont(Fonts.get("Arial", Font.BOLD, 24));
 
         stageButton2 = new JButton("Stage 2");
         stageButton2.setPreferredSize(new Dimension(200, 60));
-        stageButton2.setFont(new Font("Arial", Font.BOLD, 24));
+        stageButton2.setFont(Fonts.get("Arial", Font.BOLD, 24));
 
         stageButton3 = new JButton("Stage 3");
         stageButton3.setPreferredSize(new Dimension(200, 60));
-        stageButton3.setFont(new Font("Arial", Font.BOLD, 24));
+        stageButton3.setFont(Fonts.get("Arial", Font.BOLD, 24));
     }
 
     private void layoutComponents() {
         JLabel titleLabel = new JLabel("STAGE SELECT");
-        titleLabel.setFont(new Font("Serif", Font.BOLD, 56));
+        titleLabel.setFont(Fonts.get("Serif", Font.BOLD, 56));
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
         setLayout(new BorderLayout());
@@ -0,0 +1,627 @@
+package com.miozune.mediapro.zone;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import com.miozune.mediapro.card.CardModel;
+
+/**
+ * 戦闘中のカードの置き場所（山札・手札・捨札・除外）をまとめて管理するストア。
+ * <p>
+ * 戦闘に登場するカードの1枚1枚に、0から始まる連番のハンドルを割り当てる。
+ * 各置き場はハンドルを詰めたint配列で、カードの移動はハンドルを配列間で付け替えるだけで行う。
+ * 置き場の末尾への追加と末尾からの取り出しはO(1)で、途中への挿入・途中からの取り出しは
+ * それより後ろのカードだけをずらす。山札は末尾を一番上として扱うため、ドローもO(1)になる。
+ * <p>
+ * 移動は1回につき1つの通知になる。通知はプリミティブの引数で行い、
+ * ハンドル数が容量に収まっている間は、ドロー・捨てる・捨札の切り直しのいずれもオブジェクトを確保しない。
+ * <p>
+ * {@link #snapshot()} は配列をコピーせずに現在の状態を共有する、変更不可のスナップショットを返す。
+ * 共有中の配列は書き換える直前に複製する（コピーオンライト）ため、変更されなかった置き場は
+ * スナップショットや {@link #fork(RandomGenerator)} した別のストアとの間で共有されたままになる。
+ * <p>
+ * {@link com.miozune.mediapro.drawpile.DrawPileModel} などの各Modelは、このストアの置き場1つに対するビューとして動作する。
+ * スレッドセーフではないため、1つのスレッドから使うこと。
+ */
+public final class CardZoneStore {
+
+    /**
+     * ある時点のストアの状態。変更できない。
+     * 作成時の配列をストアと共有し、ストア側は共有中の配列を書き換える前に複製する。
+     */
+    public static final class Snapshot {
+        private final CardModel[] cards;
+        private final byte[] zoneOf;
+        private final int[] positionOf;
+        private final int count;
+        private final int loadedCount;
+        private final int[][] zones;
+        private final int[] zoneSizes;
+
+        private Snapshot(CardZoneStore store) {
+            this.cards = store.cards;
+            this.zoneOf = store.zoneOf;
+            this.positionOf = store.positionOf;
+            this.count = store.count;
+            this.loadedCount = store.loadedCount;
+            this.zones = store.zones.clone();
+            this.zoneSizes = store.zoneSizes.clone();
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public CardModel getCard(int handle) {
+            Objects.checkIndex(handle, count);
+            return cards[handle];
+        }
+
+        public Zone getZone(int handle) {
+            Objects.checkIndex(handle, count);
+            return ZONES[zoneOf[handle]];
+        }
+
+        public int size(Zone zone) {
+            return zoneSizes[zone.ordinal()];
+        }
+
+        /**
+         * 置き場の指定した位置にあるカードのハンドルを取得する。
+         *
+         * @param zone 置き場
+         * @param index 位置（山札では末尾が一番上）
+         * @return ハンドル
+         */
+        public int handleAt(Zone zone, int index) {
+            Objects.checkIndex(index, zoneSizes[zone.ordinal()]);
+            return zones[zone.ordinal()][index];
+        }
+    }
+
+    /**
+     * カードの移動を受け取るリスナー。
+     * 通知はすべて変更後に行われる。
+     */
+    public interface Listener {
+        /**
+         * カード1枚が移動した時に呼び出される。
+         *
+         * @param handle 移動したカードのハンドル
+         * @param from 移動元の置き場。新しく登録されたカードの場合はnull
+         * @param fromIndex 移動元での位置。新しく登録されたカードの場合は-1
+         * @param to 移動先の置き場
+         * @param toIndex 移動先での位置
+         */
+        void cardMoved(int handle, Zone from, int fromIndex, Zone to, int toIndex);
+
+        /**
+         * 複数のカードがまとめて移動した時に呼び出される。
+         * 移動したカードは、移動先の {@code toIndex} から {@code count} 枚の範囲に並んでいる。
+         *
+         * @param from 移動元の置き場（移動元のカードはすべて移動している）。新しく登録されたカードの場合はnull
+         * @param to 移動先の置き場
+         * @param toIndex 移動先での最初の位置
+         * @param count 移動した枚数
+         */
+        default void cardsMoved(Zone from, Zone to, int toIndex, int count) {}
+
+        /**
+         * 置き場の並び順や中身がまとめて変わった時（シャッフル、初期化など）に呼び出される。
+         * 置き場の中身を読み直すこと。
+         *
+         * @param zone 変わった置き場
+         */
+        default void zoneChanged(Zone zone) {}
+    }
+
+    private static final Zone[] ZONES = Zone.values();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final RandomGenerator random;
+
+    /** ハンドルごとのカード */
+    private CardModel[] cards = new CardModel[INITIAL_CAPACITY];
+    /** ハンドルごとの置き場（{@link Zone#ordinal()}） */
+    private byte[] zoneOf = new byte[INITIAL_CAPACITY];
+    /** ハンドルごとの置き場の中での位置 */
+    private int[] positionOf = new int[INITIAL_CAPACITY];
+    /** 割り当て済みのハンドルの数 */
+    private int count;
+    /** {@link #load(List)} で登録したハンドルの数（{@link #reset()} で戻す範囲） */
+    private int loadedCount;
+
+    /** 置き場ごとのハンドルの並び（どの置き場も全カードを収められる容量を持つ） */
+    private final int[][] zones = new int[ZONES.length][INITIAL_CAPACITY];
+    private final int[] zoneSizes = new int[ZONES.length];
+
+    /** ハンドルごとの配列をスナップショットと共有しているか（書き換える前に複製する） */
+    private boolean handlesShared;
+    /** 置き場ごとの配列をスナップショットと共有しているか（書き換える前に複製する） */
+    private final boolean[] zoneShared = new boolean[ZONES.length];
+
+    /** リスナー（通知時にイテレータを作らないよう、変更のたびに配列ごと差し替える） */
+    private volatile Listener[] listeners = new Listener[0];
+
+    /**
+     * ランダムなシードの乱数生成器でシャッフルするストアを作成する。
+     */
+    public CardZoneStore() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * 指定した乱数生成器でシャッフルするストアを作成する。
+     *
+     * @param random シャッフルに使う乱数生成器
+     */
+    public CardZoneStore(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * スナップショットの状態から始まるストアを作成する。配列はコピーせずに共有する。
+     *
+     * @param random シャッフルに使う乱数生成器
+     * @param snapshot 初期状態
+     */
+    public CardZoneStore(RandomGenerator random, Snapshot snapshot) {
+        this.random = random;
+        adopt(snapshot);
+    }
+
+    public synchronized void addListener(Listener listener) {
+        if (listener != null) {
+            Listener[] current = listeners;
+            Listener[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = listener;
+            listeners = next;
+        }
+    }
+
+    public synchronized void removeListener(Listener listener) {
+        Listener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                Listener[] next = new Listener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, next.length - i);
+                listeners = next;
+                return;
+            }
+        }
+    }
+
+    // --- 登録 ---
+
+    /**
+     * 登録済みのカードをすべて破棄し、指定したカードを山札に入れる。
+     * 山札は {@code cards} の先頭のカードが一番上になる。
+     *
+     * @param cards 戦闘で使うカード
+     */
+    public void load(List<CardModel> cards) {
+        writeHandles();
+        Arrays.fill(this.cards, 0, count, null);
+        count = 0;
+        ensureCapacity(cards.size());
+        for (CardModel card : cards) {
+            this.cards[count++] = card;
+        }
+        loadedCount = count;
+        reset();
+    }
+
+    /**
+     * カードを新しく登録し、置き場の末尾に置く。
+     *
+     * @param card カード
+     * @param zone 置き場
+     * @return 割り当てたハンドル
+     */
+    public int add(CardModel card, Zone zone) {
+        return add(card, zone, zoneSizes[zone.ordinal()]);
+    }
+
+    /**
+     * カードを新しく登録し、置き場の指定した位置に置く。
+     *
+     * @param card カード
+     * @param zone 置き場
+     * @param index 置く位置
+     * @return 割り当てたハンドル
+     * @throws IndexOutOfBoundsException 位置が置き場の範囲外の場合
+     */
+    public int add(CardModel card, Zone zone, int index) {
+        checkInsertIndex(zone, index);
+        ensureCapacity(count + 1);
+        writeHandles();
+        writeZone(zone.ordinal());
+        int handle = count++;
+        cards[handle] = card;
+        insert(handle, zone.ordinal(), index);
+        for (Listener listener : listeners) {
+            listener.cardMoved(handle, null, -1, zone, index);
+        }
+        return handle;
+    }
+
+    /**
+     * 複数のカードを新しく登録し、置き場の末尾にまとめて置く。通知は1回だけ行う。
+     *
+     * @param newCards カード
+     * @param zone 置き場
+     */
+    public void addAll(Collection<CardModel> newCards, Zone zone) {
+        if (newCards.isEmpty()) {
+            return;
+        }
+        ensureCapacity(count + newCards.size());
+        int z = zone.ordinal();
+        writeHandles();
+        writeZone(z);
+        int toIndex = zoneSizes[z];
+        for (CardModel card : newCards) {
+            int handle = count++;
+            cards[handle] = card;
+            insert(handle, z, zoneSizes[z]);
+        }
+        for (Listener listener : listeners) {
+            listener.cardsMoved(null, zone, toIndex, newCards.size());
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= cards.length) {
+            return;
+        }
+        int capacity = Math.max(required, cards.length * 2);
+        cards = Arrays.copyOf(cards, capacity);
+        zoneOf = Arrays.copyOf(zoneOf, capacity);
+        positionOf = Arrays.copyOf(positionOf, capacity);
+        for (int z = 0; z < zones.length; z++) {
+            zones[z] = Arrays.copyOf(zones[z], capacity);
+        }
+        // 複製したので共有は解消されている
+        handlesShared = false;
+        Arrays.fill(zoneShared, false);
+    }
+
+    // --- スナップショット ---
+
+    /**
+     * 現在の状態のスナップショットを作成する。配列はコピーしないため、カードの枚数によらずO(1)で終わる。
+     * 乱数生成器の状態は含まない。
+     *
+     * @return スナップショット
+     */
+    public Snapshot snapshot() {
+        handlesShared = true;
+        Arrays.fill(zoneShared, true);
+        return new Snapshot(this);
+    }
+
+    /**
+     * スナップショットの状態に戻す。配列はコピーせずに共有する。
+     * リスナーには、すべての置き場が変わったことを通知する。
+     *
+     * @param snapshot 戻す状態
+     */
+    public void restore(Snapshot snapshot) {
+        adopt(snapshot);
+        for (Listener listener : listeners) {
+            for (Zone zone : ZONES) {
+                listener.zoneChanged(zone);
+            }
+        }
+    }
+
+    /**
+     * 現在の状態から始まる別のストアを作成する。配列はコピーせずに共有する。
+     * リスナーは引き継がない。
+     *
+     * @param random 新しいストアがシャッフルに使う乱数生成器
+     * @return 新しいストア
+     */
+    public CardZoneStore fork(RandomGenerator random) {
+        return new CardZoneStore(random, snapshot());
+    }
+
+    private void adopt(Snapshot snapshot) {
+        cards = snapshot.cards;
+        zoneOf = snapshot.zoneOf;
+        positionOf = snapshot.positionOf;
+        count = snapshot.count;
+        loadedCount = snapshot.loadedCount;
+        System.arraycopy(snapshot.zones, 0, zones, 0, zones.length);
+        System.arraycopy(snapshot.zoneSizes, 0, zoneSizes, 0, zoneSizes.length);
+        handlesShared = true;
+        Arrays.fill(zoneShared, true);
+    }
+
+    private void writeHandles() {
+        if (handlesShared) {
+            cards = cards.clone();
+            zoneOf = zoneOf.clone();
+            positionOf = positionOf.clone();
+            handlesShared = false;
+        }
+    }
+
+    private void writeZone(int z) {
+        if (zoneShared[z]) {
+            zones[z] = zones[z].clone();
+            zoneShared[z] = false;
+        }
+    }
+
+    // --- 参照 ---
+
+    /**
+     * 割り当て済みのハンドルの数を取得する。
+     *
+     * @return ハンドルの数
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public CardModel getCard(int handle) {
+        checkHandle(handle);
+        return cards[handle];
+    }
+
+    public Zone getZone(int handle) {
+        checkHandle(handle);
+        return ZONES[zoneOf[handle]];
+    }
+
+    /**
+     * カードの置き場の中での位置を取得する。
+     *
+     * @param handle ハンドル
+     * @return 位置
+     */
+    public int getIndex(int handle) {
+        checkHandle(handle);
+        return positionOf[handle];
+    }
+
+    public int size(Zone zone) {
+        return zoneSizes[zone.ordinal()];
+    }
+
+    /**
+     * 置き場の指定した位置にあるカードのハンドルを取得する。
+     *
+     * @param zone 置き場
+     * @param index 位置（山札では末尾が一番上）
+     * @return ハンドル
+     */
+    public int handleAt(Zone zone, int index) {
+        int z = zone.ordinal();
+        if (index < 0 || index >= zoneSizes[z]) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + zone + " of size " + zoneSizes[z]);
+        }
+        return zones[z][index];
+    }
+
+    public CardModel cardAt(Zone zone, int index) {
+        return cards[handleAt(zone, index)];
+    }
+
+    /**
+     * 置き場の中で、指定したカードと等しい最初のカードの位置を取得する。
+     *
+     * @param zone 置き場
+     * @param card カード
+     * @return 位置、ない場合は-1
+     */
+    public int indexOf(Zone zone, CardModel card) {
+        int z = zone.ordinal();
+        int[] handles = zones[z];
+        for (int i = 0; i < zoneSizes[z]; i++) {
+            if (cards[handles[i]].equals(card)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // --- 移動 ---
+
+    /**
+     * カードを別の置き場の末尾に移動する。
+     *
+     * @param handle ハンドル
+     * @param to 移動先の置き場
+     */
+    public void move(int handle, Zone to) {
+        checkHandle(handle);
+        int z = to.ordinal();
+        move(handle, to, zoneOf[handle] == z ? zoneSizes[z] - 1 : zoneSizes[z]);
+    }
+
+    /**
+     * カードを置き場の指定した位置に移動する。同じ置き場の中での並べ替えにも使える。
+     *
+     * @param handle ハンドル
+     * @param to 移動先の置き場
+     * @param toIndex 移動後の位置
+     * @throws IndexOutOfBoundsException 位置が移動先の範囲外の場合
+     */
+    public void move(int handle, Zone to, int toIndex) {
+        checkHandle(handle);
+        int from = zoneOf[handle];
+        int fromIndex = positionOf[handle];
+        int limit = zoneSizes[to.ordinal()] - (from == to.ordinal() ? 1 : 0);
+        if (toIndex < 0 || toIndex > limit) {
+            throw new IndexOutOfBoundsException("Index " + toIndex + " out of bounds for " + to);
+        }
+        writeHandles();
+        writeZone(from);
+        writeZone(to.ordinal());
+        remove(handle);
+        insert(handle, to.ordinal(), toIndex);
+        for (Listener listener : listeners) {
+            listener.cardMoved(handle, ZONES[from], fromIndex, to, toIndex);
+        }
+    }
+
+    /**
+     * 置き場のカードをすべて、並び順を保ったまま別の置き場の末尾に移動する。通知は1回だけ行う。
+     *
+     * @param from 移動元の置き場
+     * @param to 移動先の置き場
+     */
+    public void moveAll(Zone from, Zone to) {
+        int f = from.ordinal();
+        int t = to.ordinal();
+        int moved = zoneSizes[f];
+        if (moved == 0 || f == t) {
+            return;
+        }
+        writeHandles();
+        writeZone(t);
+        int toIndex = zoneSizes[t];
+        int[] target = zones[t];
+        System.arraycopy(zones[f], 0, target, toIndex, moved);
+        for (int i = toIndex; i < toIndex + moved; i++) {
+            zoneOf[target[i]] = (byte) t;
+            positionOf[target[i]] = i;
+        }
+        zoneSizes[t] += moved;
+        zoneSizes[f] = 0;
+        for (Listener listener : listeners) {
+            listener.cardsMoved(from, to, toIndex, moved);
+        }
+    }
+
+    /**
+     * 山札の一番上のカードを手札の末尾に移動する。
+     * 山札が空の場合は、先に捨札を山札に戻してシャッフルする。
+     *
+     * @return 引いたカードのハンドル、山札も捨札も空の場合は-1
+     */
+    public int draw() {
+        if (zoneSizes[Zone.DRAW_PILE.ordinal()] == 0) {
+            reshuffleDiscard();
+        }
+        int size = zoneSizes[Zone.DRAW_PILE.ordinal()];
+        if (size == 0) {
+            return -1;
+        }
+        int handle = zones[Zone.DRAW_PILE.ordinal()][size - 1];
+        move(handle, Zone.HAND);
+        return handle;
+    }
+
+    /**
+     * 捨札をすべて山札に戻してシャッフルする。
+     */
+    public void reshuffleDiscard() {
+        if (zoneSizes[Zone.DISCARD.ordinal()] == 0) {
+            return;
+        }
+        moveAll(Zone.DISCARD, Zone.DRAW_PILE);
+        shuffle(Zone.DRAW_PILE);
+    }
+
+    /**
+     * 置き場の中をその場でシャッフルする（Fisher–Yates）。
+     *
+     * @param zone 置き場
+     */
+    public void shuffle(Zone zone) {
+        int z = zone.ordinal();
+        if (zoneSizes[z] > 1) {
+            writeHandles();
+            writeZone(z);
+        }
+        int[] handles = zones[z];
+        for (int i = zoneSizes[z] - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = handles[i];
+            handles[i] = handles[j];
+            handles[j] = tmp;
+            positionOf[handles[i]] = i;
+            positionOf[handles[j]] = j;
+        }
+        for (Listener listener : listeners) {
+            listener.zoneChanged(zone);
+        }
+    }
+
+    /**
+     * {@link #load(List)} した直後の状態に戻す。読み込んだカードをすべて山札に戻して読み込んだ順に並べ直し、
+     * 最初のカードが一番上になる。読み込んだ後に {@link #add(CardModel, Zone)} などで登録したカードは登録を取り消す
+     * （そのハンドルは無効になる）。配列は再確保しない。乱数生成器の状態は戻さない。
+     */
+    public void reset() {
+        int z = Zone.DRAW_PILE.ordinal();
+        writeHandles();
+        writeZone(z);
+        Arrays.fill(cards, loadedCount, count, null);
+        count = loadedCount;
+        Arrays.fill(zoneSizes, 0);
+        int[] pile = zones[z];
+        for (int handle = 0; handle < count; handle++) {
+            int index = count - 1 - handle;
+            pile[index] = handle;
+            zoneOf[handle] = (byte) z;
+            positionOf[handle] = index;
+        }
+        zoneSizes[z] = count;
+        for (Listener listener : listeners) {
+            for (Zone zone : ZONES) {
+                listener.zoneChanged(zone);
+            }
+        }
+    }
+
+    // --- 内部処理 ---
+
+    private void remove(int handle) {
+        int z = zoneOf[handle];
+        int index = positionOf[handle];
+        int[] handles = zones[z];
+        int size = --zoneSizes[z];
+        if (index < size) {
+            System.arraycopy(handles, index + 1, handles, index, size - index);
+            for (int i = index; i < size; i++) {
+                positionOf[handles[i]] = i;
+            }
+        }
+    }
+
+    private void insert(int handle, int z, int index) {
+        int[] handles = zones[z];
+        int size = zoneSizes[z];
+        if (index < size) {
+            System.arraycopy(handles, index, handles, index + 1, size - index);
+            for (int i = index + 1; i <= size; i++) {
+                positionOf[handles[i]] = i;
+            }
+        }
+        handles[index] = handle;
+        zoneOf[handle] = (byte) z;
+        positionOf[handle] = index;
+        zoneSizes[z] = size + 1;
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= count) {
+            throw new IndexOutOfBoundsException("Unknown handle: " + handle);
+        }
+    }
+
+    private void checkInsertIndex(Zone zone, int index) {
+        if (index < 0 || index > zoneSizes[zone.ordinal()]) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + zone);
+        }
+    }
+}
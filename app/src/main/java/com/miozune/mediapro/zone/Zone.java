@@ -0,0 +1,15 @@
+package com.miozune.mediapro.zone;
+
+/**
+ * 戦闘中のカードが置かれる場所。
+ */
+public enum Zone {
+    /** 山札 */
+    DRAW_PILE,
+    /** 手札 */
+    HAND,
+    /** 捨札 */
+    DISCARD,
+    /** 除外（この戦闘では使われなくなったカード） */
+    EXHAUST
+}
@@ -0,0 +1,97 @@
+package com.miozune.mediapro.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.enemy.EnemyAction;
+import com.miozune.mediapro.enemy.EnemyModel;
+import com.miozune.mediapro.player.PlayerModel;
+import com.miozune.mediapro.simulation.BattlePolicy;
+import com.miozune.mediapro.stage.StageModel;
+import com.miozune.mediapro.zone.CardZoneStore;
+
+public class EnemyBrainTest {
+
+    private static StageModel stage(int playerHp, EnemyModel... enemies) {
+        List<CardModel> deck = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            deck.add(new CardModel("カード" + i, 1 + i % 2, null, ""));
+        }
+        CardZoneStore store = new CardZoneStore(new SplittableRandom(1L));
+        store.load(deck);
+        StageModel stage = new StageModel(new PlayerModel("テスト", playerHp, playerHp, 0, 3), List.of(enemies), store);
+        stage.startBattle();
+        return stage;
+    }
+
+    private static EnemyBrain brain(long iterations, long seed) {
+        // 呼び出したスレッドでそのまま探索する
+        return new EnemyBrain(SearchBudget.iterations(iterations), Runnable::run, BattlePolicy.greedy(),
+            new SplittableRandom(seed));
+    }
+
+    @Test
+    public void testAttacksWhenItWinsImmediately() {
+        StageModel stage = stage(10, new EnemyModel("ドラゴン", 500, 10));
+        EnemyDecision decision = brain(300, 1L).think(stage).join();
+        assertEquals(List.of(EnemyAction.ATTACK), decision.actions());
+        assertEquals(300, decision.iterations());
+        assertTrue(decision.iterationsPerSecond() > 0);
+    }
+
+    @Test
+    public void testSameSeedGivesSameDecision() {
+        StageModel stage = stage(60, new EnemyModel("スライム", 30, 5), new EnemyModel("ゴブリン", 20, 8));
+        EnemyDecision first = brain(500, 7L).think(stage).join();
+        EnemyDecision second = brain(500, 7L).think(stage).join();
+        assertEquals(2, first.actions().size());
+        assertEquals(first.actions(), second.actions());
+    }
+
+    @Test
+    public void testThinkingDoesNotTouchTheLiveStage() {
+        StageModel stage = stage(60, new EnemyModel("スライム", 30, 5));
+        List<CardModel> hand = List.copyOf(stage.getHand().getCards());
+        brain(200, 3L).think(stage).join();
+        assertEquals(hand, stage.getHand().getCards());
+        assertEquals(60, stage.getPlayer().getHp());
+        assertEquals(30, stage.getEnemies().get(0).getHp());
+        assertTrue(stage.isPlayerTurn());
+    }
+
+    @Test
+    public void testSubtreeIsReusedOnTheNextTurn() {
+        StageModel stage = stage(200, new EnemyModel("スライム", 200, 3));
+        EnemyBrain brain = brain(400, 5L);
+        EnemyDecision decision = brain.think(stage).join();
+        assertEquals(0, decision.reusedVisits());
+
+        stage.setEnemyPolicy(decision);
+        stage.nextTurn();
+        stage.nextTurn();
+        EnemyDecision next = brain.think(stage).join();
+        assertTrue("Visits from the previous search should carry over", next.reusedVisits() > 0);
+
+        brain.reset();
+        assertEquals(0, brain.think(stage).join().reusedVisits());
+    }
+
+    @Test
+    public void testChargeDoublesTheNextAttack() {
+        StageModel stage = stage(50, new EnemyModel("オーガ", 100, 6));
+        stage.setEnemyPolicy((s, i) -> EnemyAction.CHARGE);
+        stage.nextTurn();
+        stage.nextTurn();
+        assertEquals(50, stage.getPlayer().getHp());
+        stage.setEnemyPolicy((s, i) -> EnemyAction.ATTACK);
+        stage.nextTurn();
+        assertEquals(38, stage.getPlayer().getHp());
+    }
+}
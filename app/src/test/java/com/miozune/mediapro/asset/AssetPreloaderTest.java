@@ -0,0 +1,70 @@
+package com.miozune.mediapro.asset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Font;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.miozune.mediapro.util.ImageLoader;
+
+public class AssetPreloaderTest {
+
+    @Test
+    public void testParseManifest() throws IOException {
+        AssetManifest manifest = AssetManifest.parse(List.of(
+            "# comment",
+            "",
+            "image /images/cards/sample.jpg  # trailing comment",
+            "font Serif BOLD 56"
+        ));
+        assertEquals(2, manifest.entries().size());
+        assertEquals(new AssetManifest.Entry(AssetManifest.Type.IMAGE, "/images/cards/sample.jpg", 0, 0),
+            manifest.entries().get(0));
+        assertEquals(new AssetManifest.Entry(AssetManifest.Type.FONT, "Serif", Font.BOLD, 56),
+            manifest.entries().get(1));
+    }
+
+    @Test(expected = IOException.class)
+    public void testParseRejectsUnknownType() throws IOException {
+        AssetManifest.parse(List.of("sound /se/hit.wav"));
+    }
+
+    @Test
+    public void testDefaultManifestLoads() throws IOException {
+        AssetManifest manifest = AssetManifest.load(AssetManifest.DEFAULT_PATH);
+        assertFalse("Default manifest should list assets", manifest.entries().isEmpty());
+    }
+
+    @Test
+    public void testPreloadFillsImageCacheAndReportsTimings() throws IOException {
+        ImageLoader.clearCache();
+        AssetManifest manifest = AssetManifest.parse(List.of(
+            "image /images/cards/sample.jpg",
+            "image /images/cards/missing.jpg",
+            "font SansSerif PLAIN 12"
+        ));
+
+        PreloadReport report = AssetPreloader.start(manifest, 2).join();
+
+        assertEquals("Every asset should be timed", 3, report.timings().size());
+        assertEquals("Missing image should be reported as failed", 1, report.failedCount());
+        assertTrue("Sample image should be loaded", report.timings().get(0).loaded());
+        assertEquals("Cache should hold the preloaded image", 1, ImageLoader.getCache().getStats().entries());
+
+        PreloadReport.AssetTiming critical = report.criticalPath();
+        assertNotNull(critical);
+        for (PreloadReport.AssetTiming timing : report.timings()) {
+            assertTrue("Timing should be ordered", timing.queuedNanos() <= timing.startNanos()
+                && timing.startNanos() <= timing.endNanos());
+            assertTrue("Critical path should finish last", timing.endNanos() <= critical.endNanos());
+        }
+        assertTrue("Total should cover the critical path", critical.endNanos() <= report.totalNanos());
+        assertTrue(report.format().contains("critical path"));
+    }
+}
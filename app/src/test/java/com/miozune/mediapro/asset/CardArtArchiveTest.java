@@ -0,0 +1,61 @@
+package com.miozune.mediapro.asset;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * CardArtPackerとCardArtArchiveのテストクラス。
+ */
+public class CardArtArchiveTest {
+    
+    @Test
+    public void testPackAndReadRoundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("cardart");
+        Path archivePath = dir.resolve("cards.mpca");
+        // メモリマップ中のファイルは環境によって削除できないため、終了時に削除する
+        dir.toFile().deleteOnExit();
+        for (String name : List.of("a.png", "b.png", "notes.txt", "cards.mpca")) {
+            dir.resolve(name).toFile().deleteOnExit();
+        }
+        BufferedImage source = new BufferedImage(7, 5, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 7; x++) {
+                source.setRGB(x, y, (x * 30) << 16 | (y * 40) << 8 | 0x7F);
+            }
+        }
+        ImageIO.write(source, "png", dir.resolve("a.png").toFile());
+        ImageIO.write(source, "png", dir.resolve("b.png").toFile());
+        Files.writeString(dir.resolve("notes.txt"), "not an image");
+        
+        List<Path> images = CardArtPacker.listImages(dir);
+        assertEquals("Only image files should be listed", 2, images.size());
+        assertEquals("All images should be packed", 2, CardArtPacker.pack(images, archivePath));
+        
+        try (CardArtArchive archive = CardArtArchive.open(archivePath)) {
+            assertEquals("Archive should contain both images", 2, archive.size());
+            assertTrue("Images should be looked up by file name", archive.contains("b.png"));
+            BufferedImage read = archive.read("b.png");
+            assertEquals("Image should be premultiplied ARGB", BufferedImage.TYPE_INT_ARGB_PRE, read.getType());
+            assertEquals("Width should be restored", 7, read.getWidth());
+            assertEquals("Pixels should be restored", source.getRGB(6, 4), read.getRGB(6, 4));
+            assertNull("Unknown names should return null", archive.read("c.png"));
+        }
+    }
+    
+    @Test(expected = IOException.class)
+    public void testRejectsNonArchive() throws IOException {
+        Path file = Files.createTempFile("notarchive", ".mpca");
+        file.toFile().deleteOnExit();
+        Files.write(file, new byte[64]);
+        CardArtArchive.open(file).close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.miozune.mediapro.asset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TextureAtlasTest {
+
+    private static BufferedImage solid(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(color);
+        g2d.fillRect(0, 0, width, height);
+        g2d.dispose();
+        return image;
+    }
+
+    private static boolean overlaps(TextureAtlas.Region a, TextureAtlas.Region b) {
+        return a.page() == b.page()
+            && a.x() < b.x() + b.width() && b.x() < a.x() + a.width()
+            && a.y() < b.y() + b.height() && b.y() < a.y() + a.height();
+    }
+
+    @Test
+    public void testRegionsDoNotOverlap() {
+        TextureAtlas atlas = new TextureAtlas(128, 4);
+        List<TextureAtlas.Region> regions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            TextureAtlas.Region region = atlas.add("img" + i, solid(10 + i, 30 - i, Color.RED));
+            assertNotNull("Image should fit", region);
+            regions.add(region);
+        }
+        for (int i = 0; i < regions.size(); i++) {
+            TextureAtlas.Region a = regions.get(i);
+            assertTrue("Region should be inside the page",
+                a.x() >= 0 && a.y() >= 0 && a.x() + a.width() <= 128 && a.y() + a.height() <= 128);
+            for (int j = i + 1; j < regions.size(); j++) {
+                assertFalse("Regions should not overlap: " + i + ", " + j, overlaps(a, regions.get(j)));
+            }
+        }
+    }
+
+    @Test
+    public void testPixelsAreCopiedToRegion() {
+        TextureAtlas atlas = new TextureAtlas(64, 1);
+        atlas.add("red", solid(8, 8, Color.RED));
+        TextureAtlas.Region blue = atlas.add("blue", solid(8, 8, Color.BLUE));
+
+        BufferedImage page = atlas.getPage(blue.page());
+        assertEquals("Region should contain the image", Color.BLUE.getRGB(), page.getRGB(blue.x(), blue.y()));
+        assertEquals("Padding should repeat the edge color",
+            Color.BLUE.getRGB(), page.getRGB(blue.x() - 1, blue.y() - 1));
+
+        BufferedImage target = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = target.createGraphics();
+        assertTrue("Registered image should be drawn", atlas.draw(g2d, "blue", 0, 0, 4, 4));
+        assertFalse("Unknown image should not be drawn", atlas.draw(g2d, "green", 0, 0, 4, 4));
+        g2d.dispose();
+        assertEquals("Drawn pixels should come from the region", Color.BLUE.getRGB(), target.getRGB(2, 2));
+    }
+
+    @Test
+    public void testSameNameReturnsExistingRegion() {
+        TextureAtlas atlas = new TextureAtlas(64, 1);
+        TextureAtlas.Region first = atlas.add("a", solid(8, 8, Color.RED));
+        assertSame("Existing region should be returned", first, atlas.add("a", solid(16, 16, Color.RED)));
+        assertEquals(1, atlas.size());
+    }
+
+    @Test
+    public void testAddsPagesUntilLimit() {
+        TextureAtlas atlas = new TextureAtlas(32, 2);
+        assertNotNull(atlas.add("a", solid(28, 28, Color.RED)));
+        assertNotNull("Second image should go to a new page", atlas.add("b", solid(28, 28, Color.RED)));
+        assertEquals(2, atlas.getPageCount());
+        assertNull("No page should be added beyond the limit", atlas.add("c", solid(28, 28, Color.RED)));
+        assertNull("Image larger than a page should be rejected", new TextureAtlas(32, 2).add("d", solid(40, 4, Color.RED)));
+    }
+
+    @Test
+    public void testBuilderPacksTallestFirst() {
+        // 登録順に詰めると2ページ必要になるが、高さ順に並べれば2つの棚で1ページに収まる
+        TextureAtlas atlas = new AtlasBuilder(64, 1)
+            .add("short1", solid(18, 10, Color.RED))
+            .add("tall1", solid(18, 40, Color.RED))
+            .add("short2", solid(18, 10, Color.RED))
+            .add("tall2", solid(18, 40, Color.RED))
+            .add("short3", solid(18, 10, Color.RED))
+            .build();
+        assertEquals("All images should fit in one page", 1, atlas.getPageCount());
+        assertEquals("Tallest image should be on the first shelf", 1, atlas.get("tall1").y());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderRejectsOverflow() {
+        new AtlasBuilder(32, 1)
+            .add("a", solid(28, 28, Color.RED))
+            .add("b", solid(28, 28, Color.RED))
+            .build();
+    }
+}
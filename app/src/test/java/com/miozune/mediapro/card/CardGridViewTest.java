@@ -0,0 +1,104 @@
+package com.miozune.mediapro.card;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.miozune.mediapro.util.ImageCache;
+import com.miozune.mediapro.util.ImageLoader;
+
+public class CardGridViewTest {
+
+    private CardSpriteCache cache;
+    private CardGridView grid;
+    private List<CardModel> cards;
+
+    @Before
+    public void setUp() {
+        cache = new CardSpriteCache(CardSpriteCache.DEFAULT_MAX_BYTES);
+        grid = new CardGridView(4, cache);
+        cards = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            cards.add(new CardModel("Card " + i, i % 10, null, "Description " + i));
+        }
+        grid.setCards(cards);
+        // 余白40×2 + カード150×4 + 隙間20×3 = 740
+        grid.setSize(740, grid.getPreferredSize().height);
+    }
+
+    @Test
+    public void testLayoutIsComputedFromColumns() {
+        assertEquals(150, grid.cellWidth());
+        assertEquals(210, grid.cellHeight());
+        assertEquals(new Rectangle(40 + 170, 20 + 230, 150, 210), grid.getCellBounds(5));
+        assertEquals("Preferred height should cover every row",
+            20 + 50 * 210 + 49 * 20 + 20, grid.getPreferredSize().height);
+    }
+
+    @Test
+    public void testIndexAtHitsCardsOnly() {
+        Rectangle bounds = grid.getCellBounds(5);
+        assertEquals(5, grid.indexAt(bounds.x + 1, bounds.y + 1));
+        assertEquals(5, grid.indexAt(bounds.x + bounds.width - 1, bounds.y + bounds.height - 1));
+        assertEquals("Gap should not hit a card", -1, grid.indexAt(bounds.x + bounds.width + 5, bounds.y + 1));
+        assertEquals("Padding should not hit a card", -1, grid.indexAt(5, 5));
+        assertEquals("Right padding should not hit a card", -1, grid.indexAt(735, 30));
+
+        grid.setCards(cards.subList(0, 6));
+        Rectangle empty = grid.getCellBounds(7);
+        assertEquals("Cell past the last card should not hit", -1, grid.indexAt(empty.x + 1, empty.y + 1));
+    }
+
+    @Test
+    public void testClickReportsCardModel() {
+        Object[] clicked = new Object[1];
+        grid.setCardClickListener(e -> clicked[0] = e.getSource());
+        Rectangle bounds = grid.getCellBounds(9);
+        grid.dispatchEvent(new MouseEvent(grid, MouseEvent.MOUSE_CLICKED,
+            0, 0, bounds.x + 3, bounds.y + 3, 1, false));
+        assertSame(cards.get(9), clicked[0]);
+    }
+
+    @Test
+    public void testPaintsOnlyVisibleRows() {
+        BufferedImage target = new BufferedImage(740, 600, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = target.createGraphics();
+        // 2行目の途中から3行目の途中までを描画する
+        g2d.setClip(0, 300, 740, 200);
+        grid.paint(g2d);
+        g2d.dispose();
+
+        assertEquals("Only the cards in the two visible rows should be rendered", 8, cache.getMisses());
+        assertTrue("Sprites for off-screen cards should not be created", cache.size() <= 8);
+    }
+
+    @Test
+    public void testVisibleRowsArePinnedUntilScrolledAway() {
+        ImageCache imageCache = ImageLoader.getCache();
+        String path = ImageLoader.loadCardImageAsync("sample.jpg").getPath();
+        List<CardModel> withImages = new ArrayList<>(cards);
+        withImages.set(0, new CardModel("Art", 1, "sample.jpg", ""));
+        grid.setCards(withImages);
+        int pinsBefore = imageCache.getPinCount(path);
+
+        Rectangle firstRow = grid.getCellBounds(0);
+        grid.updateVisibleImages(new Rectangle(0, 0, grid.getWidth(), firstRow.y + firstRow.height));
+        assertEquals("A visible card's image should be pinned", pinsBefore + 1, imageCache.getPinCount(path));
+        grid.updateVisibleImages(new Rectangle(0, 0, grid.getWidth(), firstRow.y + firstRow.height));
+        assertEquals("Repeated paints should not pin again", pinsBefore + 1, imageCache.getPinCount(path));
+
+        Rectangle far = grid.getCellBounds(100);
+        grid.updateVisibleImages(new Rectangle(0, far.y, grid.getWidth(), far.height));
+        assertEquals("Scrolling away should unpin", pinsBefore, imageCache.getPinCount(path));
+    }
+}
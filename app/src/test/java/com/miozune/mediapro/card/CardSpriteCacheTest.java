@@ -0,0 +1,88 @@
+package com.miozune.mediapro.card;
+
+import java.awt.image.BufferedImage;
+
+import com.miozune.mediapro.util.MipImage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * CardSpriteCacheのテストクラス。
+ */
+public class CardSpriteCacheTest {
+    
+    private static final CardModel CARD_A = new CardModel("A", 1, null, "説明文A");
+    private static final CardModel CARD_B = new CardModel("B", 2, null, "説明文B");
+    
+    /** 100x140のスプライト1枚分のバイト数 */
+    private static final long SPRITE_BYTES = 100L * 140 * 4;
+    
+    private CardSpriteCache cache;
+    
+    @Before
+    public void setUp() {
+        cache = new CardSpriteCache(SPRITE_BYTES * 2);
+    }
+    
+    @Test
+    public void testSecondRequestIsHit() {
+        BufferedImage first = cache.getSprite(CARD_A, null, 100, 140, false, null);
+        BufferedImage second = cache.getSprite(CARD_A, null, 100, 140, false, null);
+        assertSame("Same sprite should be returned", first, second);
+        assertEquals("First request should miss", 1, cache.getMisses());
+        assertEquals("Second request should hit", 1, cache.getHits());
+        assertEquals("Sprite should have the requested width", 100, first.getWidth());
+    }
+    
+    @Test
+    public void testHoverStateIsSeparateEntry() {
+        cache.getSprite(CARD_A, null, 100, 140, false, null);
+        cache.getSprite(CARD_A, null, 100, 140, true, null);
+        assertEquals("Hover state should be cached separately", 2, cache.size());
+        assertEquals("Both requests should miss", 2, cache.getMisses());
+    }
+    
+    @Test
+    public void testLeastRecentlyUsedIsEvictedOverBudget() {
+        cache.getSprite(CARD_A, null, 100, 140, false, null);
+        cache.getSprite(CARD_B, null, 100, 140, false, null);
+        // Aを使うことで、Bが最も長く使われていない状態にする
+        cache.getSprite(CARD_A, null, 100, 140, false, null);
+        cache.getSprite(CARD_A, null, 100, 140, true, null);
+        
+        assertEquals("Cache should stay within its budget", SPRITE_BYTES * 2, cache.getUsedBytes());
+        assertEquals("One sprite should be evicted", 1, cache.getEvictions());
+        cache.resetCounters();
+        cache.getSprite(CARD_A, null, 100, 140, false, null);
+        assertEquals("Recently used sprite should survive", 1, cache.getHits());
+        cache.getSprite(CARD_B, null, 100, 140, false, null);
+        assertEquals("Least recently used sprite should be evicted", 1, cache.getMisses());
+    }
+    
+    @Test
+    public void testEvictOnSizeChange() {
+        cache.getSprite(CARD_A, null, 100, 140, false, null);
+        cache.getSprite(CARD_A, null, 100, 140, true, null);
+        cache.evict(CARD_A, 100, 140);
+        assertEquals("Both hover states of the old size should be removed", 0, cache.size());
+        assertEquals("Used bytes should be released", 0, cache.getUsedBytes());
+    }
+    
+    @Test
+    public void testPlaceholderAndArtSpritesAreSeparate() {
+        cache = new CardSpriteCache(SPRITE_BYTES * 4);
+        MipImage art = new MipImage(new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB));
+        BufferedImage placeholder = cache.getSprite(CARD_A, null, 100, 140, false, null);
+        BufferedImage withArt = cache.getSprite(CARD_A, art, 100, 140, false, null);
+        assertNotSame("A view with art should not reuse the placeholder sprite", placeholder, withArt);
+        assertEquals(2, cache.getMisses());
+        
+        // 画像が届く前のビューと届いた後のビューが、互いのスプライトを破棄せずに使える
+        assertSame(placeholder, cache.getSprite(CARD_A, null, 100, 140, false, null));
+        assertSame(withArt, cache.getSprite(CARD_A, art, 100, 140, false, null));
+        assertEquals(2, cache.getHits());
+    }
+}
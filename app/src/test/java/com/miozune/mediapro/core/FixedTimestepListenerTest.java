@@ -0,0 +1,61 @@
+package com.miozune.mediapro.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import com.miozune.mediapro.util.SwingUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * 固定タイムステップのループでModelを変更した時に、リスナーが実行されるスレッドのテストクラス。
+ */
+public class FixedTimestepListenerTest {
+    
+    @Test
+    public void testViewListenerRunsOnEventDispatchThread() throws InterruptedException {
+        GameModel model = new GameModel();
+        AtomicReference<Thread> rawThread = new AtomicReference<>();
+        AtomicReference<Thread> viewThread = new AtomicReference<>();
+        CountDownLatch notified = new CountDownLatch(2);
+        model.addPropertyChangeListener(event -> {
+            rawThread.set(Thread.currentThread());
+            notified.countDown();
+        });
+        model.addPropertyChangeListener(SwingUtils.onEventDispatchThread(event -> {
+            viewThread.set(Thread.currentThread());
+            notified.countDown();
+        }));
+        
+        GameLoop loop = new GameLoop(GameLoop.Mode.FIXED_TIMESTEP, () -> {
+            if (model.getState() != GameState.PLAYING) {
+                model.setState(GameState.PLAYING);
+            }
+        }, alpha -> {});
+        loop.start();
+        try {
+            assertTrue("Listeners should be notified", notified.await(5, TimeUnit.SECONDS));
+        } finally {
+            loop.stop();
+        }
+        
+        assertEquals("The model changes on the loop thread", "GameLoop", rawThread.get().getName());
+        assertTrue("View listeners should run on the EDT", isEventDispatchThread(viewThread.get()));
+    }
+    
+    private static boolean isEventDispatchThread(Thread thread) throws InterruptedException {
+        AtomicReference<Thread> edt = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> edt.set(Thread.currentThread()));
+        } catch (InvocationTargetException e) {
+            throw new AssertionError(e);
+        }
+        return edt.get() == thread;
+    }
+}
@@ -0,0 +1,118 @@
+package com.miozune.mediapro.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+
+import com.miozune.mediapro.metrics.FrameMetrics;
+
+import static org.junit.Assert.*;
+
+/**
+ * FrameInvalidatorとゲームループのアイドル待機のテストクラス。
+ */
+public class FrameInvalidatorTest {
+    
+    @Test
+    public void testBeginFrameConsumesInvalidation() {
+        FrameInvalidator invalidator = new FrameInvalidator();
+        assertTrue("The first frame is always painted", invalidator.beginFrame());
+        assertFalse("No invalidation means no paint", invalidator.beginFrame());
+        invalidator.invalidate();
+        invalidator.invalidate();
+        assertTrue(invalidator.beginFrame());
+        assertFalse("Invalidations coalesce into one frame", invalidator.beginFrame());
+        assertEquals(2, invalidator.getRenderedFrames());
+        assertEquals(2, invalidator.getSkippedFrames());
+    }
+    
+    @Test
+    public void testAnimationPaintsEveryFrame() {
+        FrameInvalidator invalidator = new FrameInvalidator();
+        invalidator.beginFrame();
+        invalidator.beginAnimation();
+        assertTrue(invalidator.beginFrame());
+        assertTrue(invalidator.beginFrame());
+        invalidator.endAnimation();
+        assertTrue("The final state is painted once more", invalidator.beginFrame());
+        assertFalse(invalidator.beginFrame());
+    }
+    
+    @Test
+    public void testNoInvalidationMeansNoPaint() throws InterruptedException {
+        IdleLoop idle = new IdleLoop();
+        try {
+            assertTrue("The first frame should be painted", waitFor(() -> idle.paints.get() == 1, 1000));
+            Thread.sleep(300);
+            assertEquals("An idle screen should not be painted again", 1, idle.paints.get());
+        } finally {
+            idle.loop.stop();
+        }
+    }
+    
+    @Test
+    public void testModelEventWakesLoop() throws InterruptedException {
+        IdleLoop idle = new IdleLoop();
+        try {
+            assertTrue(waitFor(() -> idle.paints.get() == 1, 1000));
+            Thread.sleep(50); // ループがアイドル待機に入るのを待つ
+            long start = System.nanoTime();
+            idle.model.setState(GameState.PAUSED);
+            assertTrue("A model event should wake the loop", waitFor(() -> idle.paints.get() == 2, 1000));
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue("The loop should wake before the idle timeout: " + latencyMillis + "ms", latencyMillis < 200);
+        } finally {
+            idle.loop.stop();
+        }
+    }
+    
+    @Test
+    public void testIdleWaitIsNotRecordedAsFrameInterval() throws InterruptedException {
+        IdleLoop idle = new IdleLoop();
+        try {
+            Thread.sleep(600); // 最大待機時間を超えて眠らせる
+            idle.model.setState(GameState.PAUSED);
+            assertTrue(waitFor(() -> idle.paints.get() == 2, 1000));
+        } finally {
+            idle.loop.stop();
+        }
+        long max = idle.metrics.summarize(FrameMetrics.Metric.FRAME_INTERVAL).max();
+        assertTrue("Idle waits should not count as frame intervals: " + max + "ns",
+            max < TimeUnit.MILLISECONDS.toNanos(200));
+    }
+    
+    /**
+     * 固定タイムステップで、常にアイドル状態のゲームループ。
+     */
+    private static final class IdleLoop {
+        final GameModel model = new GameModel();
+        final FrameInvalidator invalidator = new FrameInvalidator();
+        final FrameMetrics metrics = new FrameMetrics();
+        final AtomicInteger paints = new AtomicInteger();
+        final GameLoop loop = new GameLoop(GameLoop.Mode.FIXED_TIMESTEP, () -> {}, alpha -> {
+            if (invalidator.beginFrame()) {
+                paints.incrementAndGet();
+            }
+        });
+        
+        IdleLoop() {
+            invalidator.watch(model);
+            loop.setFrameMetrics(metrics);
+            loop.enableIdleWait(invalidator, () -> true);
+            loop.start();
+        }
+    }
+    
+    private static boolean waitFor(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+}
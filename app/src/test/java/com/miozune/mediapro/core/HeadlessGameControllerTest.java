@@ -0,0 +1,77 @@
+package com.miozune.mediapro.core;
+
+import java.awt.event.KeyEvent;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * ヘッドレス実行のGameControllerのテストクラス。
+ */
+public class HeadlessGameControllerTest {
+    
+    private static GameOptions headlessOptions(long ticks) {
+        return new GameOptions(GameLoop.Mode.HEADLESS, GamePanel.RenderMode.PASSIVE, false, ticks, 0, null, null, null);
+    }
+    
+    @Test
+    public void testRunsTickLimit() throws InterruptedException {
+        GameController controller = new GameController(new GameModel(), headlessOptions(1000), null);
+        controller.getGameLoop().awaitTermination();
+        assertEquals("Loop should stop at the tick limit", 1000, controller.getGameLoop().getTickCount());
+        assertEquals("State should stay TITLE without input", GameState.TITLE, controller.getModel().getState());
+    }
+    
+    @Test
+    public void testScriptedInputDrivesStateChanges() throws InterruptedException {
+        ScriptedInput script = new ScriptedInput()
+            .tap(10, KeyEvent.VK_ENTER)
+            .tap(20, KeyEvent.VK_ESCAPE);
+        GameController controller = new GameController(new GameModel(), headlessOptions(30), script);
+        controller.getGameLoop().awaitTermination();
+        assertEquals("ENTER then ESCAPE should pause the game", GameState.PAUSED, controller.getModel().getState());
+        assertTrue("All steps should be consumed", script.isFinished());
+    }
+    
+    @Test
+    public void testScriptTimestampsUseNanoTime() {
+        ScriptedInput script = new ScriptedInput()
+            .key(0, InputType.KEY_PRESSED, KeyEvent.VK_ENTER)
+            .key(60, InputType.KEY_PRESSED, KeyEvent.VK_ESCAPE);
+        long[] timestamps = new long[2];
+        int[] count = {0};
+        InputSink sink = (type, keyCode, x, y, timestampNanos) -> timestamps[count[0]++] = timestampNanos;
+        
+        long before = System.nanoTime();
+        script.poll(0, sink);
+        long after = System.nanoTime();
+        script.poll(60, sink);
+        
+        assertEquals(2, count[0]);
+        assertTrue("Timestamps should be based on System.nanoTime",
+            timestamps[0] >= before && timestamps[0] <= after);
+        assertEquals("Steps should be one tick length apart per tick",
+            60 * (1_000_000_000L / GameLoop.getTargetFps()), timestamps[1] - timestamps[0]);
+    }
+    
+    @Test
+    public void testParseScript() {
+        ScriptedInput script = ScriptedInput.parse(List.of(
+            "# comment",
+            "5 KEY_PRESSED VK_ENTER",
+            "",
+            "3 MOUSE_PRESSED 100 200  # inline comment"
+        ));
+        List<ScriptedInput.Step> steps = script.getSteps();
+        assertEquals("Two steps should be parsed", 2, steps.size());
+        assertEquals("Key code should be resolved by name", KeyEvent.VK_ENTER, steps.get(0).keyCode());
+        assertEquals("Mouse x should be parsed", 100, steps.get(1).x());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowRequiredForNonHeadlessMode() {
+        new GameController(new GameModel(), GameOptions.defaults(), null);
+    }
+}
@@ -0,0 +1,89 @@
+package com.miozune.mediapro.core;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 入力キューと、入力の記録・再生のテストクラス。
+ */
+public class InputReplayTest {
+    
+    @Test
+    public void testQueueDeliversInOrderAndDropsWhenFull() {
+        InputQueue queue = new InputQueue(4);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(InputType.KEY_PRESSED, i, 0, 0, i);
+        }
+        assertEquals("Queue should hold up to its capacity", 4, queue.size());
+        assertEquals("Overflowing inputs should be counted", 2, queue.getDroppedCount());
+        
+        List<Integer> keyCodes = new ArrayList<>();
+        queue.poll(0, (type, keyCode, x, y, timestampNanos) -> keyCodes.add(keyCode));
+        assertEquals("Inputs should be delivered in order", List.of(0, 1, 2, 3), keyCodes);
+        assertEquals("Queue should be empty after polling", 0, queue.size());
+    }
+    
+    @Test
+    public void testRecordAndReplayRoundTrip() throws IOException {
+        Path file = Files.createTempFile("input", ".mpir");
+        try {
+            try (InputRecorder recorder = new InputRecorder(file)) {
+                recorder.record(3, InputType.KEY_PRESSED, KeyEvent.VK_ENTER, 0, 0, 1_000);
+                recorder.record(3, InputType.MOUSE_MOVED, 0, -5, 300, 900);
+                recorder.record(40, InputType.KEY_RELEASED, KeyEvent.VK_ENTER, 0, 0, 50_000);
+            }
+            
+            InputReplay replay = InputReplay.load(file);
+            assertEquals("All records should be loaded", 3, replay.size());
+            assertEquals("Last tick should be restored", 40, replay.getLastTick());
+            
+            List<String> delivered = new ArrayList<>();
+            InputSink sink = (type, keyCode, x, y, timestampNanos) ->
+                delivered.add(type + ":" + keyCode + ":" + x + ":" + y + ":" + timestampNanos);
+            replay.poll(2, sink);
+            assertTrue("Nothing should be delivered before its tick", delivered.isEmpty());
+            replay.poll(3, sink);
+            assertEquals("Inputs of the same tick should be delivered with relative timestamps",
+                List.of("KEY_PRESSED:10:0:0:0", "MOUSE_MOVED:0:-5:300:-100"), delivered);
+            replay.poll(100, sink);
+            assertEquals("Remaining input should be delivered", "KEY_RELEASED:10:0:0:49000", delivered.get(2));
+            assertTrue("Replay should be finished", replay.isFinished());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    @Test
+    public void testRecordedSessionReplaysToSameState() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("session", ".mpir");
+        try {
+            ScriptedInput script = new ScriptedInput()
+                .tap(5, KeyEvent.VK_ENTER)
+                .tap(12, KeyEvent.VK_ESCAPE);
+            GameOptions recordOptions = new GameOptions(GameLoop.Mode.HEADLESS, GamePanel.RenderMode.PASSIVE,
+                false, 20, 0, null, file, null);
+            GameController recording = new GameController(new GameModel(), recordOptions, script);
+            recording.getGameLoop().awaitTermination();
+            recording.stop();
+            
+            GameOptions replayOptions = new GameOptions(GameLoop.Mode.HEADLESS, GamePanel.RenderMode.PASSIVE,
+                false, 20, 0, null, null, file);
+            GameController replaying = new GameController(new GameModel(), replayOptions, InputReplay.load(file));
+            replaying.getGameLoop().awaitTermination();
+            
+            assertEquals("Replay should reach the recorded state",
+                recording.getModel().getState(), replaying.getModel().getState());
+            assertEquals("Recorded session should end paused", GameState.PAUSED, replaying.getModel().getState());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.miozune.mediapro.deck;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.miozune.mediapro.cardrecipe.CardRecipeModel;
+import com.miozune.mediapro.deck.events.DeckCardChangedEvent;
+import com.miozune.mediapro.deck.events.DeckCardsChangedEvent;
+
+public class DeckListModelTest {
+
+    private static final CardRecipeModel FIREBALL = new CardRecipeModel("ファイアボール", 3, "fireball.png", "");
+    private static final CardRecipeModel HEAL = new CardRecipeModel("ヒール", 2, "heal.png", "");
+    private static final CardRecipeModel GUARD = new CardRecipeModel("ガード", 2, "guard.png", "");
+
+    private DeckModel deck;
+    private DeckListModel listModel;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        deck = new DeckModel("テスト");
+        listModel = new DeckListModel(deck);
+        deck.addPropertyChangeListener(event -> {
+            if (event instanceof DeckCardChangedEvent e) {
+                listModel.apply(e);
+            } else if (event instanceof DeckCardsChangedEvent e) {
+                listModel.apply(e);
+            }
+        });
+        events = new ArrayList<>();
+        listModel.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                events.add("added " + e.getIndex0());
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                events.add("removed " + e.getIndex0());
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                events.add("changed " + e.getIndex0());
+            }
+        });
+    }
+
+    @Test
+    public void testRowsAreSortedByCostThenName() {
+        deck.addCard(FIREBALL);
+        deck.addCard(HEAL);
+        deck.addCard(GUARD);
+        assertEquals(List.of(GUARD, HEAL, FIREBALL), listModel.getCards());
+        assertEquals(List.of("added 0", "added 0", "added 0"), events);
+    }
+
+    @Test
+    public void testEachChangeFiresExactlyOneEvent() {
+        deck.addCard(FIREBALL);
+        deck.addCard(HEAL);
+        events.clear();
+
+        deck.addCard(FIREBALL);
+        assertEquals(List.of("changed 1"), events);
+        assertEquals("ファイアボール (コスト: 3) x2", listModel.getElementAt(1));
+
+        deck.removeCard(HEAL);
+        assertEquals(List.of("changed 1", "removed 0"), events);
+        assertEquals(1, listModel.getSize());
+    }
+
+    @Test
+    public void testLabelIsCachedUntilCountChanges() {
+        deck.addCard(HEAL);
+        String first = listModel.getElementAt(0);
+        assertSame("Label should be reused", first, listModel.getElementAt(0));
+
+        deck.addCard(HEAL);
+        assertNotSame("Label should be rebuilt after the count changes", first, listModel.getElementAt(0));
+        assertEquals("ヒール (コスト: 2) x2", listModel.getElementAt(0));
+    }
+
+    @Test
+    public void testInitialContentsAreLoadedFromDeck() {
+        DeckModel filled = new DeckModel("既存");
+        filled.addCard(FIREBALL);
+        filled.addCard(GUARD);
+        filled.addCard(GUARD);
+        DeckListModel model = new DeckListModel(filled);
+        assertEquals(List.of(GUARD, FIREBALL), model.getCards());
+        assertEquals(2, model.getCountAt(0));
+        assertEquals("Missing card should report its insertion point", -2, model.indexOf(HEAL));
+    }
+
+    @Test
+    public void testBatchIsAppliedWithAtMostTwoEvents() {
+        deck.addCard(FIREBALL);
+        deck.addCard(HEAL);
+        events.clear();
+
+        CardRecipeModel zap = new CardRecipeModel("ザップ", 1, "zap.png", "");
+        CardRecipeModel nova = new CardRecipeModel("ノヴァ", 5, "nova.png", "");
+        deck.apply(d -> {
+            d.addCard(nova);
+            d.addCard(zap);
+            d.addCard(HEAL);
+            d.addCard(GUARD);
+            d.removeCard(FIREBALL);
+        });
+
+        assertEquals(List.of(zap, GUARD, HEAL, nova), listModel.getCards());
+        assertEquals("ヒール (コスト: 2) x2", listModel.getElementAt(2));
+        assertEquals(List.of("changed 0", "added 2"), events);
+    }
+}
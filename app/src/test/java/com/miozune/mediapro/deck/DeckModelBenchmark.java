@@ -0,0 +1,136 @@
+package com.miozune.mediapro.deck;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.miozune.mediapro.cardrecipe.CardRecipeModel;
+
+/**
+ * DeckModelの操作1回あたりの時間を、デッキの種類数を変えて計測するベンチマーク。
+ * テストとしては実行されない。次のように直接実行する。
+ * <pre>
+ * java -cp &lt;クラスパス&gt; com.miozune.mediapro.deck.DeckModelBenchmark
+ * </pre>
+ */
+public class DeckModelBenchmark {
+
+    /** 計測するデッキの種類数 */
+    private static final int[] DECK_SIZES = {40, 400, 2_000, 10_000};
+
+    /** 計測前に実行する回数（JITのウォームアップ） */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /** 計測する回数 */
+    private static final int MEASURE_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %14s %14s %14s %14s %14s %14s%n", "kinds", "addCard(ns)", "getCount(ns)", "total(ns)",
+            "removeBack(ns)", "removeFront(ns)", "removeRand(ns)");
+        for (int size : DECK_SIZES) {
+            List<CardRecipeModel> recipes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                recipes.add(new CardRecipeModel("カード" + i, i % 10, "card_" + i + ".png",
+                    "ベンチマーク用のカード" + i + "の説明文です。効果の説明が入ります。"));
+            }
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                run(recipes);
+            }
+            double[] sum = new double[6];
+            for (int i = 0; i < MEASURE_ROUNDS; i++) {
+                double[] result = run(recipes);
+                for (int j = 0; j < sum.length; j++) {
+                    sum[j] += result[j];
+                }
+            }
+            System.out.printf("%8d", size);
+            for (double value : sum) {
+                System.out.printf(" %14.1f", value / MEASURE_ROUNDS);
+            }
+            System.out.println();
+        }
+    }
+
+    /** 各カードを追加する枚数 */
+    private static final int COPIES = 3;
+
+    /**
+     * 各カードを3枚ずつ追加し、枚数と総枚数を引いてから、すべて取り除く。
+     * 取り除く順は、後ろから（追加順の詰め直しが最小になる最良の場合）・前から（毎回すべてを詰め直す最悪の場合）・
+     * 無作為の3通りを、それぞれ新しく作ったデッキで計測する。
+     *
+     * @return 各操作の1回あたりの時間（ナノ秒）
+     */
+    private static double[] run(List<CardRecipeModel> recipes) {
+        DeckModel deck = new DeckModel("bench");
+        long sink = 0;
+
+        long start = System.nanoTime();
+        fill(deck, recipes);
+        long addNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (CardRecipeModel recipe : recipes) {
+            sink += deck.getCount(recipe);
+        }
+        long countNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < recipes.size(); i++) {
+            sink += deck.getTotalCount();
+        }
+        long totalNanos = System.nanoTime() - start;
+
+        List<CardRecipeModel> backToFront = new ArrayList<>(recipes);
+        Collections.reverse(backToFront);
+        List<CardRecipeModel> shuffled = new ArrayList<>(recipes);
+        Collections.shuffle(shuffled, new Random(42));
+
+        long removeBackNanos = removeAll(deck, backToFront);
+        fill(deck, recipes);
+        long removeFrontNanos = removeAll(deck, recipes);
+        fill(deck, recipes);
+        long removeShuffledNanos = removeAll(deck, shuffled);
+
+        if (sink != (long) recipes.size() * COPIES * (1 + recipes.size())) {
+            throw new IllegalStateException("Unexpected result: " + sink);
+        }
+        int ops = recipes.size() * COPIES;
+        return new double[] {
+            (double) addNanos / ops,
+            (double) countNanos / recipes.size(),
+            (double) totalNanos / recipes.size(),
+            (double) removeBackNanos / ops,
+            (double) removeFrontNanos / ops,
+            (double) removeShuffledNanos / ops
+        };
+    }
+
+    private static void fill(DeckModel deck, List<CardRecipeModel> recipes) {
+        for (int copy = 0; copy < COPIES; copy++) {
+            for (CardRecipeModel recipe : recipes) {
+                deck.addCard(recipe);
+            }
+        }
+    }
+
+    /**
+     * 指定した順ですべてのカードを取り除く。最後の周で各種類が0枚になり、追加順から消える。
+     *
+     * @return かかった時間（ナノ秒）
+     */
+    private static long removeAll(DeckModel deck, List<CardRecipeModel> removalOrder) {
+        long start = System.nanoTime();
+        for (int copy = 0; copy < COPIES; copy++) {
+            for (CardRecipeModel recipe : removalOrder) {
+                deck.removeCard(recipe);
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        if (deck.getTotalCount() != 0) {
+            throw new IllegalStateException("Deck should be empty: " + deck.getTotalCount());
+        }
+        return nanos;
+    }
+}
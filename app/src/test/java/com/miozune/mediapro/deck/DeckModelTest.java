@@ -0,0 +1,196 @@
+package com.miozune.mediapro.deck;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.miozune.mediapro.cardrecipe.CardRecipeModel;
+import com.miozune.mediapro.cardrecipe.CardRecipeRegistry;
+import com.miozune.mediapro.deck.events.DeckCardChangedEvent;
+import com.miozune.mediapro.deck.events.DeckCardsChangedEvent;
+import com.miozune.mediapro.deck.events.DeckPropertyChangeEvent;
+
+public class DeckModelTest {
+
+    private static final CardRecipeModel STRIKE = new CardRecipeModel("ストライク", 1, "strike.png", "6ダメージ");
+    private static final CardRecipeModel DEFEND = new CardRecipeModel("ディフェンド", 1, "defend.png", "5ブロック");
+    private static final CardRecipeModel BASH = new CardRecipeModel("バッシュ", 2, "bash.png", "8ダメージ");
+
+    private DeckModel deck;
+    private List<DeckPropertyChangeEvent> events;
+
+    @Before
+    public void setUp() {
+        deck = new DeckModel("テスト");
+        events = new ArrayList<>();
+        deck.addPropertyChangeListener(events::add);
+    }
+
+    @Test
+    public void testCountsAndTotal() {
+        deck.addCard(STRIKE);
+        deck.addCard(STRIKE);
+        deck.addCard(DEFEND);
+        assertEquals(2, deck.getCount(STRIKE));
+        assertEquals(1, deck.getCount(DEFEND));
+        assertEquals(0, deck.getCount(BASH));
+        assertEquals(3, deck.getTotalCount());
+
+        deck.removeCard(STRIKE);
+        deck.removeCard(BASH);
+        assertEquals(1, deck.getCount(STRIKE));
+        assertEquals(2, deck.getTotalCount());
+    }
+
+    @Test
+    public void testEqualInstancesShareCounts() {
+        deck.addCard(STRIKE);
+        CardRecipeModel copy = new CardRecipeModel("ストライク", 1, "strike.png", "6ダメージ");
+        deck.addCard(copy);
+        assertEquals(2, deck.getCount(STRIKE));
+        assertEquals(CardRecipeRegistry.idOf(STRIKE), CardRecipeRegistry.idOf(copy));
+    }
+
+    @Test
+    public void testEventsReportOldAndNewCounts() {
+        deck.addCard(BASH);
+        deck.addCard(BASH);
+        deck.removeCard(BASH);
+        deck.removeCard(BASH);
+        deck.removeCard(BASH);
+        assertEquals(List.of(
+            new DeckCardChangedEvent(deck, BASH, 0, 1),
+            new DeckCardChangedEvent(deck, BASH, 1, 2),
+            new DeckCardChangedEvent(deck, BASH, 2, 1),
+            new DeckCardChangedEvent(deck, BASH, 1, 0)
+        ), events);
+    }
+
+    @Test
+    public void testGetCardsKeepsInsertionOrder() {
+        deck.addCard(BASH);
+        deck.addCard(STRIKE);
+        deck.addCard(DEFEND);
+        deck.addCard(BASH);
+        deck.removeCard(STRIKE);
+        deck.addCard(STRIKE);
+
+        Map<CardRecipeModel, Integer> cards = deck.getCards();
+        assertEquals(List.of(BASH, DEFEND, STRIKE), new ArrayList<>(cards.keySet()));
+        assertEquals(Integer.valueOf(2), cards.get(BASH));
+        assertNull(cards.get("not a card"));
+        assertTrue(cards.containsKey(DEFEND));
+
+        deck.removeCard(DEFEND);
+        assertFalse("View should reflect later changes", cards.containsKey(DEFEND));
+        assertEquals(2, cards.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetCardsIsReadOnly() {
+        deck.addCard(STRIKE);
+        deck.getCards().put(BASH, 1);
+    }
+
+    @Test
+    public void testApplyFiresOneAggregateEvent() {
+        deck.addCard(DEFEND);
+        events.clear();
+
+        deck.apply(d -> {
+            for (int i = 0; i < 5; i++) {
+                d.addCard(STRIKE);
+            }
+            d.addCard(BASH);
+            d.removeCard(BASH);
+            d.removeCard(DEFEND);
+        });
+
+        assertEquals("Only one event should be fired", 1, events.size());
+        DeckCardsChangedEvent event = (DeckCardsChangedEvent) events.get(0);
+        assertEquals("Changes should be in first-touched order, omitting unchanged cards", List.of(
+            new DeckCardChangedEvent(deck, STRIKE, 0, 5),
+            new DeckCardChangedEvent(deck, DEFEND, 1, 0)
+        ), event.changes());
+        assertEquals(5, deck.getTotalCount());
+    }
+
+    @Test
+    public void testNestedBatchesCommitAtOutermost() {
+        deck.beginBatch();
+        deck.addCard(STRIKE);
+        deck.apply(d -> d.addCard(DEFEND));
+        assertTrue("Inner commit should not notify", events.isEmpty());
+        deck.commitBatch();
+        assertEquals(1, events.size());
+        assertEquals(2, ((DeckCardsChangedEvent) events.get(0)).changes().size());
+    }
+
+    @Test
+    public void testFailedApplyRollsBack() {
+        deck.addCard(STRIKE);
+        deck.addCard(DEFEND);
+        events.clear();
+
+        try {
+            deck.apply(d -> {
+                d.removeCard(STRIKE);
+                d.addCard(BASH);
+                d.addCard(DEFEND);
+                throw new IllegalStateException("failed");
+            });
+        } catch (IllegalStateException expected) {
+            // 変更が取り消されること
+        }
+
+        assertTrue("Nothing should be notified", events.isEmpty());
+        assertEquals(List.of(STRIKE, DEFEND), new ArrayList<>(deck.getCards().keySet()));
+        assertEquals(1, deck.getCount(DEFEND));
+        assertEquals(0, deck.getCount(BASH));
+        assertEquals(2, deck.getTotalCount());
+
+        deck.addCard(BASH);
+        assertEquals("Events should be fired normally after a rollback",
+            new DeckCardChangedEvent(deck, BASH, 0, 1), events.get(0));
+    }
+
+    @Test
+    public void testFailedNestedApplyRollsBackOnlyItself() {
+        deck.addCard(DEFEND);
+        events.clear();
+
+        deck.apply(d -> {
+            d.addCard(STRIKE);
+            try {
+                d.apply(inner -> {
+                    inner.addCard(STRIKE);
+                    inner.addCard(BASH);
+                    inner.removeCard(DEFEND);
+                    throw new IllegalStateException("failed");
+                });
+            } catch (IllegalStateException expected) {
+                // 内側の変更だけが取り消され、外側は続けられること
+            }
+            assertEquals(1, d.getCount(STRIKE));
+            assertEquals(1, d.getCount(DEFEND));
+            assertEquals(0, d.getCount(BASH));
+            d.addCard(DEFEND);
+        });
+
+        assertEquals("The outer batch should still fire one event", 1, events.size());
+        assertEquals(List.of(
+            new DeckCardChangedEvent(deck, STRIKE, 0, 1),
+            new DeckCardChangedEvent(deck, DEFEND, 1, 2)
+        ), ((DeckCardsChangedEvent) events.get(0)).changes());
+        assertEquals(List.of(DEFEND, STRIKE), new ArrayList<>(deck.getCards().keySet()));
+        assertEquals(3, deck.getTotalCount());
+    }
+}
@@ -0,0 +1,109 @@
+package com.miozune.mediapro.discard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.discard.events.DiscardCardInsertedEvent;
+import com.miozune.mediapro.discard.events.DiscardCardRemovedEvent;
+import com.miozune.mediapro.discard.events.DiscardCardsAddedEvent;
+import com.miozune.mediapro.discard.events.DiscardClearedEvent;
+import com.miozune.mediapro.discard.events.DiscardPropertyChangeEvent;
+
+public class DiscardModelTest {
+
+    private DiscardModel model;
+    private List<DiscardPropertyChangeEvent> events;
+
+    private static CardModel card(String name) {
+        return new CardModel(name, 1, null, "");
+    }
+
+    @Before
+    public void setUp() {
+        model = new DiscardModel();
+        events = new ArrayList<>();
+        model.addPropertyChangeListener(events::add);
+    }
+
+    @Test
+    public void testAddAndRemoveFireIndexedEvents() {
+        CardModel a = card("A");
+        CardModel b = card("B");
+        model.addCard(a);
+        model.addCard(0, b);
+        model.removeCard(a);
+
+        assertEquals(List.of(
+            new DiscardCardInsertedEvent(model, 0, a),
+            new DiscardCardInsertedEvent(model, 0, b),
+            new DiscardCardRemovedEvent(model, 1, a)
+        ), events);
+        assertEquals(List.of(b), model.getCards());
+    }
+
+    @Test
+    public void testRemovingMissingCardFiresNothing() {
+        model.removeCard(card("X"));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testAddCardsFiresSingleRangeEvent() {
+        model.addCard(card("A"));
+        events.clear();
+
+        List<CardModel> added = List.of(card("B"), card("C"), card("D"));
+        model.addCards(added);
+
+        assertEquals(List.of(new DiscardCardsAddedEvent(model, 1, added)), events);
+        assertEquals(4, model.size());
+    }
+
+    @Test
+    public void testClearFiresOnlyWhenNotEmpty() {
+        model.clear();
+        assertTrue("Clearing an empty pile should not notify", events.isEmpty());
+        model.addCards(List.of(card("A"), card("B")));
+        model.clear();
+        assertEquals(new DiscardClearedEvent(model), events.get(events.size() - 1));
+        assertEquals(0, model.size());
+    }
+
+    @Test
+    public void testSnapshotIsIndependentAndCardsViewIsReadOnly() {
+        model.addCard(card("A"));
+        List<CardModel> snapshot = model.snapshot();
+        List<CardModel> view = model.getCards();
+        model.addCard(card("B"));
+
+        assertEquals("Snapshot should not see later changes", 1, snapshot.size());
+        assertEquals("View should reflect later changes", 2, view.size());
+        try {
+            view.add(card("C"));
+            throw new AssertionError("View should be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // 変更できないこと
+        }
+    }
+
+    @Test
+    public void testDefaultDiscardIsBuiltInOneBatch() {
+        // createDefaultDiscard と同じ14枚を、リスナーを付けたモデルへ addCards で追加する
+        List<CardModel> samples = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            samples.add(CardModel.createSample());
+        }
+        model.addCards(samples);
+
+        assertEquals("14 cards should arrive in one event",
+                List.of(new DiscardCardsAddedEvent(model, 0, samples)), events);
+        assertEquals(samples, DiscardModel.createDefaultDiscard().getCards());
+    }
+}
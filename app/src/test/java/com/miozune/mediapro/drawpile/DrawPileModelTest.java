@@ -0,0 +1,125 @@
+package com.miozune.mediapro.drawpile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.hand.HandModel;
+import com.miozune.mediapro.zone.CardZoneStore;
+import com.miozune.mediapro.zone.Zone;
+
+public class DrawPileModelTest {
+
+    private List<CardModel> cards;
+
+    @Before
+    public void setUp() {
+        cards = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            cards.add(new CardModel("カード" + i, i % 4, null, ""));
+        }
+    }
+
+    @Test
+    public void testDrawsFromTopInOrder() {
+        DrawPileModel pile = new DrawPileModel(cards, 1L);
+        assertEquals(30, pile.getSize());
+        assertEquals(cards.get(0), pile.peekCard());
+        assertEquals(cards.get(0), pile.drawCard());
+        assertEquals(cards.get(1), pile.dealCard());
+        assertEquals(28, pile.getSize());
+        assertEquals(cards.subList(2, 30), pile.getCards());
+    }
+
+    @Test
+    public void testSameSeedGivesSameSequence() {
+        DrawPileModel a = new DrawPileModel(cards, 42L);
+        DrawPileModel b = new DrawPileModel(cards, 42L);
+        a.shuffle();
+        b.shuffle();
+        a.drawCard();
+        b.drawCard();
+        a.shuffle();
+        b.shuffle();
+        assertEquals(a.getCards(), b.getCards());
+
+        DrawPileModel other = new DrawPileModel(cards, 43L);
+        other.shuffle();
+        assertNotEquals("A different seed should give a different order", cards, other.getCards());
+    }
+
+    @Test
+    public void testShuffleKeepsRemainingCards() {
+        DrawPileModel pile = new DrawPileModel(cards, 7L);
+        CardModel first = pile.drawCard();
+        pile.shuffle();
+        List<CardModel> remaining = pile.getCards();
+        assertEquals(29, remaining.size());
+        assertEquals(new HashSet<>(cards.subList(1, 30)), new HashSet<>(remaining));
+        assertFalse("Drawn cards should not come back", remaining.contains(first));
+    }
+
+    @Test
+    public void testResetRestoresInitialOrder() {
+        DrawPileModel pile = new DrawPileModel(cards, 3L);
+        pile.shuffle();
+        pile.drawCard();
+        pile.drawCard();
+        pile.reset();
+        assertEquals(cards, pile.getCards());
+    }
+
+    @Test
+    public void testResetDropsCardsAddedAfterSet() {
+        CardZoneStore store = new CardZoneStore(new SplittableRandom(3L));
+        DrawPileModel pile = new DrawPileModel(store);
+        HandModel hand = new HandModel(store);
+        pile.setCards(cards);
+        pile.drawCard();
+        CardModel created = new CardModel("戦闘中のカード", 0, null, "");
+        hand.addCard(created);
+        store.add(created, Zone.DRAW_PILE);
+
+        pile.reset();
+
+        assertEquals("Only the cards from setCards should come back, in their order", cards, pile.getCards());
+        assertEquals(0, hand.size());
+        assertEquals(cards.size(), store.getCount());
+    }
+
+    @Test
+    public void testEmptyPile() {
+        DrawPileModel pile = new DrawPileModel(cards.subList(0, 1), 0L);
+        pile.drawCard();
+        assertTrue(pile.isEmpty());
+        assertNull("drawCard should do nothing when empty", pile.drawCard());
+        assertEquals(0, pile.getSize());
+        try {
+            pile.dealCard();
+            fail("dealCard should throw when empty");
+        } catch (NoSuchElementException expected) {
+            // 空の山札からは取り出せない
+        }
+    }
+
+    @Test
+    public void testSetCardsReusesCapacity() {
+        DrawPileModel pile = new DrawPileModel(cards, 5L);
+        pile.setCards(cards.subList(0, 3));
+        assertEquals(3, pile.getSize());
+        assertEquals(cards.subList(0, 3), pile.getCards());
+    }
+}
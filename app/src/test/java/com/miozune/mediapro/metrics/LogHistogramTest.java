@@ -0,0 +1,65 @@
+package com.miozune.mediapro.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * LogHistogramのテストクラス。
+ */
+public class LogHistogramTest {
+    
+    @Test
+    public void testEmptyHistogram() {
+        LogHistogram histogram = new LogHistogram();
+        assertEquals("Empty histogram should have no values", 0, histogram.getTotalCount());
+        assertEquals("Percentile of empty histogram should be 0", 0, histogram.getPercentile(99));
+    }
+    
+    @Test
+    public void testSmallValuesAreExact() {
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals("p50 of 1..10 should be 5", 5, histogram.getPercentile(50));
+        assertEquals("p100 of 1..10 should be 10", 10, histogram.getPercentile(100));
+        assertEquals("Min should be 1", 1, histogram.getMin());
+    }
+    
+    @Test
+    public void testPercentileWithinRelativeError() {
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1000L);
+        }
+        long p95 = histogram.getPercentile(95);
+        long expected = 95_000_000L;
+        assertTrue("p95 should not be below the true value", p95 >= expected);
+        assertTrue("p95 should be within 6.25% of the true value", p95 <= expected * 1.0625);
+        assertEquals("Max should be exact", 100_000_000L, histogram.getMax());
+    }
+    
+    @Test
+    public void testBucketBoundsAreConsistent() {
+        long[] samples = {0, 15, 16, 17, 31, 32, 33, 1_000_000, Long.MAX_VALUE / 3};
+        for (long value : samples) {
+            int index = LogHistogram.bucketIndex(value);
+            assertTrue("Upper bound should cover " + value,
+                LogHistogram.bucketUpperBound(index) >= value);
+            if (index > 0) {
+                assertTrue("Previous bucket should end below " + value,
+                    LogHistogram.bucketUpperBound(index - 1) < value);
+            }
+        }
+    }
+    
+    @Test
+    public void testReset() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals("Count should be 0 after reset", 0, histogram.getTotalCount());
+        assertEquals("Max should be 0 after reset", 0, histogram.getMax());
+    }
+}
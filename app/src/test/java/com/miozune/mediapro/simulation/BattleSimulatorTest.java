@@ -0,0 +1,61 @@
+package com.miozune.mediapro.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.enemy.EnemyModel;
+
+public class BattleSimulatorTest {
+
+    private static List<CardModel> deck(int size, int cost) {
+        List<CardModel> deck = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            deck.add(new CardModel("カード" + i, cost, null, ""));
+        }
+        return deck;
+    }
+
+    @Test
+    public void testSameSeedGivesSameStatsAtAnyParallelism() {
+        BattleSimulator simulator = new BattleSimulator(BattleSetup.createSample(), BattlePolicy.random());
+        SimulationStats single = simulator.run(10_000, 42L, 1);
+        SimulationStats parallel = simulator.run(10_000, 42L, 4);
+        assertEquals(10_000, single.getBattles());
+        assertEquals(single.format(), parallel.format());
+        assertEquals(single.getBattles(), single.getWins() + single.getLosses() + single.getTimeouts());
+    }
+
+    @Test
+    public void testOverwhelmingDeckWinsOnFirstTurn() {
+        // 1ターンに3枚×3ダメージを与えられるため、HP5の敵は1ターン目に倒れる
+        BattleSetup setup = new BattleSetup(deck(10, 1), List.of(new EnemyModel("スライム", 5, 10)), 50, 3, 10);
+        SimulationStats stats = new BattleSimulator(setup, BattlePolicy.greedy()).run(5_000, 1L, 2);
+        assertEquals(1.0, stats.getWinRate(), 0.0);
+        assertEquals(1.0, stats.getAverageTurnsToWin(), 0.0);
+        assertEquals(0.0, stats.getAverageDamageTaken(), 0.0);
+    }
+
+    @Test
+    public void testHopelessBattleIsAlwaysLost() {
+        BattleSetup setup = new BattleSetup(deck(10, 1), List.of(new EnemyModel("ドラゴン", 1000, 100)), 50, 3, 10);
+        SimulationStats stats = new BattleSimulator(setup, BattlePolicy.greedy()).run(3_000, 1L, 2);
+        assertEquals(0, stats.getWins());
+        assertEquals(3_000, stats.getLosses());
+        assertEquals("The player should lose all HP", 50.0, stats.getAverageDamageTaken(), 0.0);
+    }
+
+    @Test
+    public void testEndlessBattleTimesOut() {
+        // マナが足りずカードを使えない
+        BattleSetup setup = new BattleSetup(deck(10, 5), List.of(new EnemyModel("岩", 10, 0)), 50, 3, 4);
+        SimulationStats stats = new BattleSimulator(setup, BattlePolicy.greedy()).run(100, 1L, 1);
+        assertEquals(100, stats.getTimeouts());
+        assertTrue(stats.format().contains("timeouts=100"));
+    }
+}
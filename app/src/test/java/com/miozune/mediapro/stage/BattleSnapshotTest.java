@@ -0,0 +1,112 @@
+package com.miozune.mediapro.stage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.enemy.EnemyModel;
+import com.miozune.mediapro.player.PlayerModel;
+import com.miozune.mediapro.zone.CardZoneStore;
+import com.miozune.mediapro.zone.Zone;
+
+public class BattleSnapshotTest {
+
+    private StageModel stage;
+
+    @Before
+    public void setUp() {
+        List<CardModel> deck = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            deck.add(new CardModel("カード" + i, 1, null, ""));
+        }
+        CardZoneStore store = new CardZoneStore(new SplittableRandom(1L));
+        store.load(deck);
+        PlayerModel player = new PlayerModel("テスト", 40, 40, 0, 3);
+        stage = new StageModel(player, List.of(new EnemyModel("スライム", 30, 4)), store);
+        stage.startBattle();
+    }
+
+    private List<CardModel> hand(StageModel s) {
+        return List.copyOf(s.getHand().getCards());
+    }
+
+    @Test
+    public void testRestoreUndoesPlayedCards() {
+        BattleSnapshot before = stage.snapshot();
+        List<CardModel> handBefore = hand(stage);
+
+        assertTrue(stage.playCard(0, 0));
+        assertTrue(stage.playCard(0, 0));
+        assertEquals(24, stage.getEnemies().get(0).getHp());
+        assertEquals(1, stage.getPlayer().getMana());
+
+        stage.restore(before);
+        assertEquals(30, stage.getEnemies().get(0).getHp());
+        assertEquals(3, stage.getPlayer().getMana());
+        assertEquals(handBefore, hand(stage));
+        assertEquals(0, stage.getDiscard().size());
+    }
+
+    @Test
+    public void testSnapshotIsUnaffectedByLaterChanges() {
+        BattleSnapshot snapshot = stage.snapshot();
+        stage.playCard(0, 0);
+        stage.nextTurn();
+        stage.nextTurn();
+
+        assertEquals(5, snapshot.getZones().size(Zone.HAND));
+        assertEquals(0, snapshot.getZones().size(Zone.DISCARD));
+        assertEquals(30, snapshot.getEnemyHp(0));
+        assertEquals(40, snapshot.getPlayerHp());
+        assertEquals(1, snapshot.getTurnCount());
+        assertTrue(snapshot.isPlayerTurn());
+    }
+
+    @Test
+    public void testForksAreIndependent() {
+        StageModel fork = stage.fork(new SplittableRandom(2L));
+        List<CardModel> handBefore = hand(stage);
+
+        fork.playCard(0, 0);
+        fork.nextTurn();
+        assertEquals("The original should not see the fork's moves", handBefore, hand(stage));
+        assertEquals(30, stage.getEnemies().get(0).getHp());
+        assertEquals(36, fork.getPlayer().getHp());
+        assertEquals(40, stage.getPlayer().getHp());
+
+        stage.playCard(4, 0);
+        assertEquals("The fork should not see the original's moves", 0, fork.getHand().size());
+        assertEquals(5, fork.getDiscard().size());
+    }
+
+    @Test
+    public void testTurnHistoryUndoesStepByStep() {
+        TurnHistory history = new TurnHistory(stage, 2);
+        for (int i = 0; i < 3; i++) {
+            history.checkpoint();
+            stage.playCard(0, 0);
+        }
+        assertEquals("Oldest snapshot should be dropped", 2, history.size());
+        assertEquals(21, stage.getEnemies().get(0).getHp());
+
+        assertTrue(history.undo());
+        assertEquals(24, stage.getEnemies().get(0).getHp());
+        assertTrue(history.undo());
+        assertEquals(27, stage.getEnemies().get(0).getHp());
+        assertEquals(4, stage.getHand().size());
+        assertFalse(history.undo());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackedValuesAreRangeChecked() {
+        BattleSnapshot.packPlayer(70_000, 70_000, 0, 0);
+    }
+}
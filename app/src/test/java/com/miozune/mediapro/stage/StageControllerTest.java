@@ -0,0 +1,89 @@
+package com.miozune.mediapro.stage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+import com.miozune.mediapro.ai.EnemyBrain;
+import com.miozune.mediapro.ai.EnemyDecision;
+import com.miozune.mediapro.ai.SearchBudget;
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.discard.DiscardModel;
+import com.miozune.mediapro.drawpile.DrawPileModel;
+import com.miozune.mediapro.enemy.EnemyModel;
+import com.miozune.mediapro.hand.HandModel;
+import com.miozune.mediapro.player.PlayerModel;
+import com.miozune.mediapro.simulation.BattlePolicy;
+import com.miozune.mediapro.zone.CardZoneStore;
+
+public class StageControllerTest {
+
+    private static List<CardModel> deck() {
+        List<CardModel> deck = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            deck.add(new CardModel("カード" + i, 1, null, ""));
+        }
+        return deck;
+    }
+
+    private static EnemyBrain brain() {
+        // 呼び出したスレッドでそのまま探索する
+        return new EnemyBrain(SearchBudget.iterations(50), Runnable::run, BattlePolicy.greedy(),
+            new SplittableRandom(1L));
+    }
+
+    /* ボタンをEDTで押し、EDTに積まれた敵のターンの処理が終わるまで待つ */
+    private static void clickAndWait(JButton button) throws Exception {
+        SwingUtilities.invokeAndWait(button::doClick);
+        SwingUtilities.invokeAndWait(() -> {});
+    }
+
+    @Test
+    public void testEnemyTurnUsesDecisionOnce() throws Exception {
+        CardZoneStore store = new CardZoneStore(new SplittableRandom(1L));
+        store.load(deck());
+        StageModel model = new StageModel(new PlayerModel("テスト", 50, 50, 0, 3),
+            List.of(new EnemyModel("スライム", 100, 5)), store);
+        model.startBattle();
+        StageView view = new StageView();
+        StageController controller = new StageController(model, view, brain());
+
+        clickAndWait(view.getEndTurnButton());
+
+        assertNotNull(controller.getLastDecision());
+        assertEquals(50, controller.getLastDecision().iterations());
+        assertFalse("The decision should not leak into later turns", model.getEnemyPolicy() instanceof EnemyDecision);
+        assertEquals(2, model.getTurnCount());
+        assertTrue(view.getEndTurnButton().isEnabled());
+    }
+
+    @Test
+    public void testEnemyTurnFallsBackWhenSearchCannotStart() throws Exception {
+        // 山札・手札・捨札が別々のストアの戦闘は分岐できないため、探索を始められない
+        StageModel model = new StageModel(new PlayerModel("テスト", 50, 50, 0, 3),
+            List.of(new EnemyModel("スライム", 100, 5)),
+            new DrawPileModel(deck(), 1L), new HandModel(), new DiscardModel());
+        model.startBattle();
+        StageView view = new StageView();
+        StageController controller = new StageController(model, view, brain());
+
+        clickAndWait(view.getEndTurnButton());
+
+        assertNull(controller.getLastDecision());
+        assertEquals("The enemy should just attack", 45, model.getPlayer().getHp());
+        assertEquals(2, model.getTurnCount());
+        assertTrue("Buttons should stay usable", view.getEndTurnButton().isEnabled());
+        assertTrue(view.getDrawButton().isEnabled());
+    }
+}
@@ -0,0 +1,38 @@
+package com.miozune.mediapro.util;
+
+import java.awt.Font;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Fontsのテストクラス。
+ */
+public class FontsTest {
+    
+    @Test
+    public void testSameKeyReturnsSameInstance() {
+        Font first = Fonts.get(Font.SANS_SERIF, Font.BOLD, 20);
+        Font second = Fonts.get(Font.SANS_SERIF, Font.BOLD, 20);
+        assertSame("Fonts should be interned", first, second);
+        assertSame("Metrics should be cached per font", Fonts.metrics(first), Fonts.metrics(second));
+    }
+    
+    @Test
+    public void testQuantize() {
+        assertEquals("Small sizes should keep 1pt steps", 13, Fonts.quantize(12.6f));
+        assertEquals("Medium sizes should use 2pt steps", 22, Fonts.quantize(21.2f));
+        assertEquals("Large sizes should use 4pt steps", 48, Fonts.quantize(47f));
+        assertEquals("Size should be at least 1", 1, Fonts.quantize(0f));
+    }
+    
+    @Test
+    public void testContinuousResizeCreatesFewFonts() {
+        int before = Fonts.size();
+        for (float size = 10f; size < 80f; size += 0.1f) {
+            Fonts.scaled(Font.SERIF, Font.ITALIC, size);
+        }
+        assertTrue("Resizing should reuse quantized fonts", Fonts.size() - before <= 30);
+    }
+}
@@ -0,0 +1,136 @@
+package com.miozune.mediapro.util;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * ImageCacheのテストクラス。
+ */
+public class ImageCacheTest {
+    
+    /** 60x60の画像1枚分として計上されるバイト数（縮小画像の分を含む） */
+    private static final long IMAGE_BYTES = 60L * 60 * 4 * 4 / 3;
+    
+    private ImageCache cache;
+    
+    @Before
+    public void setUp() {
+        cache = new ImageCache(IMAGE_BYTES * 2);
+    }
+    
+    /**
+     * 読み込み済みの画像をキャッシュに追加する。
+     */
+    private ImageHandle put(String path) {
+        ImageHandle handle = cache.getOrCreate(path, ImageHandle::new);
+        MipImage image = new MipImage(new BufferedImage(60, 60, BufferedImage.TYPE_INT_RGB));
+        handle.load(p -> {
+            cache.onLoaded(p, handle, image);
+            return image;
+        });
+        return handle;
+    }
+    
+    @Test
+    public void testHitsAndMisses() {
+        put("a");
+        cache.getOrCreate("a", ImageHandle::new);
+        ImageCache.Stats stats = cache.getStats();
+        assertEquals("First access should miss", 1, stats.misses());
+        assertEquals("Second access should hit", 1, stats.hits());
+        assertEquals("Loaded bytes should be counted", IMAGE_BYTES, stats.bytes());
+    }
+    
+    @Test
+    public void testHeldHandleLookupsAreNotHits() {
+        ImageHandle handle = put("a");
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(handle.getNow());
+        }
+        cache.getOrCreate("a", ImageHandle::new);
+        assertEquals("Only handle acquisitions should count", 1, cache.getStats().hits());
+    }
+    
+    @Test
+    public void testPinCountIsReferenceCounted() {
+        ImageHandle a = put("a");
+        cache.pin(a);
+        cache.pin(a);
+        cache.unpin(a);
+        assertEquals(1, cache.getPinCount("a"));
+        assertEquals("Unknown paths have no pins", 0, cache.getPinCount("b"));
+    }
+    
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        ImageHandle a = put("a");
+        put("b");
+        cache.getOrCreate("a", ImageHandle::new);
+        put("c");
+        
+        ImageCache.Stats stats = cache.getStats();
+        assertEquals("Cache should stay within budget", 2, stats.entries());
+        assertEquals("One image should be evicted", 1, stats.evictions());
+        assertSame("Recently used image should survive", a, cache.getOrCreate("a", ImageHandle::new));
+    }
+    
+    @Test
+    public void testPinnedImageIsNotEvicted() {
+        ImageHandle a = put("a");
+        cache.pin(a);
+        put("b");
+        put("c");
+        assertSame("Pinned image should survive", a, cache.getOrCreate("a", ImageHandle::new));
+        
+        cache.unpin(a);
+        cache.trimToPinned();
+        assertEquals("Unpinned images should be dropped", 0, cache.getStats().entries());
+        assertEquals("No bytes should remain", 0, cache.getStats().bytes());
+    }
+    
+    @Test
+    public void testTrimToPinnedKeepsPinned() {
+        put("a");
+        ImageHandle b = put("b");
+        cache.pin(b);
+        cache.trimToPinned();
+        ImageCache.Stats stats = cache.getStats();
+        assertEquals("Only the pinned image should remain", 1, stats.entries());
+        assertEquals("Remaining bytes should be the pinned image", IMAGE_BYTES, stats.bytes());
+    }
+    
+    @Test
+    public void testStaleUnpinDoesNotReleaseNewHandle() {
+        ImageHandle stale = put("a");
+        cache.pin(stale);
+        cache.remove("a");
+        
+        // 外れたハンドルの固定は何もしない
+        cache.pin(stale);
+        ImageHandle current = put("a");
+        assertNotSame(stale, current);
+        cache.pin(current);
+        
+        cache.unpin(stale);
+        cache.unpin(stale);
+        assertEquals("A stale unpin should not release the new handle", 1, cache.getPinCount("a"));
+        cache.trimToPinned();
+        assertSame("The re-acquired image should stay pinned", current, cache.getOrCreate("a", ImageHandle::new));
+    }
+    
+    @Test
+    public void testPinAfterClearIsIgnored() {
+        ImageHandle stale = put("a");
+        cache.clear();
+        cache.pin(stale);
+        ImageHandle current = put("a");
+        assertEquals("Pinning a handle no longer cached should not carry over", 0, cache.getPinCount("a"));
+        cache.pin(current);
+        cache.unpin(stale);
+        assertEquals(1, cache.getPinCount("a"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.miozune.mediapro.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * ImageLoaderのテストクラス。
+ */
+public class ImageLoaderTest {
+    
+    @Before
+    public void setUp() {
+        ImageLoader.clearCache();
+    }
+    
+    @Test
+    public void testAsyncLoadCompletes() {
+        ImageHandle handle = ImageLoader.loadCardImageAsync("sample.jpg");
+        assertNotNull("Handle should be returned immediately", handle);
+        MipImage image = handle.join();
+        assertNotNull("Sample image should be loaded", image);
+        assertSame("Loaded image should be cached", image, ImageLoader.loadCardMipImage("sample.jpg"));
+    }
+    
+    @Test
+    public void testSameHandleForSamePath() {
+        ImageHandle first = ImageLoader.loadCardImageAsync("sample.jpg");
+        ImageHandle second = ImageLoader.loadCardImageAsync("sample.jpg");
+        assertSame("Concurrent loads of one path should share a handle", first, second);
+    }
+    
+    @Test
+    public void testConcurrentLoadsDecodeOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<MipImage>> tasks = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                tasks.add(() -> ImageLoader.loadCardMipImage("sample.jpg"));
+            }
+            MipImage expected = null;
+            for (Future<MipImage> future : pool.invokeAll(tasks)) {
+                MipImage image = future.get();
+                assertNotNull("Every caller should receive the image", image);
+                if (expected == null) {
+                    expected = image;
+                }
+                assertSame("Every caller should receive the same decoded image", expected, image);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testMissingImageIsNotCached() {
+        ImageHandle handle = ImageLoader.loadAsync("/images/cards/missing.jpg");
+        assertNull("Missing image should complete with null", handle.join());
+        assertTrue("Failed load should be done", handle.isDone());
+        assertNotSame("Failed load should be retried with a new handle",
+            handle, ImageLoader.loadAsync("/images/cards/missing.jpg"));
+    }
+}
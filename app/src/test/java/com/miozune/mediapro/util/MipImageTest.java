@@ -0,0 +1,44 @@
+package com.miozune.mediapro.util;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * MipImageのテストクラス。
+ */
+public class MipImageTest {
+    
+    private static MipImage create(int width, int height) {
+        return new MipImage(ImageLoader.toCompatibleImage(new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR)));
+    }
+    
+    @Test
+    public void testLargeTargetUsesBase() {
+        MipImage image = create(512, 512);
+        assertSame("Drawing at full size should use the base image", image.getBase(), image.getLevel(512, 512));
+        assertEquals("No scaled levels should be created", 1, image.getLevelCount());
+    }
+    
+    @Test
+    public void testSmallTargetUsesNearestLargerLevel() {
+        MipImage image = create(512, 512);
+        BufferedImage level = image.getLevel(100, 100);
+        assertEquals("Nearest level not smaller than the target should be used", 128, level.getWidth());
+        assertSame("Levels should be reused", level, image.getLevel(110, 90));
+    }
+    
+    @Test
+    public void testLevelsStopAtMinimumSize() {
+        MipImage image = create(256, 256);
+        assertEquals("Levels should not go below 32px", 32, image.getLevel(1, 1).getWidth());
+    }
+    
+    @Test
+    public void testConvertedToCompatibleFormat() {
+        BufferedImage converted = ImageLoader.toCompatibleImage(new BufferedImage(10, 10, BufferedImage.TYPE_3BYTE_BGR));
+        assertSame("Compatible image should not be converted twice", converted, ImageLoader.toCompatibleImage(converted));
+    }
+}
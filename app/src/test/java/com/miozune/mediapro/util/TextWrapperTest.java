@@ -0,0 +1,75 @@
+package com.miozune.mediapro.util;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * TextWrapperのテストクラス。
+ * フォントに依存しないよう、全角文字を幅10、半角文字を幅5として計算する。
+ */
+public class TextWrapperTest {
+    
+    private static final TextWrapper.Advance ADVANCE = cp -> cp < 0x80 ? 5 : 10;
+    
+    /** 省略記号 "..." の幅 */
+    private static final int ELLIPSIS_WIDTH = 15;
+    
+    private static List<String> wrap(String text, int width, int maxLines) {
+        return TextWrapper.wrap(text, ADVANCE, ELLIPSIS_WIDTH, width, maxLines).lines();
+    }
+    
+    @Test
+    public void testWrapsJapaneseAtWidth() {
+        assertEquals("Japanese text should break at any character",
+            List.of("あいう", "えおか", "き"), wrap("あいうえおかき", 30, 5));
+    }
+    
+    @Test
+    public void testPunctuationIsNotPlacedAtLineStart() {
+        // "あいう。" の "。" は行頭に置けないため、"う" とともに次の行へ送る
+        assertEquals("Closing punctuation should pull the previous character down",
+            List.of("あい", "う。え"), wrap("あいう。え", 30, 5));
+    }
+    
+    @Test
+    public void testOpeningBracketIsNotPlacedAtLineEnd() {
+        assertEquals("Opening bracket should move to the next line",
+            List.of("あい", "「う」"), wrap("あい「う」", 30, 5));
+    }
+    
+    @Test
+    public void testLatinWordsAreNotSplit() {
+        assertEquals("Words should break at spaces",
+            List.of("deal 5", "damage"), wrap("deal 5 damage", 40, 5));
+    }
+    
+    @Test
+    public void testLongWordIsForcedToBreak() {
+        assertEquals("A word longer than the line should be split",
+            List.of("abcd", "ef"), wrap("abcdef", 20, 5));
+    }
+    
+    @Test
+    public void testOverflowIsEllipsized() {
+        TextWrapper.WrappedText wrapped = TextWrapper.wrap("あいうえおかきくけこ", ADVANCE, ELLIPSIS_WIDTH, 40, 2);
+        assertTrue("Overflowing text should be marked as truncated", wrapped.truncated());
+        assertEquals("Last line should end with an ellipsis",
+            List.of("あいうえ", "おか..."), wrapped.lines());
+    }
+    
+    @Test
+    public void testNewlineForcesBreak() {
+        assertEquals("Newline should start a new line", List.of("あ", "い"), wrap("あ\nい", 100, 5));
+    }
+    
+    @Test
+    public void testTruncate() {
+        assertEquals("Fitting text should be unchanged", "abc",
+            TextWrapper.truncate("abc", ADVANCE, ELLIPSIS_WIDTH, 15));
+        assertEquals("Overflowing text should be ellipsized", "あい...",
+            TextWrapper.truncate("あいうえお", ADVANCE, ELLIPSIS_WIDTH, 40));
+    }
+}
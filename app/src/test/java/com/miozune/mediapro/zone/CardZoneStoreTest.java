@@ -0,0 +1,188 @@
+package com.miozune.mediapro.zone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.miozune.mediapro.card.CardModel;
+import com.miozune.mediapro.discard.DiscardModel;
+import com.miozune.mediapro.discard.events.DiscardCardsAddedEvent;
+import com.miozune.mediapro.discard.events.DiscardClearedEvent;
+import com.miozune.mediapro.discard.events.DiscardPropertyChangeEvent;
+import com.miozune.mediapro.drawpile.DrawPileModel;
+import com.miozune.mediapro.hand.HandModel;
+
+public class CardZoneStoreTest {
+
+    private CardZoneStore store;
+    private List<CardModel> cards;
+    private List<String> moves;
+
+    @Before
+    public void setUp() {
+        store = new CardZoneStore(new SplittableRandom(1L));
+        cards = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            cards.add(new CardModel("カード" + i, i % 3, null, ""));
+        }
+        store.load(cards);
+        moves = new ArrayList<>();
+        store.addListener(new CardZoneStore.Listener() {
+            @Override
+            public void cardMoved(int handle, Zone from, int fromIndex, Zone to, int toIndex) {
+                moves.add(handle + ":" + from + "[" + fromIndex + "]->" + to + "[" + toIndex + "]");
+            }
+
+            @Override
+            public void cardsMoved(Zone from, Zone to, int toIndex, int count) {
+                moves.add(from + "->" + to + "[" + toIndex + "] x" + count);
+            }
+        });
+    }
+
+    @Test
+    public void testDrawTakesTopCardIntoHand() {
+        assertEquals(10, store.size(Zone.DRAW_PILE));
+        int handle = store.draw();
+        assertEquals(cards.get(0), store.getCard(handle));
+        assertEquals(Zone.HAND, store.getZone(handle));
+        assertEquals(0, store.getIndex(handle));
+        assertEquals(List.of("0:DRAW_PILE[9]->HAND[0]"), moves);
+    }
+
+    @Test
+    public void testMoveFromMiddleKeepsIndexesConsistent() {
+        for (int i = 0; i < 4; i++) {
+            store.draw();
+        }
+        int second = store.handleAt(Zone.HAND, 1);
+        store.move(second, Zone.DISCARD);
+        assertEquals(3, store.size(Zone.HAND));
+        for (int i = 0; i < store.size(Zone.HAND); i++) {
+            assertEquals(i, store.getIndex(store.handleAt(Zone.HAND, i)));
+        }
+        assertEquals(List.of(cards.get(0), cards.get(2), cards.get(3)),
+            List.of(store.cardAt(Zone.HAND, 0), store.cardAt(Zone.HAND, 1), store.cardAt(Zone.HAND, 2)));
+    }
+
+    @Test
+    public void testMoveAllFiresOneEventAndKeepsOrder() {
+        store.draw();
+        store.draw();
+        moves.clear();
+        store.moveAll(Zone.HAND, Zone.DISCARD);
+        assertEquals(List.of("HAND->DISCARD[0] x2"), moves);
+        assertEquals(cards.get(0), store.cardAt(Zone.DISCARD, 0));
+        assertEquals(cards.get(1), store.cardAt(Zone.DISCARD, 1));
+        assertEquals(0, store.size(Zone.HAND));
+    }
+
+    @Test
+    public void testEmptyDrawPileReshufflesDiscard() {
+        for (int i = 0; i < 10; i++) {
+            store.draw();
+        }
+        store.moveAll(Zone.HAND, Zone.DISCARD);
+        int handle = store.draw();
+        assertTrue(handle >= 0);
+        assertEquals(9, store.size(Zone.DRAW_PILE));
+        assertEquals(0, store.size(Zone.DISCARD));
+
+        Set<Integer> all = new HashSet<>();
+        for (int i = 0; i < store.size(Zone.DRAW_PILE); i++) {
+            all.add(store.handleAt(Zone.DRAW_PILE, i));
+        }
+        all.add(handle);
+        assertEquals("Every card should be in play exactly once", 10, all.size());
+    }
+
+    @Test
+    public void testModelsShareTheStore() {
+        DrawPileModel drawPile = new DrawPileModel(store);
+        HandModel hand = new HandModel(store);
+        DiscardModel discard = new DiscardModel(store);
+        List<DiscardPropertyChangeEvent> events = new ArrayList<>();
+        discard.addPropertyChangeListener(events::add);
+
+        drawPile.drawCard();
+        drawPile.drawCard();
+        assertEquals(List.of(cards.get(0), cards.get(1)), hand.getCards());
+        assertEquals(1, hand.getHandValue());
+
+        hand.removeCard(cards.get(0));
+        hand.clear();
+        assertEquals(List.of(cards.get(0), cards.get(1)), discard.getCards());
+        assertEquals(new DiscardCardsAddedEvent(discard, 1, List.of(cards.get(1))), events.get(events.size() - 1));
+
+        store.reshuffleDiscard();
+        assertEquals(new DiscardClearedEvent(discard), events.get(events.size() - 1));
+        assertEquals(10, drawPile.getSize());
+    }
+
+    @Test
+    public void testSnapshotSharesUntilWritten() {
+        store.draw();
+        CardZoneStore.Snapshot snapshot = store.snapshot();
+        CardZoneStore fork = store.fork(new SplittableRandom(3L));
+
+        store.draw();
+        fork.moveAll(Zone.HAND, Zone.EXHAUST);
+        fork.add(cards.get(5), Zone.DISCARD);
+
+        assertEquals(1, snapshot.size(Zone.HAND));
+        assertEquals(9, snapshot.size(Zone.DRAW_PILE));
+        assertEquals(10, snapshot.getCount());
+        assertEquals(2, store.size(Zone.HAND));
+        assertEquals(0, store.size(Zone.DISCARD));
+        assertEquals(11, fork.getCount());
+        assertEquals(Zone.EXHAUST, fork.getZone(0));
+        assertEquals(Zone.HAND, store.getZone(0));
+
+        store.restore(snapshot);
+        assertEquals(1, store.size(Zone.HAND));
+        assertEquals(cards.get(0), store.cardAt(Zone.HAND, 0));
+        assertEquals(0, store.getIndex(store.handleAt(Zone.HAND, 0)));
+    }
+
+    @Test
+    public void testTurnCycleDoesNotAllocate() {
+        CardZoneStore quiet = new CardZoneStore(new SplittableRandom(2L));
+        quiet.load(cards);
+        int[] notified = new int[1];
+        quiet.addListener((handle, from, fromIndex, to, toIndex) -> notified[0]++);
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // JITと初回のクラス読み込みを済ませておく
+        for (int i = 0; i < 10_000; i++) {
+            runTurn(quiet);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            runTurn(quiet);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        // 計測自体の確保分だけを許容する
+        assertTrue("Turn cycle allocated " + allocated + " bytes", allocated < 1024);
+        assertTrue(notified[0] > 0);
+    }
+
+    /**
+     * 5枚引き、1枚を捨て、残りの手札をすべて捨てる。山札が尽きると捨札が切り直される。
+     */
+    private static void runTurn(CardZoneStore store) {
+        for (int i = 0; i < 5; i++) {
+            store.draw();
+        }
+        store.move(store.handleAt(Zone.HAND, 2), Zone.DISCARD);
+        store.moveAll(Zone.HAND, Zone.DISCARD);
+    }
+}